@@ -0,0 +1,68 @@
+package org.swiften.javautilities.localizer;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+import io.reactivex.Flowable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This interface provides batch localization capabilities, on top of
+ * {@link LocalizerType}. It is kept separate so that existing
+ * implementations of {@link LocalizerType} are not broken.
+ */
+public interface BatchLocalizerType extends LocalizerType {
+    /**
+     * Localize {@link Collection} of {@link String} reactively in one pass.
+     * @param texts {@link Collection} of {@link String} to be localized.
+     * @param locale {@link Locale} instance.
+     * @return {@link Flowable} instance that emits {@link List} of
+     * {@link String}, in the same order as the {@link Collection}.
+     * @see #localizeTexts(Collection, Locale)
+     */
+    @NotNull
+    Flowable<List<String>> rxa_localizeTexts(@NotNull Collection<String> texts,
+                                             @Nullable Locale locale);
+
+    /**
+     * Localize {@link Collection} of {@link String} in one pass.
+     * @param texts {@link Collection} of {@link String} to be localized.
+     * @param locale {@link Locale} instance.
+     * @return {@link List} of {@link String}, in the same order as the
+     * {@link Collection}.
+     * @see #localize(String, Locale)
+     */
+    @NotNull
+    List<String> localizeTexts(@NotNull Collection<String> texts,
+                               @Nullable Locale locale);
+
+    /**
+     * Localize {@link Collection} of {@link LCFormat} reactively in one pass.
+     * @param formats {@link Collection} of {@link LCFormat}.
+     * @param locale {@link Locale} instance.
+     * @return {@link Flowable} instance that emits {@link List} of
+     * {@link String}, in the same order as the {@link Collection}.
+     * @see #localizeFormats(Collection, Locale)
+     */
+    @NotNull
+    Flowable<List<String>> rxa_localizeFormats(@NotNull Collection<LCFormat> formats,
+                                               @Nullable Locale locale);
+
+    /**
+     * Localize {@link Collection} of {@link LCFormat} in one pass.
+     * @param formats {@link Collection} of {@link LCFormat}.
+     * @param locale {@link Locale} instance.
+     * @return {@link List} of {@link String}, in the same order as the
+     * {@link Collection}.
+     * @see #localize(LCFormat, Locale)
+     */
+    @NotNull
+    List<String> localizeFormats(@NotNull Collection<LCFormat> formats,
+                                 @Nullable Locale locale);
+}
@@ -0,0 +1,43 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Source of translations that do not live on the classpath, such as an
+ * in-memory {@link Map}, a local key-value store or a remote service.
+ * {@link Localizer} puts a read-through cache in front of it, so
+ * implementations do not need to cache themselves, but they must be
+ * thread-safe.
+ * @see MapBundleSource
+ * @see Localizer.Builder#addBundleSource(BundleSourceType, Locale)
+ */
+public interface BundleSourceType {
+    /**
+     * Get all translations for a {@link Locale}. This is used to prefetch
+     * translations in the background, and to enumerate keys.
+     * @param locale {@link Locale} instance.
+     * @return {@link Map} of keys to translated {@link String}.
+     * @throws Exception If the translations cannot be fetched.
+     */
+    @NotNull
+    Map<String,String> getAll(@NotNull Locale locale) throws Exception;
+
+    /**
+     * Get a single translation. This is used for keys that are looked up
+     * before {@link #getAll(Locale)} completes.
+     * @param key {@link String} value.
+     * @param locale {@link Locale} instance.
+     * @return {@link String} value, or null if there is no translation.
+     * @throws Exception If the translation cannot be fetched.
+     */
+    @Nullable
+    String get(@NotNull String key, @NotNull Locale locale) throws Exception;
+}
@@ -0,0 +1,160 @@
+package org.swiften.javautilities.localizer;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * {@link ResourceBundle} that reads through to a {@link BundleSourceType}.
+ * Every value (or the lack of one) is cached after it is first fetched.
+ * Once {@link #prefetch(Scheduler)} has fetched all translations, lookups
+ * for unknown keys are answered from the cache without touching the
+ * {@link BundleSourceType} again.
+ */
+final class LCCachedBundle extends ResourceBundle {
+    /**
+     * Placeholder for keys that the {@link BundleSourceType} has no
+     * translation for, since {@link ConcurrentMap} does not allow null.
+     */
+    @NotNull private static final Object MISSING = new Object();
+
+    @NotNull private final BundleSourceType SOURCE;
+    @NotNull private final Locale LOCALE;
+    @NotNull private final ConcurrentMap<String,Object> CACHE;
+    private volatile boolean complete;
+
+    LCCachedBundle(@NotNull BundleSourceType source, @NotNull Locale locale) {
+        SOURCE = source;
+        LOCALE = locale;
+        CACHE = new ConcurrentHashMap<String,Object>();
+    }
+
+    @NotNull
+    @Override
+    public Locale getLocale() {
+        return LOCALE;
+    }
+
+    /**
+     * Check whether all translations have been fetched.
+     * @return {@link Boolean} value.
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Fetch all translations on a {@link Scheduler} in the background. If
+     * this fails, lookups keep reading through to
+     * {@link BundleSourceType#get(String, Locale)}.
+     * @param scheduler {@link Scheduler} instance.
+     * @see #fetchAll()
+     */
+    void prefetch(@NotNull Scheduler scheduler) {
+        Flowable
+            .fromCallable(new Callable<Boolean>() {
+                @NotNull
+                @Override
+                public Boolean call() throws Exception {
+                    fetchAll();
+                    return true;
+                }
+            })
+            .subscribeOn(scheduler)
+            .subscribe(
+                new Consumer<Boolean>() {
+                    @Override
+                    public void accept(@NotNull Boolean done) throws Exception {}
+                },
+                new Consumer<Throwable>() {
+                    @Override
+                    public void accept(@NotNull Throwable t) throws Exception {
+                        /* Prefetching is best-effort, so we fall back to
+                         * single lookups */
+                    }
+                });
+    }
+
+    /**
+     * Fetch all translations and cache them.
+     * @throws Exception If {@link BundleSourceType#getAll(Locale)} fails.
+     */
+    private void fetchAll() throws Exception {
+        Map<String,String> translations = SOURCE.getAll(LOCALE);
+
+        for (Map.Entry<String,String> entry : translations.entrySet()) {
+            CACHE.put(entry.getKey(), entry.getValue());
+        }
+
+        complete = true;
+    }
+
+    @Nullable
+    @Override
+    protected Object handleGetObject(@NotNull String key) {
+        Object value = CACHE.get(key);
+
+        if (HObjects.isNull(value)) {
+            if (complete) {
+                return null;
+            }
+
+            try {
+                value = SOURCE.get(key, LOCALE);
+            } catch (Exception e) {
+                /* Failures are not cached, so the key will be tried again */
+                return null;
+            }
+
+            Object existing = CACHE.putIfAbsent(key, HObjects.nonNull(value) ? value : MISSING);
+            value = HObjects.nonNull(existing) ? existing : value;
+        }
+
+        return value == MISSING ? null : value;
+    }
+
+    @NotNull
+    @Override
+    public Enumeration<String> getKeys() {
+        return Collections.enumeration(handleKeySet());
+    }
+
+    /**
+     * Get all keys that have translations. If the prefetch has not
+     * completed, all translations are fetched synchronously first.
+     * @return {@link Set} of {@link String}.
+     */
+    @NotNull
+    @Override
+    protected Set<String> handleKeySet() {
+        if (!complete) {
+            try {
+                fetchAll();
+            } catch (Exception e) {
+                /* Only the keys that have been fetched so far are known */
+            }
+        }
+
+        Set<String> keys = new HashSet<String>();
+
+        for (Map.Entry<String,Object> entry : CACHE.entrySet()) {
+            if (entry.getValue() != MISSING) {
+                keys.add(entry.getKey());
+            }
+        }
+
+        return keys;
+    }
+}
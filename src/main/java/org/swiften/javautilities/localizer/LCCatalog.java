@@ -0,0 +1,358 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Compact binary format for translation catalogs. A catalog consists of a
+ * header, a table of entries sorted by the UTF-8 bytes of their keys, and a
+ * pool of UTF-8 strings that the entries point into. Catalogs are read
+ * through a {@link java.nio.MappedByteBuffer}, so keys and values stay off
+ * the heap until they are looked up.
+ *
+ * Layout (all integers are big-endian):
+ * <pre>
+ * int magic, int version, int count, int localeOffset, int localeLength
+ * count * (int keyOffset, int keyLength, int valueOffset, int valueLength)
+ * UTF-8 string pool
+ * </pre>
+ *
+ * Catalogs can be compiled from the command line with
+ * {@link LCCatalogCompiler}, or with {@link #compile(ResourceBundle, File)},
+ * and are added to a {@link Localizer} with
+ * {@link Localizer.Builder#addCatalog(File)}.
+ */
+public final class LCCatalog {
+    private static final int MAGIC = 0x4C434331;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int ENTRY_SIZE = 16;
+    @NotNull private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Compile a {@link ResourceBundle} into a catalog file. Only
+     * {@link String} values are included.
+     * @param bundle {@link ResourceBundle} instance.
+     * @param file {@link File} to be written to.
+     * @throws IOException If the catalog cannot be written.
+     * @see #compile(Map, Locale, File)
+     */
+    public static void compile(@NotNull ResourceBundle bundle,
+                               @NotNull File file) throws IOException {
+        Map<String,String> entries = new HashMap<String,String>();
+        Enumeration<String> keys = bundle.getKeys();
+
+        while (keys.hasMoreElements()) {
+            String key = keys.nextElement();
+            Object value = bundle.getObject(key);
+
+            if (value instanceof String) {
+                entries.put(key, (String)value);
+            }
+        }
+
+        Locale locale = bundle.getLocale();
+        compile(entries, HObjects.nonNull(locale) ? locale : Locale.ROOT, file);
+    }
+
+    /**
+     * Compile a {@link Map} of translations into a catalog file. The
+     * catalog is written to a temporary file next to the target, which then
+     * replaces the target with a rename. An existing catalog that is still
+     * mapped by a {@link Localizer} is therefore never modified in place;
+     * readers keep seeing the old file until they reopen it, e.g. with
+     * {@link Localizer#reloadIfModified()}. The replacement is atomic where
+     * the platform can rename over an existing file (e.g. POSIX), otherwise
+     * the old file is deleted first.
+     * @param entries {@link Map} of keys to translated {@link String}.
+     * @param locale {@link Locale} of the translations.
+     * @param file {@link File} to be written to.
+     * @throws IOException If the catalog cannot be written.
+     * @see #write(Map, Locale, File)
+     */
+    public static void compile(@NotNull Map<String,String> entries,
+                               @NotNull Locale locale,
+                               @NotNull File file) throws IOException {
+        File target = file.getAbsoluteFile();
+        File temp = File.createTempFile(target.getName(), ".tmp", target.getParentFile());
+
+        try {
+            write(entries, locale, temp);
+
+            if (!temp.renameTo(target) && (!target.delete() || !temp.renameTo(target))) {
+                throw new IOException(String.format("Cannot replace catalog %s", target));
+            }
+        } finally {
+            if (temp.exists() && !temp.delete()) {
+                temp.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Write a {@link Map} of translations into a new catalog file.
+     * @param entries {@link Map} of keys to translated {@link String}.
+     * @param locale {@link Locale} of the translations.
+     * @param file {@link File} to be written to.
+     * @throws IOException If the catalog cannot be written.
+     */
+    private static void write(@NotNull Map<String,String> entries,
+                              @NotNull Locale locale,
+                              @NotNull File file) throws IOException {
+        int count = entries.size();
+        byte[][] keys = new byte[count][];
+        int index = 0;
+
+        for (String key : entries.keySet()) {
+            keys[index++] = key.getBytes(UTF_8);
+        }
+
+        Arrays.sort(keys, new Comparator<byte[]>() {
+            @Override
+            public int compare(@NotNull byte[] a, @NotNull byte[] b) {
+                return LCCatalog.compare(a, b);
+            }
+        });
+
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        byte[] localeBytes = locale.toString().getBytes(UTF_8);
+        pool.write(localeBytes);
+
+        DataOutputStream output = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(file)));
+
+        try {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(count);
+            output.writeInt(0);
+            output.writeInt(localeBytes.length);
+
+            for (byte[] key : keys) {
+                byte[] value = entries.get(new String(key, UTF_8)).getBytes(UTF_8);
+                output.writeInt(pool.size());
+                output.writeInt(key.length);
+                pool.write(key);
+                output.writeInt(pool.size());
+                output.writeInt(value.length);
+                pool.write(value);
+            }
+
+            pool.writeTo(output);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Open a catalog file as a {@link ResourceBundle}. The file is mapped
+     * into memory and is not read into the heap.
+     * @param file {@link File} instance.
+     * @return {@link ResourceBundle} instance.
+     * @throws IOException If the file cannot be read or is not a catalog.
+     */
+    @NotNull
+    public static ResourceBundle open(@NotNull File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+        try {
+            FileChannel channel = raf.getChannel();
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new Bundle(buffer);
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Parse a {@link Locale} from its {@link Locale#toString()} form.
+     * @param text {@link String} value, such as en_US.
+     * @return {@link Locale} instance.
+     */
+    @NotNull
+    static Locale locale(@NotNull String text) {
+        String[] parts = text.split("_", 3);
+
+        switch (parts.length) {
+            case 3:
+                return new Locale(parts[0], parts[1], parts[2]);
+
+            case 2:
+                return new Locale(parts[0], parts[1]);
+
+            default:
+                return new Locale(parts[0]);
+        }
+    }
+
+    /**
+     * Compare two UTF-8 byte Arrays as unsigned bytes.
+     * @param a {@link Byte} Array.
+     * @param b {@link Byte} Array.
+     * @return {@link Integer} value.
+     */
+    private static int compare(@NotNull byte[] a, @NotNull byte[] b) {
+        for (int i = 0, length = Math.min(a.length, b.length); i < length; i++) {
+            int diff = (a[i] & 0xff) - (b[i] & 0xff);
+
+            if (diff != 0) {
+                return diff;
+            }
+        }
+
+        return a.length - b.length;
+    }
+
+    /**
+     * {@link ResourceBundle} backed by a mapped catalog. Lookups binary
+     * search the entry table using absolute reads, so the
+     * {@link ByteBuffer} can be shared by all threads.
+     */
+    private static final class Bundle extends ResourceBundle {
+        @NotNull private final ByteBuffer BUFFER;
+        @NotNull private final Locale LOCALE;
+        private final int COUNT;
+        private final int POOL;
+
+        Bundle(@NotNull ByteBuffer buffer) throws IOException {
+            int capacity = buffer.capacity();
+
+            if (capacity < HEADER_SIZE
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a translation catalog");
+            }
+
+            int count = buffer.getInt(8);
+            long pool = HEADER_SIZE + (long)count * ENTRY_SIZE;
+
+            if (count < 0 || pool > capacity) {
+                throw new IOException("Corrupt translation catalog: bad entry count");
+            }
+
+            BUFFER = buffer;
+            COUNT = count;
+            POOL = (int)pool;
+            checkRange(buffer.getInt(12), buffer.getInt(16));
+
+            for (int i = 0; i < count; i++) {
+                int entry = HEADER_SIZE + i * ENTRY_SIZE;
+                checkRange(buffer.getInt(entry), buffer.getInt(entry + 4));
+                checkRange(buffer.getInt(entry + 8), buffer.getInt(entry + 12));
+            }
+
+            LOCALE = locale(string(buffer.getInt(12), buffer.getInt(16)));
+        }
+
+        /**
+         * Check that a {@link String} lies within the string pool, so that
+         * lookups never read outside {@link #BUFFER}.
+         * @param offset {@link Integer} offset of the {@link String}.
+         * @param length {@link Integer} length of the {@link String}.
+         * @throws IOException If the {@link String} is out of range.
+         */
+        private void checkRange(int offset, int length) throws IOException {
+            if (offset < 0 || length < 0 || (long)POOL + offset + length > BUFFER.capacity()) {
+                throw new IOException("Corrupt translation catalog: bad string offset");
+            }
+        }
+
+        @NotNull
+        @Override
+        public Locale getLocale() {
+            return LOCALE;
+        }
+
+        @Nullable
+        @Override
+        protected Object handleGetObject(@NotNull String key) {
+            byte[] bytes = key.getBytes(UTF_8);
+            int low = 0;
+            int high = COUNT - 1;
+
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int entry = HEADER_SIZE + middle * ENTRY_SIZE;
+                int diff = compare(BUFFER.getInt(entry), BUFFER.getInt(entry + 4), bytes);
+
+                if (diff < 0) {
+                    low = middle + 1;
+                } else if (diff > 0) {
+                    high = middle - 1;
+                } else {
+                    return string(BUFFER.getInt(entry + 8), BUFFER.getInt(entry + 12));
+                }
+            }
+
+            return null;
+        }
+
+        @NotNull
+        @Override
+        public Enumeration<String> getKeys() {
+            return Collections.enumeration(handleKeySet());
+        }
+
+        @NotNull
+        @Override
+        protected Set<String> handleKeySet() {
+            Set<String> keys = new LinkedHashSet<String>(COUNT);
+
+            for (int i = 0; i < COUNT; i++) {
+                int entry = HEADER_SIZE + i * ENTRY_SIZE;
+                keys.add(string(BUFFER.getInt(entry), BUFFER.getInt(entry + 4)));
+            }
+
+            return keys;
+        }
+
+        /**
+         * Compare a key in the string pool against UTF-8 bytes.
+         * @param offset {@link Integer} offset of the key in the pool.
+         * @param length {@link Integer} length of the key.
+         * @param key {@link Byte} Array to compare against.
+         * @return {@link Integer} value.
+         */
+        private int compare(int offset, int length, @NotNull byte[] key) {
+            int start = POOL + offset;
+
+            for (int i = 0, count = Math.min(length, key.length); i < count; i++) {
+                int diff = (BUFFER.get(start + i) & 0xff) - (key[i] & 0xff);
+
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+
+            return length - key.length;
+        }
+
+        /**
+         * Decode a {@link String} from the string pool.
+         * @param offset {@link Integer} offset of the {@link String}.
+         * @param length {@link Integer} length of the {@link String}.
+         * @return {@link String} value.
+         */
+        @NotNull
+        private String string(int offset, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer buffer = BUFFER.duplicate();
+            buffer.position(POOL + offset);
+            buffer.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+    }
+
+    private LCCatalog() {}
+}
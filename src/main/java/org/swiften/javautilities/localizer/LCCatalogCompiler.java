@@ -0,0 +1,42 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Command line entry point that compiles a properties
+ * {@link ResourceBundle} on the classpath into a catalog file, e.g.
+ * {@code java org.swiften.javautilities.localizer.LCCatalogCompiler <bundle> <locale> <output>}.
+ * @see LCCatalog#compile(ResourceBundle, File)
+ */
+public final class LCCatalogCompiler {
+    /**
+     * Compile a properties {@link ResourceBundle} on the classpath into a
+     * catalog file.
+     * @param args The name of the {@link ResourceBundle}, its
+     *             {@link java.util.Locale} (e.g. en_US) and the output file
+     *             path.
+     * @throws IOException If the catalog cannot be written.
+     */
+    public static void main(@NotNull String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: LCCatalogCompiler <bundle> <locale> <output>");
+            System.exit(1);
+        }
+
+        List<String> prop = ResourceBundle.Control.FORMAT_PROPERTIES;
+        ResourceBundle.Control control = ResourceBundle.Control.getNoFallbackControl(prop);
+        ResourceBundle bundle = ResourceBundle.getBundle(args[0], LCCatalog.locale(args[1]), control);
+        LCCatalog.compile(bundle, new File(args[2]));
+    }
+
+    private LCCatalogCompiler() {}
+}
@@ -1,6 +1,7 @@
 package org.swiften.javautilities.localizer;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -10,7 +11,9 @@ import java.util.*;
 
 /**
  * Use this class to implement localization with {@link String} formats, to be
- * used with {@link LocalizerType#rxa_localize(LCFormat, Locale)}.
+ * used with {@link LocalizerType#rxa_localize(LCFormat, Locale)}. Instances
+ * are immutable and compare structurally, so they can be used as cache keys
+ * as long as their arguments are immutable too.
  */
 public class LCFormat {
     /**
@@ -28,7 +31,7 @@ public class LCFormat {
      */
     @NotNull
     public static LCFormat empty() {
-        return new LCFormat();
+        return new LCFormat("", new Object[0]);
     }
 
     /**
@@ -39,18 +42,27 @@ public class LCFormat {
      * @see java.util.ResourceBundle#getString(String)
      * @see java.text.MessageFormat#applyPattern(String)
      */
-    @NotNull String pattern;
+    @NotNull private final String PATTERN;
 
     /**
-     * {@link List} of {@link Object} that will be used as arguments
-     * by {@link java.text.MessageFormat#format(Object)}
+     * Array of {@link Object} that will be used as arguments
+     * by {@link java.text.MessageFormat#format(Object)}. This Array is never
+     * exposed, so {@link LCFormat} is immutable as long as its arguments
+     * are.
      * @see java.text.MessageFormat#format(Object)
      */
-    @NotNull final List<Object> ARGUMENTS;
+    @NotNull private final Object[] ARGUMENTS;
 
-    LCFormat() {
-        ARGUMENTS = new LinkedList<Object>();
-        pattern = "";
+    /**
+     * Structural hash code over {@link #PATTERN} and {@link #ARGUMENTS},
+     * computed once so that {@link LCFormat} is cheap to use as a cache key.
+     */
+    private final int HASH;
+
+    LCFormat(@NotNull String pattern, @NotNull Object[] arguments) {
+        PATTERN = pattern;
+        ARGUMENTS = arguments;
+        HASH = 31 * pattern.hashCode() + Arrays.hashCode(arguments);
     }
 
     @Override
@@ -61,38 +73,120 @@ public class LCFormat {
             Arrays.toString(arguments()));
     }
 
+    @Override
+    public int hashCode() {
+        return HASH;
+    }
+
+    /**
+     * Compare {@link #PATTERN} and {@link #ARGUMENTS} structurally. Nested
+     * {@link LCFormat} arguments are compared iteratively, so deeply nested
+     * formats do not overflow the stack.
+     * @param o {@link Object} instance.
+     * @return {@link Boolean} value.
+     */
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (!(o instanceof LCFormat)) {
+            return false;
+        }
+
+        Deque<LCFormat> pending = new ArrayDeque<LCFormat>();
+        pending.push(this);
+        pending.push((LCFormat)o);
+
+        while (!pending.isEmpty()) {
+            LCFormat a = pending.pop();
+            LCFormat b = pending.pop();
+
+            if (a == b) {
+                continue;
+            } else if (a.HASH != b.HASH
+                || !a.PATTERN.equals(b.PATTERN)
+                || a.ARGUMENTS.length != b.ARGUMENTS.length) {
+                return false;
+            }
+
+            for (int i = 0, length = a.ARGUMENTS.length; i < length; i++) {
+                Object argA = a.ARGUMENTS[i];
+                Object argB = b.ARGUMENTS[i];
+
+                if (argA instanceof LCFormat && argB instanceof LCFormat) {
+                    pending.push((LCFormat)argA);
+                    pending.push((LCFormat)argB);
+                } else if (!argA.equals(argB)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     //region Getters
     /**
-     * Get {@link #pattern}.
+     * Get {@link #PATTERN}.
      * @return {@link String} value.
-     * @see #pattern
+     * @see #PATTERN
      */
     @NotNull
     public String pattern() {
-        return pattern;
+        return PATTERN;
     }
 
     /**
-     * Get {@link #ARGUMENTS} as an Array.
+     * Get a copy of {@link #ARGUMENTS}, which the caller may modify.
      * @return {@link Object} Array.
      * @see #ARGUMENTS
      */
     @NotNull
     public Object[] arguments() {
-        int length = ARGUMENTS.size();
-        return ARGUMENTS.toArray(new Object[length]);
+        return ARGUMENTS.clone();
+    }
+
+    /**
+     * Get the nesting depth of this {@link LCFormat}, i.e. 1 plus the
+     * greatest depth of its {@link LCFormat} arguments. This is computed
+     * iteratively, so deeply nested formats do not overflow the stack.
+     * @return {@link Integer} value.
+     */
+    public int depth() {
+        Deque<LCFormat> formats = new ArrayDeque<LCFormat>();
+        Deque<Integer> depths = new ArrayDeque<Integer>();
+        formats.push(this);
+        depths.push(1);
+        int depth = 0;
+
+        while (!formats.isEmpty()) {
+            LCFormat format = formats.pop();
+            int current = depths.pop();
+            depth = Math.max(depth, current);
+
+            for (Object argument : format.ARGUMENTS) {
+                if (argument instanceof LCFormat) {
+                    formats.push((LCFormat)argument);
+                    depths.push(current + 1);
+                }
+            }
+        }
+
+        return depth;
     }
     //endregion
 
     //region Builder
     /**
-     * Builder class for {@link LCFormat}.
+     * Builder class for {@link LCFormat}. Each call to {@link #build()}
+     * creates a new immutable {@link LCFormat}, so the {@link Builder} can
+     * be reused.
      */
     public static final class Builder {
-        @NotNull private final LCFormat FORMAT;
+        @NotNull private final List<Object> ARGUMENTS;
+        @NotNull private String pattern;
 
         Builder() {
-            FORMAT = new LCFormat();
+            ARGUMENTS = new ArrayList<Object>();
+            pattern = "";
         }
 
         /**
@@ -102,7 +196,7 @@ public class LCFormat {
          */
         @NotNull
         public Builder withPattern(@NotNull String pattern) {
-            FORMAT.pattern = pattern;
+            this.pattern = pattern;
             return this;
         }
 
@@ -116,7 +210,7 @@ public class LCFormat {
          */
         @NotNull
         public Builder addArgument(@NotNull Object object) {
-            FORMAT.ARGUMENTS.add(object);
+            ARGUMENTS.add(object);
             return this;
         }
 
@@ -128,13 +222,13 @@ public class LCFormat {
          */
         @NotNull
         public Builder addArguments(@NotNull Collection<Object> args) {
-            FORMAT.ARGUMENTS.addAll(args);
+            ARGUMENTS.addAll(args);
             return this;
         }
 
         @NotNull
         public LCFormat build() {
-            return FORMAT;
+            return new LCFormat(pattern, ARGUMENTS.toArray(new Object[ARGUMENTS.size()]));
         }
     }
     //endregion
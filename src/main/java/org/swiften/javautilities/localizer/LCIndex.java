@@ -0,0 +1,228 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+import org.swiften.javautilities.string.HStrings;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Immutable lookup index that flattens the {@link ResourceBundle} routed by
+ * {@link LCRoutes} into one hash table per {@link Locale}. Each table maps a
+ * key to its resolved {@link String}, preserving the first-bundle-wins
+ * semantics of {@link Localizer#localize(String, Locale)}, so that a lookup
+ * becomes a single {@link Map#get(Object)} probe. Each table also knows
+ * which keys were resolved by a fallback {@link ResourceBundle}, so that
+ * lookups can be reported without probing the bundles again.
+ */
+final class LCIndex {
+    /**
+     * Flatten the routes of {@link LCRoutes} into a {@link LCIndex}. Tables
+     * for all {@link LCRoutes#locales()} are built eagerly.
+     * @param routes {@link LCRoutes} instance.
+     * @return {@link LCIndex} instance.
+     * @see #flatten(List, Locale)
+     */
+    @NotNull
+    static LCIndex of(@NotNull LCRoutes routes) {
+        Map<Locale,Table> tables = new HashMap<Locale,Table>();
+
+        for (Locale locale : routes.locales()) {
+            tables.put(locale, flatten(routes.get(locale), locale));
+        }
+
+        return new LCIndex(routes, Collections.unmodifiableMap(tables), flatten(routes.all(), null));
+    }
+
+    /**
+     * Flatten {@link List} of {@link ResourceBundle} into one {@link Table}.
+     * Keys that have already been resolved by a prior
+     * {@link ResourceBundle} are not overwritten. Keys resolved by a
+     * {@link ResourceBundle} whose {@link Locale} is neither null nor the
+     * requested {@link Locale} are marked as fallbacks.
+     * @param bundles {@link List} of {@link ResourceBundle}.
+     * @param locale {@link Locale} instance the route was built for.
+     * @return {@link Table} instance.
+     */
+    @NotNull
+    private static Table flatten(@NotNull List<ResourceBundle> bundles,
+                                 @Nullable Locale locale) {
+        Map<String,String> values = new HashMap<String,String>();
+        Set<String> fallbacks = new HashSet<String>();
+
+        for (ResourceBundle bundle : bundles) {
+            Locale lc = bundle.getLocale();
+            boolean fallback = HObjects.nonNull(locale) && HObjects.nonNull(lc) && !lc.equals(locale);
+            Enumeration<String> keys = bundle.getKeys();
+
+            while (keys.hasMoreElements()) {
+                String key = keys.nextElement();
+
+                if (!values.containsKey(key)) {
+                    String value = valueOf(bundle, key);
+
+                    if (HStrings.isNotNullOrEmpty(value)) {
+                        values.put(key, value);
+
+                        if (fallback) {
+                            fallbacks.add(key);
+                        }
+                    }
+                }
+            }
+        }
+
+        return new Table(
+            Collections.unmodifiableMap(values),
+            Collections.unmodifiableSet(fallbacks));
+    }
+
+    /**
+     * Get the {@link String} value for a key, or null if the key is not
+     * associated with a {@link String}.
+     * @param bundle {@link ResourceBundle} instance.
+     * @param key {@link String} value.
+     * @return {@link String} value.
+     */
+    @Nullable
+    private static String valueOf(@NotNull ResourceBundle bundle, @NotNull String key) {
+        try {
+            return bundle.getString(key);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @NotNull private final LCRoutes ROUTES;
+    @NotNull private final Map<Locale,Table> TABLES;
+    @NotNull private final ConcurrentMap<List<ResourceBundle>,Table> SHARED;
+    @NotNull private final ConcurrentMap<Locale,Table> MEMO;
+    @NotNull private final Table ALL;
+
+    private LCIndex(@NotNull LCRoutes routes,
+                    @NotNull Map<Locale,Table> tables,
+                    @NotNull Table all) {
+        ROUTES = routes;
+        TABLES = tables;
+        SHARED = new ConcurrentHashMap<List<ResourceBundle>,Table>();
+        MEMO = new ConcurrentHashMap<Locale,Table>();
+        ALL = all;
+    }
+
+    /**
+     * Get the resolved {@link String} for a key.
+     * @param key {@link String} value.
+     * @param locale {@link Locale} instance.
+     * @return {@link String} value, or null if the key is not found.
+     */
+    @Nullable
+    String get(@NotNull String key, @Nullable Locale locale) {
+        return lookup(locale).get(key);
+    }
+
+    /**
+     * Get the {@link Map} of resolved {@link String} for a {@link Locale}.
+     * @param locale {@link Locale} instance.
+     * @return {@link Map} instance.
+     * @see #lookup(Locale)
+     */
+    @NotNull
+    Map<String,String> table(@Nullable Locale locale) {
+        return lookup(locale).VALUES;
+    }
+
+    /**
+     * Get the {@link Table} that should be used for a {@link Locale}.
+     * Tables for {@link Locale} that were not built eagerly are flattened
+     * once per route and shared by all {@link Locale} with that route, and
+     * like {@link LCRoutes#get(Locale)}, only up to
+     * {@link LCRoutes#MAX_MEMOIZED} such {@link Locale} are memoized.
+     * @param locale {@link Locale} instance.
+     * @return {@link Table} instance.
+     * @see LCRoutes#get(Locale)
+     */
+    @NotNull
+    Table lookup(@Nullable Locale locale) {
+        if (HObjects.isNull(locale)) {
+            return ALL;
+        }
+
+        Table table = TABLES.get(locale);
+
+        if (HObjects.isNull(table) && HObjects.isNull(table = MEMO.get(locale))) {
+            List<ResourceBundle> route = ROUTES.get(locale);
+            table = SHARED.get(route);
+
+            if (HObjects.isNull(table)) {
+                table = flatten(route, locale);
+                Table existing = SHARED.putIfAbsent(route, table);
+                table = HObjects.nonNull(existing) ? existing : table;
+            }
+
+            if (MEMO.size() < LCRoutes.MAX_MEMOIZED) {
+                MEMO.putIfAbsent(locale, table);
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Get the number of distinct tables built for {@link Locale} that were
+     * not indexed eagerly.
+     * @return {@link Integer} value.
+     */
+    int shared() {
+        return SHARED.size();
+    }
+
+    /**
+     * Get the number of keys indexed for a {@link Locale}.
+     * @param locale {@link Locale} instance.
+     * @return {@link Integer} value.
+     */
+    int size(@Nullable Locale locale) {
+        return table(locale).size();
+    }
+
+    /**
+     * Flattened table for one route.
+     */
+    static final class Table {
+        @NotNull private final Map<String,String> VALUES;
+        @NotNull private final Set<String> FALLBACKS;
+
+        private Table(@NotNull Map<String,String> values,
+                      @NotNull Set<String> fallbacks) {
+            VALUES = values;
+            FALLBACKS = fallbacks;
+        }
+
+        /**
+         * Get the resolved {@link String} for a key.
+         * @param key {@link String} value.
+         * @return {@link String} value, or null if the key is not found.
+         */
+        @Nullable
+        String get(@NotNull String key) {
+            return VALUES.get(key);
+        }
+
+        /**
+         * Check whether a resolved key came from a fallback
+         * {@link ResourceBundle}.
+         * @param key {@link String} value.
+         * @return {@link Boolean} value.
+         */
+        boolean isFallback(@NotNull String key) {
+            return FALLBACKS.contains(key);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Records how long it took to load a {@link java.util.ResourceBundle} when
+ * a {@link Localizer} was built.
+ * @see Localizer#loadTimes()
+ */
+public final class LCLoadTime {
+    @NotNull private final String SOURCE;
+    private final long NANOS;
+
+    LCLoadTime(@NotNull String source, long nanos) {
+        SOURCE = source;
+        NANOS = nanos;
+    }
+
+    /**
+     * Get {@link #SOURCE}.
+     * @return {@link String} value that describes where the
+     * {@link java.util.ResourceBundle} was loaded from, such as
+     * Strings_en_US or the path of a catalog file.
+     */
+    @NotNull
+    public String source() {
+        return SOURCE;
+    }
+
+    /**
+     * Get the load time in a {@link TimeUnit}.
+     * @param unit {@link TimeUnit} instance.
+     * @return {@link Long} value.
+     */
+    public long time(@NotNull TimeUnit unit) {
+        return unit.convert(NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return String.format("%s: %d \u00b5s", SOURCE, time(TimeUnit.MICROSECONDS));
+    }
+}
@@ -0,0 +1,241 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.metrics.Histogram;
+import org.swiften.javautilities.metrics.StripedCounter;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * {@link LCMetricsType} that keeps per-{@link Locale} counters and
+ * histograms in memory. Recording uses {@link StripedCounter} and
+ * {@link Histogram}, so it stays cheap under heavy concurrency. Lookups
+ * without a {@link Locale} are recorded under a null {@link Locale}.
+ *
+ * Since {@link Locale} usually come from callers, e.g. from request
+ * headers, only up to {@link #MAX_LOCALES} of them are tracked
+ * individually, and lookups for any further {@link Locale} are recorded
+ * under {@link #OTHER}.
+ */
+public final class LCMetrics implements LCMetricsType {
+    /**
+     * Maximum number of {@link Locale} tracked individually.
+     */
+    public static final int MAX_LOCALES = 256;
+
+    /**
+     * {@link Locale} under which lookups are recorded once
+     * {@link #MAX_LOCALES} {@link Locale} are tracked. This is not a valid
+     * language, so it never collides with a real {@link Locale}.
+     */
+    @NotNull public static final Locale OTHER = new Locale("other");
+
+    @NotNull private final ConcurrentMap<Locale,Entry> ENTRIES;
+    @NotNull private final Entry UNSPECIFIED;
+
+    public LCMetrics() {
+        ENTRIES = new ConcurrentHashMap<Locale,Entry>();
+        UNSPECIFIED = new Entry();
+    }
+
+    //region LCMetricsType
+    @Override
+    public void onHit(@Nullable Locale locale, long nanos) {
+        Entry entry = entry(locale);
+        entry.HITS.increment();
+        entry.LATENCY.record(nanos);
+    }
+
+    @Override
+    public void onFallback(@Nullable Locale locale, long nanos) {
+        Entry entry = entry(locale);
+        entry.FALLBACKS.increment();
+        entry.LATENCY.record(nanos);
+    }
+
+    @Override
+    public void onMiss(@Nullable Locale locale, @NotNull String text, long nanos) {
+        Entry entry = entry(locale);
+        entry.MISSES.increment();
+        entry.LATENCY.record(nanos);
+    }
+
+    @Override
+    public void onFormat(@Nullable Locale locale, int depth, long nanos) {
+        Entry entry = entry(locale);
+        entry.DEPTH.record(depth);
+        entry.FORMAT_LATENCY.record(nanos);
+    }
+    //endregion
+
+    //region Getters
+    /**
+     * Get the {@link Locale} that have been recorded, excluding null.
+     * @return {@link Set} of {@link Locale}.
+     */
+    @NotNull
+    public Set<Locale> locales() {
+        return Collections.unmodifiableSet(ENTRIES.keySet());
+    }
+
+    /**
+     * Get the number of texts resolved for a {@link Locale}.
+     * @param locale {@link Locale} instance.
+     * @return {@link Long} value.
+     * @see #onHit(Locale, long)
+     */
+    public long hitCount(@Nullable Locale locale) {
+        Entry entry = find(locale);
+        return HObjects.nonNull(entry) ? entry.HITS.sum() : 0;
+    }
+
+    /**
+     * Get the number of texts resolved by a fallback {@link Locale}.
+     * @param locale {@link Locale} instance.
+     * @return {@link Long} value.
+     * @see #onFallback(Locale, long)
+     */
+    public long fallbackCount(@Nullable Locale locale) {
+        Entry entry = find(locale);
+        return HObjects.nonNull(entry) ? entry.FALLBACKS.sum() : 0;
+    }
+
+    /**
+     * Get the number of texts that could not be resolved.
+     * @param locale {@link Locale} instance.
+     * @return {@link Long} value.
+     * @see #onMiss(Locale, String, long)
+     */
+    public long missCount(@Nullable Locale locale) {
+        Entry entry = find(locale);
+        return HObjects.nonNull(entry) ? entry.MISSES.sum() : 0;
+    }
+
+    /**
+     * Get the {@link Histogram} of text lookup latencies, in nanoseconds.
+     * @param locale {@link Locale} instance.
+     * @return {@link Histogram} instance, which is empty and detached if
+     * nothing was recorded for the {@link Locale}.
+     */
+    @NotNull
+    public Histogram latency(@Nullable Locale locale) {
+        Entry entry = find(locale);
+        return HObjects.nonNull(entry) ? entry.LATENCY : new Histogram();
+    }
+
+    /**
+     * Get the {@link Histogram} of {@link LCFormat} localization
+     * latencies, in nanoseconds.
+     * @param locale {@link Locale} instance.
+     * @return {@link Histogram} instance, which is empty and detached if
+     * nothing was recorded for the {@link Locale}.
+     */
+    @NotNull
+    public Histogram formatLatency(@Nullable Locale locale) {
+        Entry entry = find(locale);
+        return HObjects.nonNull(entry) ? entry.FORMAT_LATENCY : new Histogram();
+    }
+
+    /**
+     * Get the {@link Histogram} of {@link LCFormat} nesting depths.
+     * @param locale {@link Locale} instance.
+     * @return {@link Histogram} instance, which is empty and detached if
+     * nothing was recorded for the {@link Locale}.
+     */
+    @NotNull
+    public Histogram formatDepth(@Nullable Locale locale) {
+        Entry entry = find(locale);
+        return HObjects.nonNull(entry) ? entry.DEPTH : new Histogram();
+    }
+    //endregion
+
+    /**
+     * Reset all counters and histograms.
+     */
+    public void reset() {
+        UNSPECIFIED.reset();
+
+        for (Entry entry : ENTRIES.values()) {
+            entry.reset();
+        }
+    }
+
+    /**
+     * Get the {@link Entry} for a {@link Locale} without creating it, so
+     * that reading metrics for a {@link Locale} does not record it.
+     * @param locale {@link Locale} instance.
+     * @return {@link Entry} instance, or null if nothing was recorded.
+     */
+    @Nullable
+    private Entry find(@Nullable Locale locale) {
+        return HObjects.isNull(locale) ? UNSPECIFIED : ENTRIES.get(locale);
+    }
+
+    /**
+     * Get the {@link Entry} for a {@link Locale}, creating it if necessary.
+     * Once {@link #MAX_LOCALES} {@link Locale} are tracked, the
+     * {@link Entry} for {@link #OTHER} is used instead. Concurrent
+     * recording may overshoot the limit by a few {@link Locale}.
+     * @param locale {@link Locale} instance.
+     * @return {@link Entry} instance.
+     */
+    @NotNull
+    private Entry entry(@Nullable Locale locale) {
+        if (HObjects.isNull(locale)) {
+            return UNSPECIFIED;
+        }
+
+        Entry entry = ENTRIES.get(locale);
+
+        if (HObjects.isNull(entry)) {
+            Locale key = ENTRIES.size() < MAX_LOCALES ? locale : OTHER;
+            entry = ENTRIES.get(key);
+
+            if (HObjects.isNull(entry)) {
+                entry = new Entry();
+                Entry existing = ENTRIES.putIfAbsent(key, entry);
+                return HObjects.nonNull(existing) ? existing : entry;
+            }
+        }
+
+        return entry;
+    }
+
+    /**
+     * Counters and histograms for a single {@link Locale}.
+     */
+    private static final class Entry {
+        @NotNull private final StripedCounter HITS;
+        @NotNull private final StripedCounter FALLBACKS;
+        @NotNull private final StripedCounter MISSES;
+        @NotNull private final Histogram LATENCY;
+        @NotNull private final Histogram FORMAT_LATENCY;
+        @NotNull private final Histogram DEPTH;
+
+        Entry() {
+            HITS = new StripedCounter();
+            FALLBACKS = new StripedCounter();
+            MISSES = new StripedCounter();
+            LATENCY = new Histogram();
+            FORMAT_LATENCY = new Histogram();
+            DEPTH = new Histogram();
+        }
+
+        void reset() {
+            HITS.reset();
+            FALLBACKS.reset();
+            MISSES.reset();
+            LATENCY.reset();
+            FORMAT_LATENCY.reset();
+            DEPTH.reset();
+        }
+    }
+}
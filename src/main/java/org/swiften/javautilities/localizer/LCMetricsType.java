@@ -0,0 +1,56 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Listener that is notified of every lookup done by {@link Localizer}.
+ * Callbacks happen synchronously on the thread doing the lookup, so
+ * implementations should be cheap and thread-safe.
+ * @see LCMetrics
+ * @see Localizer.Builder#withMetrics(LCMetricsType)
+ */
+public interface LCMetricsType {
+    /**
+     * Called when a text is resolved by a {@link java.util.ResourceBundle}
+     * for the requested {@link Locale} (or one without a {@link Locale}).
+     * @param locale The requested {@link Locale}.
+     * @param nanos {@link Long} value of the lookup latency.
+     */
+    void onHit(@Nullable Locale locale, long nanos);
+
+    /**
+     * Called when a text is only resolved by a
+     * {@link java.util.ResourceBundle} for a less specific {@link Locale},
+     * e.g. pt or {@link Locale#ROOT} when pt_BR was requested.
+     * @param locale The requested {@link Locale}.
+     * @param nanos {@link Long} value of the lookup latency.
+     */
+    void onFallback(@Nullable Locale locale, long nanos);
+
+    /**
+     * Called when a text cannot be resolved, so the text itself is returned.
+     * @param locale The requested {@link Locale}.
+     * @param text The {@link String} that could not be localized.
+     * @param nanos {@link Long} value of the lookup latency.
+     */
+    void onMiss(@Nullable Locale locale, @NotNull String text, long nanos);
+
+    /**
+     * Called when a {@link LCFormat} is localized. Texts that are looked up
+     * along the way are reported separately, while nested {@link LCFormat}
+     * arguments are covered by this call.
+     * @param locale The requested {@link Locale}.
+     * @param depth {@link Integer} value of the nesting depth of
+     *              {@link LCFormat} arguments, starting at 1.
+     * @param nanos {@link Long} value of the formatting latency.
+     * @see LCFormat#depth()
+     */
+    void onFormat(@Nullable Locale locale, int depth, long nanos);
+}
@@ -0,0 +1,255 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+import org.swiften.javautilities.string.HStrings;
+
+import java.util.*;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Resolves the arguments of a {@link LCFormat} for {@link Localizer},
+ * localizing {@link String} arguments and nested {@link LCFormat}
+ * arguments. The argument tree is walked iteratively with an explicit
+ * stack, so deep nesting does not grow the call stack, and the sub-result of
+ * a nested {@link LCFormat} is memoized per {@link Locale}, so identical
+ * nested formats are only localized once per call. A {@link LCResolver}
+ * should be used for a single call and is not thread-safe.
+ */
+final class LCResolver {
+    @NotNull private final Localizer LOCALIZER;
+    @Nullable private Map<Key,String> results;
+
+    LCResolver(@NotNull Localizer localizer) {
+        LOCALIZER = localizer;
+    }
+
+    /**
+     * Resolve the arguments of a {@link LCFormat} in place. Other arguments
+     * are left as they are, so a {@link LCFormat} without {@link String} or
+     * {@link LCFormat} arguments costs nothing more than
+     * {@link LCFormat#arguments()}.
+     * @param locale The {@link Locale} to localize arguments with.
+     * @param format {@link LCFormat} instance.
+     * @return {@link Object} Array.
+     * @see #localize(LCFormat, Locale)
+     */
+    @NotNull
+    Object[] resolve(@Nullable Locale locale, @NotNull LCFormat format) {
+        Object[] args = format.arguments();
+
+        for (int i = 0, length = args.length; i < length; i++) {
+            Object argument = args[i];
+
+            if (argument instanceof LCFormat) {
+                args[i] = localize((LCFormat)argument, locale);
+            } else if (argument instanceof String) {
+                args[i] = LOCALIZER.localize((String)argument, locale);
+            }
+        }
+
+        return args;
+    }
+
+    /**
+     * Localize a nested {@link LCFormat} the same way as
+     * {@link Localizer#localize(LCFormat, Locale)}, but iteratively.
+     * @param format {@link LCFormat} instance.
+     * @param locale {@link Locale} instance.
+     * @return {@link String} value.
+     * @see #step(Frame, Deque)
+     */
+    @NotNull
+    private String localize(@NotNull LCFormat format, @Nullable Locale locale) {
+        Map<Key,String> results = this.results;
+
+        if (HObjects.isNull(results)) {
+            results = this.results = new HashMap<Key,String>();
+        }
+
+        String cached = results.get(new Key(format, locale));
+
+        if (HObjects.nonNull(cached)) {
+            return cached;
+        }
+
+        Frame root = new Frame(format, locale);
+        Deque<Frame> frames = new ArrayDeque<Frame>();
+        frames.push(root);
+
+        while (!frames.isEmpty()) {
+            Frame frame = frames.peek();
+
+            if (step(frame, frames)) {
+                frames.pop();
+                results.put(new Key(frame.FORMAT, frame.LOCALE), frame.result);
+
+                if (frame != root) {
+                    Frame parent = frames.peek();
+                    parent.arguments[parent.index++] = frame.result;
+                }
+            }
+        }
+
+        return root.result;
+    }
+
+    /**
+     * Advance a {@link Frame} as far as possible. If a nested
+     * {@link LCFormat} that has not been resolved yet is found, a new
+     * {@link Frame} is pushed for it and the current {@link Frame} is
+     * resumed once that is done.
+     * @param frame {@link Frame} instance.
+     * @param frames {@link Deque} of {@link Frame}.
+     * @return {@link Boolean} value indicating whether the {@link Frame} is
+     * done.
+     * @see #advance(Frame)
+     * @see #format(Frame)
+     */
+    private boolean step(@NotNull Frame frame, @NotNull Deque<Frame> frames) {
+        while (true) {
+            if (HObjects.isNull(frame.template) && !advance(frame)) {
+                return true;
+            }
+
+            Object[] args = frame.arguments;
+
+            while (frame.index < args.length) {
+                Object argument = args[frame.index];
+
+                if (argument instanceof LCFormat) {
+                    LCFormat nested = (LCFormat)argument;
+                    String result = results.get(new Key(nested, frame.argumentLocale));
+
+                    if (HObjects.isNull(result)) {
+                        frames.push(new Frame(nested, frame.argumentLocale));
+                        return false;
+                    }
+
+                    args[frame.index] = result;
+                } else if (argument instanceof String) {
+                    args[frame.index] = LOCALIZER.localize((String)argument, frame.argumentLocale);
+                }
+
+                frame.index += 1;
+            }
+
+            if (HStrings.isNotNullOrEmpty(frame.result = format(frame))) {
+                return true;
+            }
+
+            /* The template produced nothing, so we move on to the next
+             * ResourceBundle, as Localizer#localize(LCFormat, Locale)
+             * would */
+            frame.template = null;
+        }
+    }
+
+    /**
+     * Move a nested {@link Frame} to the next {@link ResourceBundle} that
+     * has a template for its {@link LCFormat}. If there is none, the
+     * {@link Frame} falls back to localizing {@link LCFormat#pattern()}.
+     * @param frame {@link Frame} instance.
+     * @return {@link Boolean} value indicating whether a template was found.
+     * @see Localizer#getTemplate(ResourceBundle, String)
+     */
+    private boolean advance(@NotNull Frame frame) {
+        String pattern = frame.FORMAT.pattern();
+        List<ResourceBundle> bundles = frame.bundles;
+
+        /* HObjects.isNull(Iterable) checks the elements instead, so we
+         * compare against null directly here */
+        if (bundles == null) {
+            bundles = frame.bundles = LOCALIZER.resources(frame.LOCALE);
+        }
+
+        while (++frame.bundle < bundles.size()) {
+            ResourceBundle bundle = bundles.get(frame.bundle);
+            String template = LOCALIZER.getTemplate(bundle, pattern);
+
+            if (HStrings.isNotNullOrEmpty(template)) {
+                frame.template = template;
+                frame.argumentLocale = bundle.getLocale();
+                frame.arguments = frame.FORMAT.arguments();
+                frame.index = 0;
+                return true;
+            }
+        }
+
+        frame.result = LOCALIZER.localize(pattern, frame.LOCALE);
+        return false;
+    }
+
+    /**
+     * Format a nested {@link Frame} whose arguments have all been resolved.
+     * @param frame {@link Frame} instance.
+     * @return {@link String} value, or null if formatting fails.
+     * @see Localizer#formatTemplate(ResourceBundle, String, String, Object[])
+     */
+    @Nullable
+    private String format(@NotNull Frame frame) {
+        ResourceBundle bundle = frame.bundles.get(frame.bundle);
+        String pattern = frame.FORMAT.pattern();
+        return LOCALIZER.formatTemplate(bundle, pattern, frame.template, frame.arguments);
+    }
+
+    /**
+     * State of a nested {@link LCFormat} being localized.
+     */
+    private static final class Frame {
+        @NotNull private final LCFormat FORMAT;
+        @Nullable private final Locale LOCALE;
+        @Nullable private List<ResourceBundle> bundles;
+        @Nullable private String template;
+        @Nullable private Locale argumentLocale;
+        @Nullable private String result;
+        @NotNull private Object[] arguments;
+        private int bundle;
+        private int index;
+
+        Frame(@NotNull LCFormat format, @Nullable Locale locale) {
+            FORMAT = format;
+            LOCALE = locale;
+            arguments = new Object[0];
+            bundle = -1;
+        }
+    }
+
+    /**
+     * Memoization key for the result of a nested {@link LCFormat} localized
+     * with a {@link Locale}.
+     */
+    private static final class Key {
+        @NotNull private final LCFormat FORMAT;
+        @Nullable private final Locale LOCALE;
+
+        Key(@NotNull LCFormat format, @Nullable Locale locale) {
+            FORMAT = format;
+            LOCALE = locale;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key)o;
+
+            return FORMAT.equals(key.FORMAT) && (HObjects.isNull(LOCALE)
+                ? HObjects.isNull(key.LOCALE)
+                : LOCALE.equals(key.LOCALE));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * FORMAT.hashCode() + (HObjects.isNull(LOCALE) ? 0 : LOCALE.hashCode());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Bounded, thread-safe cache of formatted {@link LCFormat} results, keyed by
+ * {@link LCFormat} and {@link Locale}. Least recently used results are
+ * evicted once {@link #capacity()} is exceeded. This works best for hot,
+ * repeated messages whose arguments come from a small domain, e.g.
+ * "{0} items in cart". A capacity of 0 disables caching entirely.
+ *
+ * Results are tagged with the generation of the {@link LCSnapshot} they
+ * were formatted against. A newer generation drops all older results, and
+ * results of an older generation are neither served nor cached, so a
+ * lookup that races with {@link Localizer#reload()} cannot leave a stale
+ * result behind.
+ * @see Localizer.Builder#withResultCacheSize(int)
+ */
+public final class LCResultCache {
+    @NotNull private final Map<Key,String> RESULTS;
+    @NotNull private final AtomicLong HITS;
+    @NotNull private final AtomicLong MISSES;
+    private final int CAPACITY;
+    private long generation;
+
+    LCResultCache(final int CAPACITY) {
+        this.CAPACITY = Math.max(CAPACITY, 0);
+        HITS = new AtomicLong();
+        MISSES = new AtomicLong();
+
+        RESULTS = new LinkedHashMap<Key,String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(@NotNull Map.Entry<Key,String> eldest) {
+                return size() > LCResultCache.this.CAPACITY;
+            }
+        };
+    }
+
+    //region Getters
+    /**
+     * Get {@link #CAPACITY}.
+     * @return {@link Integer} value.
+     */
+    public int capacity() {
+        return CAPACITY;
+    }
+
+    /**
+     * Get the number of cached results.
+     * @return {@link Integer} value.
+     */
+    public int size() {
+        synchronized (RESULTS) {
+            return RESULTS.size();
+        }
+    }
+
+    /**
+     * Get the number of lookups that were served from cache.
+     * @return {@link Long} value.
+     */
+    public long hitCount() {
+        return HITS.get();
+    }
+
+    /**
+     * Get the number of lookups that required formatting.
+     * @return {@link Long} value.
+     */
+    public long missCount() {
+        return MISSES.get();
+    }
+    //endregion
+
+    /**
+     * Check whether caching is enabled.
+     * @return {@link Boolean} value.
+     */
+    boolean isEnabled() {
+        return CAPACITY > 0;
+    }
+
+    /**
+     * Move to a generation, dropping all results of older generations.
+     * This must be called with the lock on {@link #RESULTS} held.
+     * @param generation {@link Long} value.
+     * @return {@link Boolean} value indicating whether the generation is
+     * current, i.e. not older than the latest one seen.
+     */
+    private boolean advance(long generation) {
+        if (generation > this.generation) {
+            this.generation = generation;
+            RESULTS.clear();
+        }
+
+        return generation == this.generation;
+    }
+
+    /**
+     * Drop all results of generations older than a {@link LCSnapshot}
+     * generation.
+     * @param generation {@link Long} value.
+     * @see LCSnapshot#generation()
+     */
+    void invalidate(long generation) {
+        synchronized (RESULTS) {
+            advance(generation);
+        }
+    }
+
+    /**
+     * Get the cached result for a {@link LCFormat}.
+     * @param format {@link LCFormat} instance.
+     * @param locale {@link Locale} instance.
+     * @param generation {@link Long} value of the {@link LCSnapshot}
+     *                   generation.
+     * @return {@link String} value, or null if it is not cached.
+     */
+    @Nullable
+    String get(@NotNull LCFormat format, @Nullable Locale locale, long generation) {
+        String result = null;
+
+        synchronized (RESULTS) {
+            if (advance(generation)) {
+                result = RESULTS.get(new Key(format, locale));
+            }
+        }
+
+        if (HObjects.nonNull(result)) {
+            HITS.incrementAndGet();
+        } else {
+            MISSES.incrementAndGet();
+        }
+
+        return result;
+    }
+
+    /**
+     * Cache the result for a {@link LCFormat}, unless it was formatted
+     * against an older {@link LCSnapshot} generation.
+     * @param format {@link LCFormat} instance.
+     * @param locale {@link Locale} instance.
+     * @param result {@link String} value.
+     * @param generation {@link Long} value of the {@link LCSnapshot}
+     *                   generation read before formatting.
+     */
+    void put(@NotNull LCFormat format,
+             @Nullable Locale locale,
+             @NotNull String result,
+             long generation) {
+        synchronized (RESULTS) {
+            if (advance(generation)) {
+                RESULTS.put(new Key(format, locale), result);
+            }
+        }
+    }
+
+    /**
+     * Remove all cached results. Hit and miss counts are kept.
+     */
+    public void clear() {
+        synchronized (RESULTS) {
+            RESULTS.clear();
+        }
+    }
+
+    /**
+     * Cache key for {@link #RESULTS}. {@link LCFormat} is compared
+     * structurally.
+     * @see LCFormat#equals(Object)
+     */
+    private static final class Key {
+        @NotNull private final LCFormat FORMAT;
+        @Nullable private final Locale LOCALE;
+        private final int HASH;
+
+        Key(@NotNull LCFormat format, @Nullable Locale locale) {
+            FORMAT = format;
+            LOCALE = locale;
+            HASH = 31 * format.hashCode() + (HObjects.nonNull(locale) ? locale.hashCode() : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return HASH;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (o instanceof Key) {
+                Key key = (Key)o;
+
+                return key.HASH == HASH
+                    && key.FORMAT.equals(FORMAT)
+                    && (HObjects.isNull(LOCALE)
+                        ? HObjects.isNull(key.LOCALE)
+                        : LOCALE.equals(key.LOCALE));
+            } else {
+                return false;
+            }
+        }
+    }
+}
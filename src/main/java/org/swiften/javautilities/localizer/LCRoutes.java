@@ -0,0 +1,237 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Immutable routing table that maps a {@link Locale} to the
+ * {@link ResourceBundle} that should be consulted for it, so that a lookup
+ * does not need to filter every {@link ResourceBundle}. The route for a
+ * {@link Locale} follows a fallback chain similar to that of
+ * {@link ResourceBundle#getBundle(String, Locale)}, e.g. pt_BR, then pt,
+ * then {@link Locale#ROOT}. A {@link ResourceBundle} with a null
+ * {@link Locale} matches every {@link Locale}.
+ */
+final class LCRoutes {
+    /**
+     * The maximum number of {@link Locale} without their own
+     * {@link ResourceBundle} whose routes are memoized. Beyond that, routes
+     * for such {@link Locale} are resolved on every lookup, so that
+     * arbitrary caller-supplied {@link Locale} (e.g. from Accept-Language)
+     * cannot grow memory without bound.
+     */
+    static final int MAX_MEMOIZED = 256;
+
+    /**
+     * Create a {@link LCRoutes} from {@link List} of {@link ResourceBundle}.
+     * Routes for all {@link Locale} that are present in the
+     * {@link ResourceBundle} are precomputed.
+     * @param bundles {@link List} of {@link ResourceBundle}.
+     * @return {@link LCRoutes} instance.
+     */
+    @NotNull
+    static LCRoutes of(@NotNull List<ResourceBundle> bundles) {
+        List<ResourceBundle> all = new ArrayList<ResourceBundle>(bundles);
+        Set<Locale> locales = new LinkedHashSet<Locale>();
+
+        for (ResourceBundle bundle : all) {
+            Locale locale = bundle.getLocale();
+
+            if (HObjects.nonNull(locale)) {
+                locales.add(locale);
+            }
+        }
+
+        Map<Locale,List<ResourceBundle>> routes = new HashMap<Locale,List<ResourceBundle>>();
+
+        for (Locale locale : locales) {
+            routes.put(locale, route(all, locale, candidates(locale)));
+        }
+
+        return new LCRoutes(
+            Collections.unmodifiableList(all),
+            Collections.unmodifiableSet(locales),
+            Collections.unmodifiableMap(routes));
+    }
+
+    /**
+     * Get the fallback chain for a {@link Locale}, starting with the
+     * {@link Locale} itself and ending with {@link Locale#ROOT}.
+     * @param locale {@link Locale} instance.
+     * @return {@link List} of {@link Locale}.
+     */
+    @NotNull
+    static List<Locale> candidates(@NotNull Locale locale) {
+        List<Locale> candidates = new ArrayList<Locale>(4);
+        String language = locale.getLanguage();
+        String country = locale.getCountry();
+        candidates.add(locale);
+
+        if (!locale.getVariant().isEmpty()) {
+            candidates.add(new Locale(language, country));
+        }
+
+        if (!country.isEmpty()) {
+            candidates.add(new Locale(language));
+        }
+
+        if (!language.isEmpty()) {
+            candidates.add(Locale.ROOT);
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Compute a route. The {@link ResourceBundle} that match a
+     * {@link Locale} exactly (or have no {@link Locale}) come first, in the
+     * order they were added, followed by those for each fallback
+     * candidate.
+     * @param all {@link List} of all {@link ResourceBundle}.
+     * @param locale {@link Locale} to be matched exactly, or null if only
+     *               {@link ResourceBundle} without {@link Locale} should.
+     * @param fallbacks {@link List} of fallback {@link Locale}. The first
+     *                  item is skipped if it is the {@link Locale} itself.
+     * @return {@link List} of {@link ResourceBundle}.
+     */
+    @NotNull
+    private static List<ResourceBundle> route(@NotNull List<ResourceBundle> all,
+                                              @Nullable Locale locale,
+                                              @NotNull List<Locale> fallbacks) {
+        List<ResourceBundle> route = new ArrayList<ResourceBundle>();
+
+        for (ResourceBundle bundle : all) {
+            Locale lc = bundle.getLocale();
+
+            if (HObjects.isNull(lc) || lc.equals(locale)) {
+                route.add(bundle);
+            }
+        }
+
+        for (Locale candidate : fallbacks) {
+            if (candidate.equals(locale)) {
+                continue;
+            }
+
+            for (ResourceBundle bundle : all) {
+                if (candidate.equals(bundle.getLocale())) {
+                    route.add(bundle);
+                }
+            }
+        }
+
+        return Collections.unmodifiableList(route);
+    }
+
+    @NotNull private final List<ResourceBundle> ALL;
+    @NotNull private final Set<Locale> LOCALES;
+    @NotNull private final Map<Locale,List<ResourceBundle>> ROUTES;
+    @NotNull private final ConcurrentMap<List<Locale>,List<ResourceBundle>> FALLBACKS;
+    @NotNull private final ConcurrentMap<Locale,List<ResourceBundle>> MEMO;
+
+    private LCRoutes(@NotNull List<ResourceBundle> all,
+                     @NotNull Set<Locale> locales,
+                     @NotNull Map<Locale,List<ResourceBundle>> routes) {
+        ALL = all;
+        LOCALES = locales;
+        ROUTES = routes;
+        FALLBACKS = new ConcurrentHashMap<List<Locale>,List<ResourceBundle>>();
+        MEMO = new ConcurrentHashMap<Locale,List<ResourceBundle>>();
+    }
+
+    /**
+     * Get {@link #ALL}.
+     * @return {@link List} of {@link ResourceBundle}.
+     */
+    @NotNull
+    List<ResourceBundle> all() {
+        return ALL;
+    }
+
+    /**
+     * Get {@link #LOCALES}.
+     * @return {@link Set} of {@link Locale}.
+     */
+    @NotNull
+    Set<Locale> locales() {
+        return LOCALES;
+    }
+
+    /**
+     * Get the number of {@link Locale} in {@link #MEMO}.
+     * @return {@link Integer} value.
+     */
+    int memoized() {
+        return MEMO.size();
+    }
+
+    /**
+     * Get the {@link ResourceBundle} to be consulted for a {@link Locale},
+     * in lookup order. If the {@link Locale} is null, all
+     * {@link ResourceBundle} are returned. {@link Locale} without their own
+     * {@link ResourceBundle} share one route per fallback chain, e.g. pt_PT
+     * and pt_AO both use that of pt, and up to {@link #MAX_MEMOIZED} of
+     * them are memoized.
+     * @param locale {@link Locale} instance.
+     * @return {@link List} of {@link ResourceBundle}.
+     * @see #fallback(Locale)
+     */
+    @NotNull
+    List<ResourceBundle> get(@Nullable Locale locale) {
+        if (HObjects.isNull(locale)) {
+            return ALL;
+        }
+
+        /* HObjects.isNull(Iterable) checks the elements instead, so we
+         * compare against null directly here */
+        List<ResourceBundle> route = ROUTES.get(locale);
+
+        if (route == null && (route = MEMO.get(locale)) == null) {
+            route = fallback(locale);
+
+            if (MEMO.size() < MAX_MEMOIZED) {
+                MEMO.putIfAbsent(locale, route);
+            }
+        }
+
+        return route;
+    }
+
+    /**
+     * Get the route for a {@link Locale} that has no {@link ResourceBundle}
+     * of its own. This only depends on which of its fallback candidates
+     * have {@link ResourceBundle}, so routes are shared by that.
+     * @param locale {@link Locale} instance.
+     * @return {@link List} of {@link ResourceBundle}.
+     * @see #route(List, Locale, List)
+     */
+    @NotNull
+    private List<ResourceBundle> fallback(@NotNull Locale locale) {
+        List<Locale> fallbacks = new ArrayList<Locale>(4);
+
+        for (Locale candidate : candidates(locale)) {
+            if (LOCALES.contains(candidate)) {
+                fallbacks.add(candidate);
+            }
+        }
+
+        List<ResourceBundle> route = FALLBACKS.get(fallbacks);
+
+        if (route == null) {
+            route = route(ALL, null, fallbacks);
+            List<ResourceBundle> existing = FALLBACKS.putIfAbsent(fallbacks, route);
+            return existing != null ? existing : route;
+        }
+
+        return route;
+    }
+}
@@ -0,0 +1,89 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Immutable snapshot of the {@link ResourceBundle} used by
+ * {@link Localizer}, together with their {@link LCRoutes} and (if
+ * precompiled) {@link LCIndex}. These are always swapped in as a whole, so
+ * a lookup that reads the snapshot once never mixes the routes of one
+ * reload with the index of another. Each {@link LCSnapshot} has a
+ * generation that is greater than those of all {@link LCSnapshot} created
+ * before it, so that caches can tell stale entries apart.
+ */
+final class LCSnapshot {
+    @NotNull private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    /**
+     * Create a {@link LCSnapshot} from {@link List} of {@link ResourceBundle}.
+     * @param bundles {@link List} of {@link ResourceBundle}.
+     * @param precompile {@link Boolean} value indicating whether a
+     *                   {@link LCIndex} should be built.
+     * @return {@link LCSnapshot} instance.
+     * @see LCRoutes#of(List)
+     * @see LCIndex#of(LCRoutes)
+     */
+    @NotNull
+    static LCSnapshot of(@NotNull List<ResourceBundle> bundles, boolean precompile) {
+        LCRoutes routes = LCRoutes.of(bundles);
+        LCIndex index = precompile ? LCIndex.of(routes) : null;
+        return new LCSnapshot(GENERATIONS.incrementAndGet(), routes, index);
+    }
+
+    @NotNull private final LCRoutes ROUTES;
+    @Nullable private final LCIndex INDEX;
+    private final long GENERATION;
+
+    private LCSnapshot(long generation,
+                       @NotNull LCRoutes routes,
+                       @Nullable LCIndex index) {
+        GENERATION = generation;
+        ROUTES = routes;
+        INDEX = index;
+    }
+
+    /**
+     * Get {@link #GENERATION}.
+     * @return {@link Long} value.
+     */
+    long generation() {
+        return GENERATION;
+    }
+
+    /**
+     * Get all {@link ResourceBundle}, in the order they were added.
+     * @return {@link List} of {@link ResourceBundle}.
+     * @see LCRoutes#all()
+     */
+    @NotNull
+    List<ResourceBundle> bundles() {
+        return ROUTES.all();
+    }
+
+    /**
+     * Get {@link #ROUTES}.
+     * @return {@link LCRoutes} instance.
+     */
+    @NotNull
+    LCRoutes routes() {
+        return ROUTES;
+    }
+
+    /**
+     * Get {@link #INDEX}.
+     * @return {@link LCIndex} instance, or null if not precompiled.
+     */
+    @Nullable
+    LCIndex index() {
+        return INDEX;
+    }
+}
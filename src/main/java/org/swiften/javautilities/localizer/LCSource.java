@@ -0,0 +1,338 @@
+package org.swiften.javautilities.localizer;
+
+import io.reactivex.Scheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Describes where a {@link ResourceBundle} used by {@link Localizer} comes
+ * from, so that it can be loaded again when its backing files change.
+ */
+abstract class LCSource {
+    /**
+     * Create a {@link LCSource} for a properties {@link ResourceBundle} on
+     * the classpath of a {@link ClassLoader}.
+     * @param name The name of the {@link ResourceBundle}.
+     * @param locale The {@link Locale} of the {@link ResourceBundle}.
+     * @param loader {@link ClassLoader} instance.
+     * @return {@link LCSource} instance.
+     */
+    @NotNull
+    static LCSource properties(@NotNull String name,
+                               @NotNull Locale locale,
+                               @NotNull ClassLoader loader) {
+        return new Properties(name, locale, loader);
+    }
+
+    /**
+     * Create a {@link LCSource} for a catalog file compiled with
+     * {@link LCCatalog}.
+     * @param file {@link File} instance.
+     * @return {@link LCSource} instance.
+     */
+    @NotNull
+    static LCSource catalog(@NotNull File file) {
+        return new Catalog(file);
+    }
+
+    /**
+     * Create a {@link LCSource} for a {@link BundleSourceType}. Every
+     * {@link #load()} creates a {@link LCCachedBundle} with an empty cache
+     * and starts prefetching on a {@link Scheduler}.
+     * @param source {@link BundleSourceType} instance.
+     * @param locale {@link Locale} instance.
+     * @param scheduler {@link Scheduler} instance used for prefetching.
+     * @return {@link LCSource} instance.
+     */
+    @NotNull
+    static LCSource external(@NotNull BundleSourceType source,
+                             @NotNull Locale locale,
+                             @NotNull Scheduler scheduler) {
+        return new External(source, locale, scheduler);
+    }
+
+    /**
+     * Get a version for a {@link File}, derived from its last-modified time
+     * and length.
+     * @param file {@link File} instance.
+     * @return {@link Long} value, or -1 if the file does not exist.
+     */
+    private static long version(@NotNull File file) {
+        if (file.exists()) {
+            return 31 * file.lastModified() + file.length();
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Load the {@link ResourceBundle}.
+     * @return {@link ResourceBundle} instance.
+     * @throws java.util.MissingResourceException If the
+     * {@link ResourceBundle} cannot be found.
+     */
+    @NotNull
+    abstract ResourceBundle load();
+
+    /**
+     * Get a stamp that changes whenever the backing files change. This
+     * does not need to be cheap, but it should not load the
+     * {@link ResourceBundle}.
+     * @return {@link Long} value.
+     */
+    abstract long stamp();
+
+    /**
+     * {@link LCSource} for properties files on the classpath of a
+     * {@link ClassLoader}. The files are read directly rather than through
+     * {@link ResourceBundle#getBundle(String, Locale, ClassLoader, ResourceBundle.Control)},
+     * since its cache is shared by the whole JVM: an entry cached by anyone
+     * else would be served forever, and clearing it would affect everyone
+     * else. The resulting {@link ResourceBundle} chain matches that of
+     * {@link ResourceBundle.Control#getNoFallbackControl(List)}.
+     */
+    private static final class Properties extends LCSource {
+        @NotNull private static final ResourceBundle.Control CONTROL
+            = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+
+        @NotNull private final String NAME;
+        @NotNull private final Locale LOCALE;
+        @NotNull private final ClassLoader LOADER;
+
+        Properties(@NotNull String name,
+                   @NotNull Locale locale,
+                   @NotNull ClassLoader loader) {
+            NAME = name;
+            LOCALE = locale;
+            LOADER = loader;
+        }
+
+        /**
+         * Read every candidate properties file and chain them, so that the
+         * most specific one comes first and the others become its parents.
+         * @return {@link ResourceBundle} instance.
+         * @see ResourceBundle.Control#getCandidateLocales(String, Locale)
+         * @see #read(Locale)
+         */
+        @NotNull
+        @Override
+        ResourceBundle load() {
+            ResourceBundle first = null;
+            Bundle last = null;
+
+            for (Locale locale : CONTROL.getCandidateLocales(NAME, LOCALE)) {
+                Bundle bundle = read(locale);
+
+                if (HObjects.isNull(bundle)) {
+                    continue;
+                } else if (HObjects.isNull(last)) {
+                    first = bundle;
+                } else {
+                    last.parent(bundle);
+                }
+
+                last = bundle;
+            }
+
+            if (HObjects.isNull(first)) {
+                String message = String.format("Can't find bundle for base name %s, locale %s", NAME, LOCALE);
+                throw new MissingResourceException(message, toString(), "");
+            }
+
+            return first;
+        }
+
+        /**
+         * Read the properties file for a candidate {@link Locale}, bypassing
+         * any {@link URLConnection} cache.
+         * @param locale {@link Locale} instance.
+         * @return {@link Bundle} instance, or null if there is no file.
+         */
+        @Nullable
+        private Bundle read(@NotNull Locale locale) {
+            String bundle = CONTROL.toBundleName(NAME, locale);
+            URL url = LOADER.getResource(CONTROL.toResourceName(bundle, "properties"));
+
+            if (HObjects.isNull(url)) {
+                return null;
+            }
+
+            try {
+                URLConnection connection = url.openConnection();
+                connection.setUseCaches(false);
+                InputStream stream = connection.getInputStream();
+
+                try {
+                    return new Bundle(stream, locale);
+                } finally {
+                    stream.close();
+                }
+            } catch (IOException e) {
+                String message = String.format("Cannot read %s", url);
+                throw new MissingResourceException(message, bundle, "");
+            }
+        }
+
+        /**
+         * Combine the version of every candidate properties file, including
+         * those that do not exist yet.
+         * @return {@link Long} value.
+         * @see ResourceBundle.Control#getCandidateLocales(String, Locale)
+         */
+        @Override
+        long stamp() {
+            long stamp = 17;
+
+            for (Locale locale : CONTROL.getCandidateLocales(NAME, LOCALE)) {
+                String bundle = CONTROL.toBundleName(NAME, locale);
+                String resource = CONTROL.toResourceName(bundle, "properties");
+                stamp = 31 * stamp + version(LOADER.getResource(resource));
+            }
+
+            return stamp;
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            return CONTROL.toBundleName(NAME, LOCALE);
+        }
+
+        /**
+         * Get a version for a resource {@link URL}. Only resources backed by
+         * a file can change, so other resources (e.g. those inside a jar)
+         * always return the same value.
+         * @param url {@link URL} instance.
+         * @return {@link Long} value, or -1 if the resource does not exist.
+         * @see LCSource#version(File)
+         */
+        private long version(@Nullable URL url) {
+            if (HObjects.isNull(url)) {
+                return -1;
+            } else if (!"file".equals(url.getProtocol())) {
+                return 0;
+            }
+
+            try {
+                return LCSource.version(new File(url.toURI()));
+            } catch (Exception e) {
+                return 0;
+            }
+        }
+
+        /**
+         * {@link PropertyResourceBundle} that knows its {@link Locale} and
+         * whose parent can be set by {@link Properties}.
+         */
+        private static final class Bundle extends PropertyResourceBundle {
+            @NotNull private final Locale LOCALE;
+
+            Bundle(@NotNull InputStream stream, @NotNull Locale locale) throws IOException {
+                super(stream);
+                LOCALE = locale;
+            }
+
+            @NotNull
+            @Override
+            public Locale getLocale() {
+                return LOCALE;
+            }
+
+            /**
+             * Set the parent {@link ResourceBundle}.
+             * @param parent {@link ResourceBundle} instance.
+             */
+            void parent(@NotNull ResourceBundle parent) {
+                setParent(parent);
+            }
+        }
+    }
+
+    /**
+     * {@link LCSource} for catalog files opened with
+     * {@link LCCatalog#open(File)}.
+     */
+    private static final class Catalog extends LCSource {
+        @NotNull private final File FILE;
+
+        Catalog(@NotNull File file) {
+            FILE = file;
+        }
+
+        @NotNull
+        @Override
+        ResourceBundle load() {
+            try {
+                return LCCatalog.open(FILE);
+            } catch (IOException e) {
+                String message = String.format("Cannot open catalog %s", FILE);
+                throw new MissingResourceException(message, LCCatalog.class.getName(), "");
+            }
+        }
+
+        @Override
+        long stamp() {
+            return version(FILE);
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            return FILE.getPath();
+        }
+    }
+
+    /**
+     * {@link LCSource} for a {@link BundleSourceType}. There are no backing
+     * files to watch, so {@link #stamp()} never changes, but
+     * {@link Localizer#reload()} still fetches all translations again.
+     */
+    private static final class External extends LCSource {
+        @NotNull private final BundleSourceType SOURCE;
+        @NotNull private final Locale LOCALE;
+        @NotNull private final Scheduler SCHEDULER;
+
+        External(@NotNull BundleSourceType source,
+                 @NotNull Locale locale,
+                 @NotNull Scheduler scheduler) {
+            SOURCE = source;
+            LOCALE = locale;
+            SCHEDULER = scheduler;
+        }
+
+        @NotNull
+        @Override
+        ResourceBundle load() {
+            LCCachedBundle bundle = new LCCachedBundle(SOURCE, LOCALE);
+            bundle.prefetch(SCHEDULER);
+            return bundle;
+        }
+
+        @Override
+        long stamp() {
+            return 0;
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            return String.format("%s_%s", SOURCE.getClass().getSimpleName(), LOCALE);
+        }
+    }
+}
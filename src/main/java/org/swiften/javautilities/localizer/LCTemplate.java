@@ -0,0 +1,425 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.text.DateFormat;
+import java.text.Format;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.*;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * A template that has been parsed once and can be formatted many times. A
+ * template that only uses the common subset of {@link MessageFormat}
+ * syntax ({0}, {0,number[,integer|percent|currency]} and
+ * {0,date|time[,short|medium|long|full]}) is compiled into a flat list of
+ * literal and argument segments, which renders into a per-thread
+ * {@link StringBuilder} with the same output as {@link MessageFormat}.
+ * Other templates, such as those with choice or custom formats, fall back to
+ * {@link MessageFormat}. Instances are thread-safe.
+ */
+abstract class LCTemplate {
+    /**
+     * Parse a template.
+     * @param template {@link String} template value.
+     * @param locale {@link Locale} instance.
+     * @return {@link LCTemplate} instance.
+     * @see Compiled#parse(String, Locale)
+     */
+    @NotNull
+    static LCTemplate compile(@NotNull String template, @Nullable Locale locale) {
+        LCTemplate compiled = HObjects.nonNull(locale) ? Compiled.parse(template, locale) : null;
+        return HObjects.nonNull(compiled) ? compiled : new Fallback(template, locale);
+    }
+
+    /**
+     * Format an Array of arguments.
+     * @param args {@link Object} Array.
+     * @return {@link String} value.
+     */
+    @NotNull
+    abstract String format(@NotNull Object[] args);
+
+    /**
+     * Check whether this template has been compiled, rather than falling
+     * back to {@link MessageFormat}.
+     * @return {@link Boolean} value.
+     */
+    abstract boolean isCompiled();
+
+    /**
+     * {@link LCTemplate} that delegates to a {@link MessageFormat}
+     * prototype, which is cloned for every call since {@link MessageFormat}
+     * is not thread-safe.
+     */
+    private static final class Fallback extends LCTemplate {
+        @NotNull private final MessageFormat PROTOTYPE;
+
+        Fallback(@NotNull String template, @Nullable Locale locale) {
+            PROTOTYPE = new MessageFormat(template, locale);
+        }
+
+        @NotNull
+        @Override
+        String format(@NotNull Object[] args) {
+            return ((MessageFormat)PROTOTYPE.clone()).format(args);
+        }
+
+        @Override
+        boolean isCompiled() {
+            return false;
+        }
+    }
+
+    /**
+     * {@link LCTemplate} compiled into literal and argument segments.
+     */
+    private static final class Compiled extends LCTemplate {
+        /**
+         * Per-thread rendering state, shared by all {@link Compiled}.
+         */
+        @NotNull private static final ThreadLocal<Renderer> RENDERER = new ThreadLocal<Renderer>() {
+            @NotNull
+            @Override
+            protected Renderer initialValue() {
+                return new Renderer();
+            }
+        };
+
+        /**
+         * Parse a template following the quoting rules of
+         * {@link MessageFormat#applyPattern(String)}.
+         * @param template {@link String} template value.
+         * @param locale {@link Locale} instance.
+         * @return {@link Compiled} instance, or null if the template uses
+         * syntax that is not supported.
+         */
+        @Nullable
+        static Compiled parse(@NotNull String template, @NotNull Locale locale) {
+            List<Object> segments = new ArrayList<Object>();
+            StringBuilder literal = new StringBuilder();
+            StringBuilder[] parts = null;
+            boolean quoted = false;
+            int part = 0;
+
+            for (int i = 0, length = template.length(); i < length; i++) {
+                char ch = template.charAt(i);
+
+                /* HObjects.isNull(Object...) checks the elements of an
+                 * Array instead, so we compare against null directly */
+                if (parts == null) {
+                    if (ch == '\'') {
+                        if (i + 1 < length && template.charAt(i + 1) == '\'') {
+                            literal.append(ch);
+                            i += 1;
+                        } else {
+                            quoted = !quoted;
+                        }
+                    } else if (ch == '{' && !quoted) {
+                        if (literal.length() > 0) {
+                            segments.add(literal.toString());
+                            literal.setLength(0);
+                        }
+
+                        parts = new StringBuilder[] {
+                            new StringBuilder(),
+                            new StringBuilder(),
+                            new StringBuilder()
+                        };
+
+                        part = 0;
+                    } else {
+                        literal.append(ch);
+                    }
+                } else if (ch == ',' && part < 2) {
+                    part += 1;
+                } else if (ch == '}') {
+                    Argument argument = Argument.of(parts, locale);
+
+                    if (HObjects.isNull(argument)) {
+                        return null;
+                    }
+
+                    segments.add(argument);
+                    parts = null;
+                } else if (ch == '{' || ch == '\'') {
+                    /* Nested or quoted subformat patterns are left to
+                     * MessageFormat */
+                    return null;
+                } else if (ch != ' ' || part != 1 || parts[1].length() > 0) {
+                    parts[part].append(ch);
+                }
+            }
+
+            if (parts != null) {
+                /* Unmatched braces, for which MessageFormat throws */
+                return null;
+            }
+
+            if (literal.length() > 0) {
+                segments.add(literal.toString());
+            }
+
+            return new Compiled(segments.toArray(), locale);
+        }
+
+        @NotNull private final Object[] SEGMENTS;
+        @NotNull private final Locale LOCALE;
+
+        private Compiled(@NotNull Object[] segments, @NotNull Locale locale) {
+            SEGMENTS = segments;
+            LOCALE = locale;
+        }
+
+        @NotNull
+        @Override
+        String format(@NotNull Object[] args) {
+            Renderer renderer = RENDERER.get();
+            StringBuilder builder = renderer.acquire();
+
+            try {
+                for (Object segment : SEGMENTS) {
+                    if (segment instanceof String) {
+                        builder.append((String)segment);
+                    } else {
+                        ((Argument)segment).append(renderer, builder, args, LOCALE);
+                    }
+                }
+
+                return builder.toString();
+            } finally {
+                renderer.release(builder);
+            }
+        }
+
+        @Override
+        boolean isCompiled() {
+            return true;
+        }
+    }
+
+    /**
+     * Argument segment of a {@link Compiled} template.
+     */
+    private static final class Argument {
+        private static final int NONE = 0;
+        private static final int NUMBER = 1;
+        private static final int INTEGER = 2;
+        private static final int PERCENT = 3;
+        private static final int CURRENCY = 4;
+        private static final int DATE = 5;
+        private static final int TIME = 6;
+
+        /**
+         * Create an {@link Argument} from the index, type and style parts of
+         * a format element.
+         * @param parts {@link StringBuilder} Array.
+         * @param locale {@link Locale} instance.
+         * @return {@link Argument} instance, or null if the format element
+         * is not supported.
+         */
+        @Nullable
+        static Argument of(@NotNull StringBuilder[] parts, @NotNull Locale locale) {
+            int index;
+
+            try {
+                index = Integer.parseInt(parts[0].toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            String type = parts[1].toString().trim().toLowerCase(Locale.ROOT);
+            String style = parts[2].toString().trim().toLowerCase(Locale.ROOT);
+
+            if (index < 0) {
+                return null;
+            } else if (type.isEmpty()) {
+                return new Argument(index, NONE, 0, locale);
+            } else if (type.equals("number")) {
+                if (style.isEmpty()) {
+                    return new Argument(index, NUMBER, 0, locale);
+                } else if (style.equals("integer")) {
+                    return new Argument(index, INTEGER, 0, locale);
+                } else if (style.equals("percent")) {
+                    return new Argument(index, PERCENT, 0, locale);
+                } else if (style.equals("currency")) {
+                    return new Argument(index, CURRENCY, 0, locale);
+                }
+            } else if (type.equals("date") || type.equals("time")) {
+                int kind = type.equals("date") ? DATE : TIME;
+
+                if (style.isEmpty()) {
+                    return new Argument(index, kind, DateFormat.DEFAULT, locale);
+                } else if (style.equals("short")) {
+                    return new Argument(index, kind, DateFormat.SHORT, locale);
+                } else if (style.equals("medium")) {
+                    return new Argument(index, kind, DateFormat.MEDIUM, locale);
+                } else if (style.equals("long")) {
+                    return new Argument(index, kind, DateFormat.LONG, locale);
+                } else if (style.equals("full")) {
+                    return new Argument(index, kind, DateFormat.FULL, locale);
+                }
+            }
+
+            return null;
+        }
+
+        private final int INDEX;
+        private final int TYPE;
+        private final int STYLE;
+        @NotNull private final String KEY;
+        @NotNull private final String NUMBER_KEY;
+        @NotNull private final String DATE_TIME_KEY;
+
+        private Argument(int index, int type, int style, @NotNull Locale locale) {
+            INDEX = index;
+            TYPE = type;
+            STYLE = style;
+            KEY = type + "," + style + "," + locale;
+            NUMBER_KEY = NUMBER + ",0," + locale;
+            DATE_TIME_KEY = "datetime," + locale;
+        }
+
+        /**
+         * Append the formatted argument, as
+         * {@link MessageFormat#format(Object)} would.
+         * @param renderer {@link Renderer} instance.
+         * @param builder {@link StringBuilder} instance.
+         * @param args {@link Object} Array.
+         * @param locale {@link Locale} instance.
+         */
+        void append(@NotNull Renderer renderer,
+                    @NotNull StringBuilder builder,
+                    @NotNull Object[] args,
+                    @NotNull Locale locale) {
+            if (INDEX >= args.length) {
+                builder.append('{').append(INDEX).append('}');
+                return;
+            }
+
+            Object arg = args[INDEX];
+
+            if (HObjects.isNull(arg)) {
+                builder.append("null");
+            } else if (TYPE != NONE) {
+                builder.append(renderer.format(KEY, TYPE, STYLE, locale).format(arg));
+            } else if (arg instanceof String) {
+                builder.append((String)arg);
+            } else if (arg instanceof Number) {
+                builder.append(renderer.format(NUMBER_KEY, NUMBER, 0, locale).format(arg));
+            } else if (arg instanceof Date) {
+                builder.append(renderer.format(DATE_TIME_KEY, -1, 0, locale).format(arg));
+            } else {
+                String text = arg.toString();
+                builder.append(HObjects.nonNull(text) ? text : "null");
+            }
+        }
+    }
+
+    /**
+     * Per-thread {@link StringBuilder} and {@link Format} instances, which
+     * are not thread-safe and therefore cannot be shared.
+     */
+    private static final class Renderer {
+        /**
+         * {@link StringBuilder} larger than this are not kept, so that one
+         * long message does not pin memory forever.
+         */
+        private static final int MAX_CAPACITY = 4096;
+
+        @NotNull private final Map<String,Format> FORMATS;
+        @Nullable private StringBuilder builder;
+
+        Renderer() {
+            FORMATS = new HashMap<String,Format>();
+            builder = new StringBuilder();
+        }
+
+        /**
+         * Take the reusable {@link StringBuilder}. If it is already in use,
+         * e.g. because {@link Object#toString()} of an argument formats
+         * another template, a new {@link StringBuilder} is returned.
+         * @return {@link StringBuilder} instance.
+         */
+        @NotNull
+        StringBuilder acquire() {
+            StringBuilder builder = this.builder;
+
+            if (HObjects.isNull(builder)) {
+                return new StringBuilder();
+            }
+
+            this.builder = null;
+            builder.setLength(0);
+            return builder;
+        }
+
+        /**
+         * Return a {@link StringBuilder} obtained from {@link #acquire()}.
+         * @param builder {@link StringBuilder} instance.
+         */
+        void release(@NotNull StringBuilder builder) {
+            if (builder.capacity() <= MAX_CAPACITY) {
+                this.builder = builder;
+            } else if (HObjects.isNull(this.builder)) {
+                this.builder = new StringBuilder();
+            }
+        }
+
+        /**
+         * Get a {@link Format} for an argument type and style, creating it
+         * once per thread.
+         * @param key {@link String} key that identifies the {@link Format}.
+         * @param type {@link Integer} argument type.
+         * @param style {@link Integer} {@link DateFormat} style.
+         * @param locale {@link Locale} instance.
+         * @return {@link Format} instance.
+         */
+        @NotNull
+        Format format(@NotNull String key, int type, int style, @NotNull Locale locale) {
+            Format format = FORMATS.get(key);
+
+            if (HObjects.isNull(format)) {
+                switch (type) {
+                    case Argument.INTEGER:
+                        format = NumberFormat.getIntegerInstance(locale);
+                        break;
+
+                    case Argument.PERCENT:
+                        format = NumberFormat.getPercentInstance(locale);
+                        break;
+
+                    case Argument.CURRENCY:
+                        format = NumberFormat.getCurrencyInstance(locale);
+                        break;
+
+                    case Argument.DATE:
+                        format = DateFormat.getDateInstance(style, locale);
+                        break;
+
+                    case Argument.TIME:
+                        format = DateFormat.getTimeInstance(style, locale);
+                        break;
+
+                    case Argument.NUMBER:
+                        format = NumberFormat.getInstance(locale);
+                        break;
+
+                    default:
+                        format = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale);
+                        break;
+                }
+
+                FORMATS.put(key, format);
+            }
+
+            return format;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.text.MessageFormat;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Bounded, thread-safe cache of parsed {@link MessageFormat} templates, keyed
+ * by {@link ResourceBundle}, pattern key and {@link Locale}. Least recently
+ * used templates are evicted once {@link #capacity()} is exceeded.
+ * Since {@link MessageFormat} is not thread-safe, the cache only keeps a
+ * prototype for each template and hands out clones, which is much cheaper
+ * than re-parsing the pattern.
+ *
+ * Once bound to the {@link ResourceBundle} of a {@link Localizer}, only
+ * templates of those {@link ResourceBundle} are cached, and templates of
+ * replaced {@link ResourceBundle} are dropped, so a lookup that races with
+ * {@link Localizer#reload()} cannot pin the previous {@link ResourceBundle}.
+ */
+public final class LCTemplateCache {
+    /**
+     * The default number of templates to be cached.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    @NotNull private final Map<Key,MessageFormat> TEMPLATES;
+    @NotNull private final Map<Key,LCTemplate> COMPILED;
+    @NotNull private final AtomicLong HITS;
+    @NotNull private final AtomicLong MISSES;
+    @Nullable private volatile Set<ResourceBundle> bundles;
+    private final int CAPACITY;
+
+    LCTemplateCache(final int CAPACITY) {
+        this.CAPACITY = Math.max(CAPACITY, 0);
+        HITS = new AtomicLong();
+        MISSES = new AtomicLong();
+
+        TEMPLATES = new LinkedHashMap<Key,MessageFormat>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(@NotNull Map.Entry<Key,MessageFormat> eldest) {
+                return size() > LCTemplateCache.this.CAPACITY;
+            }
+        };
+
+        COMPILED = new LinkedHashMap<Key,LCTemplate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(@NotNull Map.Entry<Key,LCTemplate> eldest) {
+                return size() > LCTemplateCache.this.CAPACITY;
+            }
+        };
+    }
+
+    //region Getters
+    /**
+     * Get {@link #CAPACITY}.
+     * @return {@link Integer} value.
+     */
+    public int capacity() {
+        return CAPACITY;
+    }
+
+    /**
+     * Get the number of cached templates.
+     * @return {@link Integer} value.
+     */
+    public int size() {
+        int size;
+
+        synchronized (TEMPLATES) {
+            size = TEMPLATES.size();
+        }
+
+        synchronized (COMPILED) {
+            return size + COMPILED.size();
+        }
+    }
+
+    /**
+     * Get the number of lookups that were served from cache.
+     * @return {@link Long} value.
+     */
+    public long hitCount() {
+        return HITS.get();
+    }
+
+    /**
+     * Get the number of lookups that required parsing a template.
+     * @return {@link Long} value.
+     */
+    public long missCount() {
+        return MISSES.get();
+    }
+    //endregion
+
+    /**
+     * Get a {@link MessageFormat} for a template. If the template has been
+     * parsed before, a clone of the cached {@link MessageFormat} is
+     * returned. Otherwise, the template is parsed and cached.
+     * @param bundle {@link ResourceBundle} from which the template is
+     *               acquired.
+     * @param pattern {@link String} key used to acquire the template.
+     * @param template {@link String} template value.
+     * @param locale {@link Locale} instance.
+     * @return {@link MessageFormat} instance that is exclusive to the caller.
+     * @see MessageFormat#clone()
+     */
+    @NotNull
+    public MessageFormat messageFormat(@NotNull ResourceBundle bundle,
+                                       @NotNull String pattern,
+                                       @NotNull String template,
+                                       @Nullable Locale locale) {
+        Key key = new Key(bundle, pattern, locale);
+        MessageFormat prototype;
+
+        synchronized (TEMPLATES) {
+            prototype = TEMPLATES.get(key);
+        }
+
+        if (HObjects.nonNull(prototype)) {
+            HITS.incrementAndGet();
+            return (MessageFormat)prototype.clone();
+        }
+
+        MISSES.incrementAndGet();
+        MessageFormat format = new MessageFormat(template, locale);
+
+        if (CAPACITY > 0) {
+            synchronized (TEMPLATES) {
+                if (isCurrent(bundle)) {
+                    TEMPLATES.put(key, (MessageFormat)format.clone());
+                }
+            }
+        }
+
+        return format;
+    }
+
+    /**
+     * Get a compiled {@link LCTemplate} for a template. The template is
+     * parsed once and the {@link LCTemplate} is shared, since it is
+     * thread-safe.
+     * @param bundle {@link ResourceBundle} from which the template is
+     *               acquired.
+     * @param pattern {@link String} key used to acquire the template.
+     * @param template {@link String} template value.
+     * @param locale {@link Locale} instance.
+     * @return {@link LCTemplate} instance.
+     * @see LCTemplate#compile(String, Locale)
+     */
+    @NotNull
+    LCTemplate template(@NotNull ResourceBundle bundle,
+                        @NotNull String pattern,
+                        @NotNull String template,
+                        @Nullable Locale locale) {
+        Key key = new Key(bundle, pattern, locale);
+        LCTemplate compiled;
+
+        synchronized (COMPILED) {
+            compiled = COMPILED.get(key);
+        }
+
+        if (HObjects.nonNull(compiled)) {
+            HITS.incrementAndGet();
+            return compiled;
+        }
+
+        MISSES.incrementAndGet();
+        compiled = LCTemplate.compile(template, locale);
+
+        if (CAPACITY > 0) {
+            synchronized (COMPILED) {
+                if (isCurrent(bundle)) {
+                    COMPILED.put(key, compiled);
+                }
+            }
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Check whether templates of a {@link ResourceBundle} may be cached.
+     * @param bundle {@link ResourceBundle} instance.
+     * @return {@link Boolean} value.
+     * @see #retain(Collection)
+     */
+    private boolean isCurrent(@NotNull ResourceBundle bundle) {
+        Set<ResourceBundle> bundles = this.bundles;
+        return bundles == null || bundles.contains(bundle);
+    }
+
+    /**
+     * Bind this cache to {@link Collection} of {@link ResourceBundle},
+     * dropping the templates of all other {@link ResourceBundle}. Templates
+     * of other {@link ResourceBundle} are not cached from now on. The
+     * bound {@link ResourceBundle} are replaced before the stale templates
+     * are dropped, so a template that is being parsed concurrently is
+     * either rejected or dropped.
+     * @param current {@link Collection} of {@link ResourceBundle}.
+     */
+    void retain(@NotNull Collection<ResourceBundle> current) {
+        Set<ResourceBundle> bundles = Collections.newSetFromMap(
+            new IdentityHashMap<ResourceBundle,Boolean>());
+
+        bundles.addAll(current);
+
+        synchronized (TEMPLATES) {
+            this.bundles = bundles;
+            retain(TEMPLATES.keySet(), bundles);
+        }
+
+        synchronized (COMPILED) {
+            retain(COMPILED.keySet(), bundles);
+        }
+    }
+
+    /**
+     * Remove the {@link Key} whose {@link ResourceBundle} is not in a
+     * {@link Set}.
+     * @param keys {@link Collection} of {@link Key}.
+     * @param bundles {@link Set} of {@link ResourceBundle}.
+     */
+    private static void retain(@NotNull Collection<Key> keys,
+                               @NotNull Set<ResourceBundle> bundles) {
+        for (Iterator<Key> iterator = keys.iterator(); iterator.hasNext();) {
+            if (!bundles.contains(iterator.next().BUNDLE)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all cached templates. Hit and miss counts are kept.
+     */
+    public void clear() {
+        synchronized (TEMPLATES) {
+            TEMPLATES.clear();
+        }
+
+        synchronized (COMPILED) {
+            COMPILED.clear();
+        }
+    }
+
+    /**
+     * Cache key for {@link #TEMPLATES} and {@link #COMPILED}. {@link ResourceBundle} is compared
+     * by identity.
+     */
+    private static final class Key {
+        @NotNull private final ResourceBundle BUNDLE;
+        @NotNull private final String PATTERN;
+        @Nullable private final Locale LOCALE;
+        private final int HASH;
+
+        Key(@NotNull ResourceBundle bundle,
+            @NotNull String pattern,
+            @Nullable Locale locale) {
+            BUNDLE = bundle;
+            PATTERN = pattern;
+            LOCALE = locale;
+
+            int hash = System.identityHashCode(bundle);
+            hash = 31 * hash + pattern.hashCode();
+            hash = 31 * hash + (HObjects.nonNull(locale) ? locale.hashCode() : 0);
+            HASH = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return HASH;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (o instanceof Key) {
+                Key key = (Key)o;
+
+                return key.BUNDLE == BUNDLE
+                    && key.HASH == HASH
+                    && key.PATTERN.equals(PATTERN)
+                    && (HObjects.isNull(LOCALE)
+                        ? HObjects.isNull(key.LOCALE)
+                        : LOCALE.equals(key.LOCALE));
+            } else {
+                return false;
+            }
+        }
+    }
+}
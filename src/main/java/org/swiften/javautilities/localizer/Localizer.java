@@ -1,42 +1,110 @@
 package org.swiften.javautilities.localizer;
 
 import org.jetbrains.annotations.Nullable;
-import org.reactivestreams.Publisher;
-import org.swiften.javautilities.collection.HIterables;
 import org.swiften.javautilities.object.HObjects;
 import org.swiften.javautilities.string.HStrings;
 import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
 import io.reactivex.functions.Function;
 import io.reactivex.functions.Predicate;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
+import org.swiften.javautilities.protocol.DelayProviderType;
+import org.swiften.javautilities.protocol.SchedulerProviderType;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created by haipham on 3/25/17.
  */
-public class Localizer implements LocalizerType {
+public class Localizer implements BatchLocalizerType {
     @NotNull
     @SuppressWarnings("WeakerAccess")
     public static Builder builder() {
         return new Builder();
     }
 
-    @NotNull private final List<ResourceBundle> BUNDLES;
+    /**
+     * {@link LCSnapshot} of the {@link ResourceBundle} to be used for
+     * localization, with their {@link LCRoutes} and {@link LCIndex}. This
+     * is replaced as a whole on {@link #reload()}, so every lookup should
+     * read it only once.
+     */
+    @NotNull private volatile LCSnapshot snapshot;
+
+    /**
+     * {@link List} of {@link LCSource} from which {@link #bundles()} were
+     * loaded, in the same order.
+     */
+    @NotNull private final List<LCSource> SOURCES;
+
+    /**
+     * The combined {@link LCSource#stamp()} of {@link #SOURCES} when
+     * {@link #bundles()} were last loaded.
+     */
+    @NotNull private final AtomicLong STAMP;
+
+    /**
+     * {@link List} of {@link LCLoadTime} recorded while {@link #SOURCES}
+     * were loaded by {@link Builder}, in the same order.
+     */
+    @NotNull private final List<LCLoadTime> LOAD_TIMES;
+
+    /**
+     * {@link LCTemplateCache} used to avoid re-parsing {@link MessageFormat}
+     * templates for {@link LCFormat} localization.
+     */
+    @NotNull private LCTemplateCache templates;
+
+    /**
+     * {@link LCResultCache} used to serve repeated {@link LCFormat}
+     * localization. This is disabled unless
+     * {@link Builder#withResultCacheSize(int)} is used.
+     */
+    @NotNull private LCResultCache results;
+
+    /**
+     * {@link LCMetricsType} to be notified of lookups. This is only
+     * available if {@link Builder#withMetrics(LCMetricsType)} is used.
+     */
+    @Nullable private LCMetricsType metrics;
+
+    /**
+     * Whether templates are rendered by compiled {@link LCTemplate} rather
+     * than {@link MessageFormat}.
+     * @see Builder#withCompiledTemplates(boolean)
+     */
+    private boolean compile;
+
+    /**
+     * Whether {@link #snapshot} should include a precompiled {@link LCIndex}.
+     * @see Builder#withPrecompiledIndex(boolean)
+     */
+    private boolean precompile;
 
     Localizer() {
-        BUNDLES = new ArrayList<ResourceBundle>();
+        SOURCES = new ArrayList<LCSource>();
+        STAMP = new AtomicLong();
+        LOAD_TIMES = new ArrayList<LCLoadTime>();
+        snapshot = LCSnapshot.of(new ArrayList<ResourceBundle>(), false);
+        templates = new LCTemplateCache(LCTemplateCache.DEFAULT_CAPACITY);
+        results = new LCResultCache(0);
     }
 
     //region Getters
     /**
-     * Get {@link #BUNDLES}.
+     * Get {@link List} of {@link ResourceBundle} from {@link #snapshot}.
      * @return {@link List} of {@link ResourceBundle}.
+     * @see LCSnapshot#bundles()
      */
     @NotNull
     List<ResourceBundle> bundles() {
-        return BUNDLES;
+        return snapshot.bundles();
     }
 
     /**
@@ -58,58 +126,237 @@ public class Localizer implements LocalizerType {
 
         return locales;
     }
+
+    /**
+     * Get {@link LCIndex} from {@link #snapshot}.
+     * @return {@link LCIndex} instance.
+     * @see LCSnapshot#index()
+     */
+    @Nullable
+    LCIndex index() {
+        return snapshot.index();
+    }
+
+    /**
+     * Get {@link #templates}.
+     * @return {@link LCTemplateCache} instance.
+     * @see #templates
+     */
+    @NotNull
+    public LCTemplateCache templateCache() {
+        return templates;
+    }
+
+    /**
+     * Get {@link #results}.
+     * @return {@link LCResultCache} instance.
+     * @see #results
+     */
+    @NotNull
+    public LCResultCache resultCache() {
+        return results;
+    }
+
+    /**
+     * Get {@link #LOAD_TIMES}.
+     * @return {@link List} of {@link LCLoadTime}.
+     * @see #LOAD_TIMES
+     */
+    @NotNull
+    public List<LCLoadTime> loadTimes() {
+        return Collections.unmodifiableList(LOAD_TIMES);
+    }
     //endregion
 
+    /**
+     * Recompute {@link #snapshot} from {@link #bundles()}.
+     * @see #publish(List)
+     */
+    void route() {
+        publish(bundles());
+    }
+
+    /**
+     * Build a {@link LCSnapshot} for {@link List} of {@link ResourceBundle}
+     * and swap it in with a single write.
+     * @param bundles {@link List} of {@link ResourceBundle}.
+     * @see LCSnapshot#of(List, boolean)
+     */
+    void publish(@NotNull List<ResourceBundle> bundles) {
+        LCSnapshot snapshot = LCSnapshot.of(bundles, precompile);
+        this.snapshot = snapshot;
+        templates.retain(bundles);
+        results.invalidate(snapshot.generation());
+    }
+
     /**
      * Get {@link Flowable} that emits {@link ResourceBundle} which match a
      * specific {@link Locale} instance.
-     * @param LC {@link Locale} instance.
+     * @param locale {@link Locale} instance.
      * @return {@link Flowable} instance.
+     * @see #resources(Locale)
+     */
+    @NotNull
+    Flowable<ResourceBundle> rxe_resources(@Nullable Locale locale) {
+        return Flowable.fromIterable(resources(locale));
+    }
+
+    /**
+     * Get {@link List} of {@link ResourceBundle} which match a specific
+     * {@link Locale} instance, including those along its fallback chain
+     * (e.g. pt_BR, then pt, then {@link Locale#ROOT}). If the
+     * {@link Locale} is null, all {@link ResourceBundle} are returned.
+     * @param locale {@link Locale} instance.
+     * @return {@link List} of {@link ResourceBundle}.
+     * @see LCRoutes#get(Locale)
      */
     @NotNull
-    Flowable<ResourceBundle> rxe_resources(@Nullable final Locale LC) {
-        return Flowable.fromIterable(bundles())
-            .filter(new Predicate<ResourceBundle>() {
+    List<ResourceBundle> resources(@Nullable Locale locale) {
+        return snapshot.routes().get(locale);
+    }
+
+    //region Reloading
+    /**
+     * Compute the combined {@link LCSource#stamp()} of {@link #SOURCES}.
+     * @return {@link Long} value.
+     */
+    private long stamp() {
+        long stamp = 17;
+
+        for (LCSource source : SOURCES) {
+            stamp = 31 * stamp + source.stamp();
+        }
+
+        return stamp;
+    }
+
+    /**
+     * Check whether any backing file of {@link #SOURCES} has changed since
+     * {@link #bundles()} were last loaded, and if so, {@link #reload()}.
+     * @return {@link Boolean} value indicating whether a reload happened.
+     * @see #stamp()
+     */
+    public boolean reloadIfModified() {
+        if (STAMP.get() != stamp()) {
+            reload();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Load all {@link ResourceBundle} from {@link #SOURCES} again, then
+     * rebuild their {@link LCRoutes} and {@link LCIndex} (if precompiled)
+     * and swap them in as one {@link LCSnapshot}. Lookups that are in
+     * progress keep using the previous {@link LCSnapshot}, so readers never
+     * block and never see routes and index from different reloads. A
+     * {@link LCSource} that can no longer be found is skipped.
+     * @see LCSource#load()
+     * @see #publish(List)
+     */
+    public synchronized void reload() {
+        STAMP.set(stamp());
+        List<ResourceBundle> bundles = new ArrayList<ResourceBundle>(SOURCES.size());
+
+        for (LCSource source : SOURCES) {
+            try {
+                bundles.add(source.load());
+            } catch (MissingResourceException e) {
+                /* The backing file has been removed, so we skip it */
+            }
+        }
+
+        publish(bundles);
+    }
+
+    /**
+     * Add a {@link ResourceBundle} after {@link Builder#build()}, and
+     * publish a new {@link LCSnapshot} with it.
+     * @param source {@link LCSource} of the {@link ResourceBundle}.
+     * @param bundle {@link ResourceBundle} instance.
+     * @param time {@link LCLoadTime} instance.
+     * @see #publish(List)
+     */
+    synchronized void append(@NotNull LCSource source,
+                             @NotNull ResourceBundle bundle,
+                             @NotNull LCLoadTime time) {
+        List<ResourceBundle> bundles = new ArrayList<ResourceBundle>(bundles());
+        bundles.add(bundle);
+        SOURCES.add(source);
+        LOAD_TIMES.add(time);
+
+        /* Same as stamp(), but without touching the other backing files,
+         * so that pending changes are still picked up by reloadIfModified */
+        STAMP.set(31 * STAMP.get() + source.stamp());
+        publish(bundles);
+    }
+
+    /**
+     * Periodically check whether the backing files of {@link #bundles()}
+     * have changed, and reload them if so. Checking and reloading happen on
+     * {@link SchedulerProviderType#scheduler()}, so lookups are never
+     * blocked. A failed check or reload is reported to
+     * {@link RxJavaPlugins#onError(Throwable)} and is retried on the next
+     * tick, so watching does not stop. Dispose of the subscription to stop
+     * watching.
+     * @param PARAM {@link P} instance that provides the polling interval.
+     *              The delay is clamped to at least 1.
+     * @param <P> Generics parameter.
+     * @return {@link Flowable} instance that emits true whenever a reload
+     * happens.
+     * @see #reloadIfModified()
+     */
+    @NotNull
+    public <P extends DelayProviderType & SchedulerProviderType>
+    Flowable<Boolean> rxa_reloadIfModified(@NotNull final P PARAM) {
+        long delay = Math.max(PARAM.delay(), 1);
+
+        return Flowable
+            .interval(delay, delay, PARAM.timeUnit(), PARAM.scheduler())
+            .onBackpressureDrop()
+            .map(new Function<Long,Boolean>() {
+                @NotNull
                 @Override
-                public boolean test(@NotNull ResourceBundle bundle) throws Exception {
-                    Locale lc = bundle.getLocale();
-                    return HObjects.isNull(LC, lc) || lc.equals(LC);
+                public Boolean apply(@NotNull Long tick) throws Exception {
+                    try {
+                        return reloadIfModified();
+                    } catch (Exception e) {
+                        RxJavaPlugins.onError(e);
+                        return false;
+                    }
+                }
+            })
+            .filter(new Predicate<Boolean>() {
+                @Override
+                public boolean test(@NotNull Boolean reloaded) throws Exception {
+                    return reloaded;
                 }
             });
     }
+    //endregion
 
     //region Simple localization
     /**
-     * Localize a text with the specified {@link #BUNDLES}.
+     * Localize a text with the specified {@link #bundles()}.
      * We can also specify {@link Locale} to filter out unnecessary
      * {@link ResourceBundle}.
      * @param TEXT The {@link String} to be localized.
-     * @param locale {@link Locale} instance.
+     * @param LOCALE {@link Locale} instance.
      * @return {@link Flowable} instance.
      * @see LocalizerType#rxa_localize(String, Locale)
-     * @see #rxa_getString(ResourceBundle, String)
-     * @see #rxe_resources(Locale)
+     * @see #localize(String, Locale)
      */
     @NotNull
     public Flowable<String> rxa_localize(@NotNull final String TEXT,
-                                         @Nullable Locale locale) {
-        return rxe_resources(locale)
-            .flatMap(new Function<ResourceBundle,Publisher<String>>() {
-                @NotNull
-                @Override
-                public Publisher<String> apply(@NotNull ResourceBundle bundle) throws Exception {
-                    return rxa_getString(bundle, TEXT);
-                }
-            })
-            .filter(new Predicate<String>() {
-                @Override
-                public boolean test(@NotNull String s) throws Exception {
-                    return HStrings.isNotNullOrEmpty(s);
-                }
-            })
-            .firstElement()
-            .toFlowable()
-            .defaultIfEmpty(TEXT);
+                                         @Nullable final Locale LOCALE) {
+        return Flowable.fromCallable(new Callable<String>() {
+            @NotNull
+            @Override
+            public String call() throws Exception {
+                return localize(TEXT, LOCALE);
+            }
+        });
     }
 
     /**
@@ -124,19 +371,94 @@ public class Localizer implements LocalizerType {
     }
 
     /**
-     * Same as above, but blocks.
+     * Same as above, but blocks. This method does not involve any
+     * {@link Flowable}, so it is safe to be called in tight loops.
      * @param text The {@link String} to be localized.
      * @param locale {@link Locale} instance.
      * @return {@link String} value.
      * @see HStrings#isNotNullOrEmpty(String)
-     * @see #rxa_localize(String, Locale)
+     * @see #findString(String, Locale)
      */
     @NotNull
     public String localize(@NotNull String text, @Nullable Locale locale) {
-        String result = rxa_localize(text, locale).blockingFirst();
+        LCMetricsType metrics = this.metrics;
+
+        if (HObjects.nonNull(metrics)) {
+            return localize(metrics, text, locale);
+        }
+
+        String result = findString(text, locale);
         return HStrings.isNotNullOrEmpty(result) ? result : text;
     }
 
+    /**
+     * Same as above, but reports the outcome and latency of the lookup to
+     * {@link LCMetricsType}. Whether a resolved text came from a fallback
+     * {@link Locale} is taken from the lookup itself: from the
+     * {@link ResourceBundle} that resolved it, or from
+     * {@link LCIndex.Table#isFallback(String)} if precompiled.
+     * @param metrics {@link LCMetricsType} instance.
+     * @param text The {@link String} to be localized.
+     * @param locale {@link Locale} instance.
+     * @return {@link String} value.
+     * @see #isFallback(ResourceBundle, Locale)
+     */
+    @NotNull
+    private String localize(@NotNull LCMetricsType metrics,
+                            @NotNull String text,
+                            @Nullable Locale locale) {
+        long start = System.nanoTime();
+        LCIndex index = snapshot.index();
+        LCIndex.Table table = null;
+        ResourceBundle source = null;
+        String result = null;
+
+        if (HObjects.nonNull(index)) {
+            table = index.lookup(locale);
+            result = table.get(text);
+        } else {
+            List<ResourceBundle> bundles = resources(locale);
+
+            for (int i = 0, size = bundles.size(); i < size; i++) {
+                ResourceBundle bundle = bundles.get(i);
+                result = findString(bundle, text);
+
+                if (HStrings.isNotNullOrEmpty(result)) {
+                    source = bundle;
+                    break;
+                }
+            }
+        }
+
+        long nanos = System.nanoTime() - start;
+
+        if (HStrings.isNullOrEmpty(result)) {
+            metrics.onMiss(locale, text, nanos);
+            return text;
+        } else if (HObjects.nonNull(table)
+            ? table.isFallback(text)
+            : HObjects.nonNull(source) && isFallback(source, locale)) {
+            metrics.onFallback(locale, nanos);
+        } else {
+            metrics.onHit(locale, nanos);
+        }
+
+        return result;
+    }
+
+    /**
+     * Check whether a {@link ResourceBundle} that resolved a text for a
+     * {@link Locale} is a fallback, i.e. its {@link Locale} is neither null
+     * nor the requested {@link Locale}.
+     * @param bundle {@link ResourceBundle} instance.
+     * @param locale {@link Locale} instance.
+     * @return {@link Boolean} value.
+     */
+    private boolean isFallback(@NotNull ResourceBundle bundle, @Nullable Locale locale) {
+        Locale lc = bundle.getLocale();
+        return HObjects.nonNull(locale) && HObjects.nonNull(lc) && !lc.equals(locale);
+    }
+
     /**
      * Same as above, but uses a default {@link Locale}.
      * @param text {@link String} value to be localized.
@@ -149,20 +471,62 @@ public class Localizer implements LocalizerType {
     }
 
     /**
-     * Acquire a localized text reactively. Return an empty {@link Flowable}
-     * if {@link Exception} is thrown.
+     * Find the localized value of a text, by probing {@link LCIndex} if it
+     * is available, or by looping through {@link #resources(Locale)}
+     * otherwise.
+     * The first {@link ResourceBundle} that has a non-empty value wins.
+     * @param text {@link String} value to be localized.
+     * @param locale {@link Locale} instance.
+     * @return {@link String} value, or null if the text cannot be localized.
+     * @see LCIndex#get(String, Locale)
+     * @see #findString(List, String)
+     */
+    @Nullable
+    private String findString(@NotNull String text, @Nullable Locale locale) {
+        LCIndex index = snapshot.index();
+
+        if (HObjects.nonNull(index)) {
+            return index.get(text, locale);
+        } else {
+            return findString(resources(locale), text);
+        }
+    }
+
+    /**
+     * Find the localized value of a text by looping through {@link List} of
+     * {@link ResourceBundle} that have already been filtered.
+     * @param bundles {@link List} of {@link ResourceBundle}.
+     * @param text {@link String} value to be localized.
+     * @return {@link String} value, or null if the text cannot be localized.
+     * @see #findString(ResourceBundle, String)
+     */
+    @Nullable
+    private String findString(@NotNull List<ResourceBundle> bundles,
+                              @NotNull String text) {
+        for (int i = 0, size = bundles.size(); i < size; i++) {
+            String result = findString(bundles.get(i), text);
+
+            if (HStrings.isNotNullOrEmpty(result)) {
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Acquire a localized text. Return null if {@link Exception} is thrown.
      * @param bundle {@link ResourceBundle} instance.
      * @param text {@link String} value to be localized.
-     * @return {@link Flowable} instance.
-     * @see #getString(MessageFormat, Object[])
+     * @return {@link String} value.
+     * @see #getString(ResourceBundle, String)
      */
-    @NotNull
-    @SuppressWarnings("WeakerAccess")
-    Flowable<String> rxa_getString(@NotNull ResourceBundle bundle, @NotNull String text) {
+    @Nullable
+    private String findString(@NotNull ResourceBundle bundle, @NotNull String text) {
         try {
-            return Flowable.just(getString(bundle, text));
+            return getString(bundle, text);
         } catch (Exception e) {
-            return Flowable.empty();
+            return null;
         }
     }
 
@@ -187,31 +551,18 @@ public class Localizer implements LocalizerType {
      * @param FORMAT {@link LCFormat} instance.
      * @param LOCALE {@link Locale} instance.
      * @return {@link Flowable} instance.
-     * @see #rxa_getString(ResourceBundle, String)
-     * @see #rxa_localize(LCFormat, Locale)
+     * @see #localize(LCFormat, Locale)
      */
     @NotNull
     public Flowable<String> rxa_localize(@NotNull final LCFormat FORMAT,
                                          @Nullable final Locale LOCALE) {
-        final Localizer THIS = this;
-
-        return rxe_resources(LOCALE)
-            .flatMap(new Function<ResourceBundle,Publisher<String>>() {
-                @NotNull
-                @Override
-                public Publisher<String> apply(@NotNull ResourceBundle bundle) throws Exception {
-                    return THIS.rxa_getString(bundle, FORMAT);
-                }
-            })
-            .filter(new Predicate<String>() {
-                @Override
-                public boolean test(@NotNull String s) throws Exception {
-                    return HStrings.isNotNullOrEmpty(s);
-                }
-            })
-            .firstElement()
-            .toFlowable()
-            .switchIfEmpty(rxa_localize(FORMAT.pattern(), LOCALE));
+        return Flowable.fromCallable(new Callable<String>() {
+            @NotNull
+            @Override
+            public String call() throws Exception {
+                return localize(FORMAT, LOCALE);
+            }
+        });
     }
 
     /**
@@ -226,17 +577,78 @@ public class Localizer implements LocalizerType {
     }
 
     /**
-     * Localize {@link String} using {@link LCFormat} instance.
+     * Localize {@link String} using {@link LCFormat} instance. If none of
+     * the {@link ResourceBundle} can format the {@link LCFormat}, fall back
+     * to localizing {@link LCFormat#pattern()}.
      * @param format {@link LCFormat} instance.
      * @param locale {@link Locale} instance.
      * @return {@link String} value.
-     * @see #rxa_localize(LCFormat, Locale)
+     * @see #findString(List, LCFormat)
+     * @see #localize(String, Locale)
      */
     @NotNull
     public String localize(@NotNull LCFormat format,
                            @Nullable Locale locale) {
-        String result = rxa_localize(format, locale).blockingFirst();
-        return HStrings.isNotNullOrEmpty(result) ? result : format.pattern();
+        LCMetricsType metrics = this.metrics;
+
+        if (HObjects.nonNull(metrics)) {
+            long start = System.nanoTime();
+            String result = localizeFormat(format, locale);
+            metrics.onFormat(locale, format.depth(), System.nanoTime() - start);
+            return result;
+        } else {
+            return localizeFormat(format, locale);
+        }
+    }
+
+    /**
+     * Same as above, but without reporting to {@link LCMetricsType}.
+     * @param format {@link LCFormat} instance.
+     * @param locale {@link Locale} instance.
+     * @return {@link String} value.
+     * @see #localize(LCFormat, Locale)
+     */
+    @NotNull
+    private String localizeFormat(@NotNull LCFormat format,
+                                  @Nullable Locale locale) {
+        LCResultCache results = this.results;
+
+        if (!results.isEnabled()) {
+            return formatOrFallback(format, locale);
+        }
+
+        /* The generation is read before formatting, so that a result
+         * formatted against a replaced snapshot is never cached as current */
+        long generation = snapshot.generation();
+        String result = results.get(format, locale, generation);
+
+        if (HObjects.isNull(result)) {
+            result = formatOrFallback(format, locale);
+            results.put(format, locale, result, generation);
+        }
+
+        return result;
+    }
+
+    /**
+     * Format a {@link LCFormat} with {@link #resources(Locale)}, or fall
+     * back to localizing {@link LCFormat#pattern()}.
+     * @param format {@link LCFormat} instance.
+     * @param locale {@link Locale} instance.
+     * @return {@link String} value.
+     * @see #findString(List, LCFormat)
+     * @see #localize(String, Locale)
+     */
+    @NotNull
+    private String formatOrFallback(@NotNull LCFormat format,
+                                    @Nullable Locale locale) {
+        String result = findString(resources(locale), format);
+
+        if (HStrings.isNotNullOrEmpty(result)) {
+            return result;
+        } else {
+            return localize(format.pattern(), locale);
+        }
     }
 
     /**
@@ -250,45 +662,85 @@ public class Localizer implements LocalizerType {
         return localize(format, null);
     }
 
+    /**
+     * Find the formatted value of a {@link LCFormat} by looping through
+     * {@link List} of {@link ResourceBundle} that have already been filtered.
+     * @param bundles {@link List} of {@link ResourceBundle}.
+     * @param format {@link LCFormat} instance.
+     * @return {@link String} value, or null if no value is found.
+     * @see #formatString(ResourceBundle, LCFormat)
+     */
+    @Nullable
+    private String findString(@NotNull List<ResourceBundle> bundles,
+                              @NotNull LCFormat format) {
+        for (int i = 0, size = bundles.size(); i < size; i++) {
+            String result = formatString(bundles.get(i), format);
+
+            if (HStrings.isNotNullOrEmpty(result)) {
+                return result;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Get a localized {@link String} using {@link LCFormat}.
-     * @param BUNDLE {@link ResourceBundle} instance.
-     * @param FORMAT {@link LCFormat} instance.
-     * @return {@link Flowable} instance.
+     * @param bundle {@link ResourceBundle} instance.
+     * @param format {@link LCFormat} instance.
+     * @return {@link String} value, or null if the template is not found.
      * @see ResourceBundle#getString(String)
-     * @see MessageFormat#setLocale(Locale)
-     * @see MessageFormat#applyPattern(String)
      * @see MessageFormat#format(Object)
-     * @see #rxa_getString(ResourceBundle, String)
-     * @see #getString(MessageFormat, Object[])
+     * @see #getTemplate(ResourceBundle, String)
+     * @see #formatArguments(Locale, LCFormat)
+     * @see #formatTemplate(ResourceBundle, String, String, Object[])
      */
-    @NotNull
+    @Nullable
     @SuppressWarnings("WeakerAccess")
-    Flowable<String> rxa_getString(@NotNull final ResourceBundle BUNDLE,
-                                   @NotNull final LCFormat FORMAT) {
-        final Locale LOCALE = BUNDLE.getLocale();
+    String formatString(@NotNull ResourceBundle bundle, @NotNull LCFormat format) {
+        String pattern = format.pattern();
+        String template = getTemplate(bundle, pattern);
 
-        return rxa_formatArguments(LOCALE, FORMAT).flatMap(new Function<Object[],Publisher<String>>() {
-            @NotNull
-            @Override
-            public Publisher<String> apply(@NotNull final Object[] ARGS) throws Exception {
-                return rxa_getTemplate(BUNDLE, FORMAT.pattern())
-                    .map(new Function<String, MessageFormat>() {
-                        @NotNull
-                        @Override
-                        public MessageFormat apply(@NotNull String s) throws Exception {
-                            return new MessageFormat(s, LOCALE);
-                        }
-                    })
-                    .flatMap(new Function<MessageFormat,Publisher<String>>() {
-                        @NotNull
-                        @Override
-                        public Publisher<String> apply(@NotNull MessageFormat mf) throws Exception {
-                            return rxa_getString(mf, ARGS);
-                        }
-                    });
+        if (HStrings.isNullOrEmpty(template)) {
+            return null;
+        }
+
+        Object[] args = formatArguments(bundle.getLocale(), format);
+        return formatTemplate(bundle, pattern, template, args);
+    }
+
+    /**
+     * Format a template acquired from a {@link ResourceBundle} with
+     * arguments that have already been localized. If
+     * {@link Builder#withCompiledTemplates(boolean)} is used, the template
+     * is rendered by a compiled {@link LCTemplate}, otherwise by a
+     * {@link MessageFormat}.
+     * @param bundle {@link ResourceBundle} instance.
+     * @param pattern {@link String} key used to acquire the template.
+     * @param template {@link String} template value.
+     * @param args {@link Object} Array.
+     * @return {@link String} value, or null if formatting fails.
+     * @see LCTemplateCache#template(ResourceBundle, String, String, Locale)
+     * @see LCTemplateCache#messageFormat(ResourceBundle, String, String, Locale)
+     * @see #getString(MessageFormat, Object[])
+     */
+    @Nullable
+    String formatTemplate(@NotNull ResourceBundle bundle,
+                          @NotNull String pattern,
+                          @NotNull String template,
+                          @NotNull Object[] args) {
+        Locale locale = bundle.getLocale();
+
+        try {
+            if (compile) {
+                return templates.template(bundle, pattern, template, locale).format(args);
+            } else {
+                MessageFormat mf = templates.messageFormat(bundle, pattern, template, locale);
+                return getString(mf, args);
             }
-        });
+        } catch (MissingResourceException e) {
+            return null;
+        }
     }
 
     /**
@@ -296,14 +748,13 @@ public class Localizer implements LocalizerType {
      * {@link MessageFormat#applyPattern(String)}.
      * @param bundle {@link ResourceBundle} instance.
      * @param pattern {@link String} value.
-     * @return {@link Flowable} instance.
+     * @return {@link String} value, or null if the template is not found.
      * @see MessageFormat#applyPattern(String)
-     * @see #rxa_getString(ResourceBundle, String)
+     * @see #findString(ResourceBundle, String)
      */
-    @NotNull
-    Flowable<String> rxa_getTemplate(@NotNull ResourceBundle bundle,
-                                     @NotNull String pattern) {
-        return rxa_getString(bundle, pattern);
+    @Nullable
+    String getTemplate(@NotNull ResourceBundle bundle, @NotNull String pattern) {
+        return findString(bundle, pattern);
     }
 
     /**
@@ -311,84 +762,151 @@ public class Localizer implements LocalizerType {
      * arguments.
      * @param format {@link LCFormat} instance.
      * @param args A Array of {@link Object}.
-     * @return {@link Flowable} instance.
-     * @see #getString(MessageFormat, Object[])
+     * @return {@link String} value.
      */
     @NotNull
     @SuppressWarnings("WeakerAccess")
-    Flowable<String> rxa_getString(@NotNull MessageFormat format,
-                                   @NotNull Object[] args) {
-        try {
-            return Flowable.just(getString(format, args));
-        } catch (MissingResourceException e) {
-            return Flowable.empty();
-        }
+    String getString(@NotNull MessageFormat format, @NotNull Object[] args) {
+        return format.format(args);
     }
 
     /**
-     * Get a localized {@link String} using an Array of {@link Object}
-     * arguments.
+     * Get the localization arguments from {@link LCFormat}. Each
+     * {@link String} argument is localized, and each nested
+     * {@link LCFormat} is localized like
+     * {@link #localize(LCFormat, Locale)}. Other arguments are left as they
+     * are.
+     * @param locale {@link Locale} instance.
      * @param format {@link LCFormat} instance.
-     * @param args A Array of {@link Object}.
-     * @return {@link String} value.
+     * @return {@link Object} Array.
+     * @see LCResolver#resolve(Locale, LCFormat)
      */
     @NotNull
     @SuppressWarnings("WeakerAccess")
-    String getString(@NotNull MessageFormat format, @NotNull Object[] args) {
-        return format.format(args);
+    Object[] formatArguments(@Nullable Locale locale, @NotNull LCFormat format) {
+        return new LCResolver(this).resolve(locale, format);
     }
+    //endregion
 
+    //region Batch localization
     /**
-     * Get the localization arguments from {@link LCFormat}. We
-     * need to individual prepare each {@link Object} argument in case it
-     * is {@link String} that needs localization, or a nested
-     * {@link LCFormat}.
+     * Localize {@link Collection} of {@link String} reactively.
+     * @param TEXTS {@link Collection} of {@link String}.
      * @param LOCALE {@link Locale} instance.
-     * @param format {@link LCFormat} instance.
      * @return {@link Flowable} instance.
-     * @see #rxa_prepareArgument(Locale, Object)
+     * @see #localizeTexts(Collection, Locale)
      */
     @NotNull
-    @SuppressWarnings("WeakerAccess")
-    Flowable<Object[]> rxa_formatArguments(@NotNull final Locale LOCALE,
-                                           @NotNull LCFormat format) {
-        return Flowable.fromArray(format.arguments())
-            .flatMap(new Function<Object,Publisher<?>>() {
-                @Override
-                public Publisher<?> apply(@NotNull Object o) throws Exception {
-                    return rxa_prepareArgument(LOCALE, o);
-                }
-            })
-            .toList()
-            .toFlowable()
-            .map(new Function<List<Object>,Object[]>() {
-                @Override
-                public Object[] apply(@NotNull List<Object> o) throws Exception {
-                    return HIterables.toArray(o);
-                }
-            });
+    public Flowable<List<String>> rxa_localizeTexts(@NotNull final Collection<String> TEXTS,
+                                                    @Nullable final Locale LOCALE) {
+        return Flowable.fromCallable(new Callable<List<String>>() {
+            @NotNull
+            @Override
+            public List<String> call() throws Exception {
+                return localizeTexts(TEXTS, LOCALE);
+            }
+        });
     }
 
     /**
-     * Individually prepare each {@link Object} argument to take care of
-     * {@link String} values or {@link LCFormat} instances that
-     * need to be localized as well.
+     * Localize {@link Collection} of {@link String}. The {@link ResourceBundle}
+     * for the {@link Locale} are resolved only once for all texts.
+     * @param texts {@link Collection} of {@link String}.
      * @param locale {@link Locale} instance.
-     * @param argument {@link Object} instance.
-     * @return {@link Flowable} instance.
-     * @see #rxa_localize(LCFormat, Locale)
-     * @see #rxa_localize(String, Locale)
+     * @return {@link List} of {@link String}.
+     * @see LCIndex#table(Locale)
+     * @see #resources(Locale)
+     * @see #findString(List, String)
      */
     @NotNull
-    @SuppressWarnings("WeakerAccess")
-    Flowable<?> rxa_prepareArgument(@NotNull Locale locale, @NotNull Object argument) {
-        if (argument instanceof LCFormat) {
-            return rxa_localize((LCFormat)argument, locale);
-        } else if (argument instanceof String) {
-            return rxa_localize((String)argument, locale);
+    public List<String> localizeTexts(@NotNull Collection<String> texts,
+                                      @Nullable Locale locale) {
+        List<String> results = new ArrayList<String>(texts.size());
+        LCMetricsType metrics = this.metrics;
+        LCIndex index = snapshot.index();
+
+        if (HObjects.nonNull(metrics)) {
+            /* Each text is timed individually when metrics are enabled */
+            for (String text : texts) {
+                results.add(localize(metrics, text, locale));
+            }
+        } else if (HObjects.nonNull(index)) {
+            Map<String,String> table = index.table(locale);
+
+            for (String text : texts) {
+                String result = table.get(text);
+                results.add(HObjects.nonNull(result) ? result : text);
+            }
         } else {
-            return Flowable.just(argument);
+            List<ResourceBundle> bundles = resources(locale);
+
+            for (String text : texts) {
+                String result = findString(bundles, text);
+                results.add(HStrings.isNotNullOrEmpty(result) ? result : text);
+            }
         }
+
+        return results;
+    }
+
+    /**
+     * Localize {@link Collection} of {@link LCFormat} reactively.
+     * @param FORMATS {@link Collection} of {@link LCFormat}.
+     * @param LOCALE {@link Locale} instance.
+     * @return {@link Flowable} instance.
+     * @see #localizeFormats(Collection, Locale)
+     */
+    @NotNull
+    public Flowable<List<String>> rxa_localizeFormats(@NotNull final Collection<LCFormat> FORMATS,
+                                                      @Nullable final Locale LOCALE) {
+        return Flowable.fromCallable(new Callable<List<String>>() {
+            @NotNull
+            @Override
+            public List<String> call() throws Exception {
+                return localizeFormats(FORMATS, LOCALE);
+            }
+        });
+    }
+
+    /**
+     * Localize {@link Collection} of {@link LCFormat}. The
+     * {@link ResourceBundle} for the {@link Locale} are resolved only once
+     * for all {@link LCFormat}.
+     * @param formats {@link Collection} of {@link LCFormat}.
+     * @param locale {@link Locale} instance.
+     * @return {@link List} of {@link String}.
+     * @see #resources(Locale)
+     * @see #findString(List, LCFormat)
+     * @see #localize(String, Locale)
+     */
+    @NotNull
+    public List<String> localizeFormats(@NotNull Collection<LCFormat> formats,
+                                        @Nullable Locale locale) {
+        List<String> results = new ArrayList<String>(formats.size());
+
+        if (HObjects.nonNull(metrics) || this.results.isEnabled()) {
+            /* Each format is timed or cached individually when metrics or
+             * the result cache are enabled */
+            for (LCFormat format : formats) {
+                results.add(localize(format, locale));
+            }
+
+            return results;
+        }
+
+        List<ResourceBundle> bundles = resources(locale);
+
+        for (LCFormat format : formats) {
+            String result = findString(bundles, format);
+
+            if (HStrings.isNotNullOrEmpty(result)) {
+                results.add(result);
+            } else {
+                results.add(localize(format.pattern(), locale));
+            }
+        }
+
+        return results;
     }
     //endregion
 
@@ -398,9 +916,29 @@ public class Localizer implements LocalizerType {
     @SuppressWarnings("WeakerAccess")
     public static final class Builder {
         @NotNull private final Localizer LOCALIZER;
+        @NotNull private final List<ResourceBundle> BUNDLES;
+        @Nullable private Executor executor;
+        private boolean built;
 
         Builder() {
             LOCALIZER = new Localizer();
+            BUNDLES = new ArrayList<ResourceBundle>();
+        }
+
+        /**
+         * Get the default {@link ClassLoader} to load {@link ResourceBundle}
+         * from.
+         * @return {@link ClassLoader} instance.
+         */
+        @NotNull
+        private ClassLoader defaultLoader() {
+            ClassLoader loader = Localizer.class.getClassLoader();
+
+            if (HObjects.isNull(loader)) {
+                loader = ClassLoader.getSystemClassLoader();
+            }
+
+            return loader;
         }
 
         /**
@@ -408,24 +946,348 @@ public class Localizer implements LocalizerType {
          * @param name The name of the {@link ResourceBundle}.
          * @param locale The {@link Locale} of the {@link ResourceBundle}.
          * @return {@link Builder} instance.
-         * @see #BUNDLES
+         * @see #addBundle(String, Locale, ClassLoader)
          */
         @NotNull
         public Builder addBundle(@NotNull String name, @NotNull Locale locale) {
-            List<String> prop = ResourceBundle.Control.FORMAT_PROPERTIES;
-            ResourceBundle.Control control = ResourceBundle.Control.getNoFallbackControl(prop);
-            ResourceBundle bundle = ResourceBundle.getBundle(name, locale, control);
+            return addBundle(name, locale, defaultLoader());
+        }
+
+        /**
+         * Add {@link ResourceBundle} from the classpath of a
+         * {@link ClassLoader}. If the properties files are backed by the
+         * file system, they can be reloaded with {@link Localizer#reload()}.
+         * @param name The name of the {@link ResourceBundle}.
+         * @param locale The {@link Locale} of the {@link ResourceBundle}.
+         * @param loader {@link ClassLoader} instance.
+         * @return {@link Builder} instance.
+         * @see LCSource#properties(String, Locale, ClassLoader)
+         * @see #addSource(LCSource)
+         */
+        @NotNull
+        public Builder addBundle(@NotNull String name,
+                                 @NotNull Locale locale,
+                                 @NotNull ClassLoader loader) {
+            return addSource(LCSource.properties(name, locale, loader));
+        }
+
+        /**
+         * Add a {@link ResourceBundle} for every combination of name and
+         * {@link Locale}.
+         * @param names {@link Collection} of {@link ResourceBundle} names.
+         * @param locales {@link Collection} of {@link Locale}.
+         * @return {@link Builder} instance.
+         * @see #addBundles(Collection, Collection, ClassLoader)
+         */
+        @NotNull
+        public Builder addBundles(@NotNull Collection<String> names,
+                                  @NotNull Collection<Locale> locales) {
+            return addBundles(names, locales, defaultLoader());
+        }
+
+        /**
+         * Add a {@link ResourceBundle} for every combination of name and
+         * {@link Locale}. The {@link ResourceBundle} are loaded and parsed
+         * in parallel, but are added in the same order as consecutive
+         * {@link #addBundle(String, Locale, ClassLoader)} calls would,
+         * i.e. all {@link Locale} of the first name, then all {@link Locale}
+         * of the second name, and so on.
+         * @param names {@link Collection} of {@link ResourceBundle} names.
+         * @param locales {@link Collection} of {@link Locale}.
+         * @param loader {@link ClassLoader} instance.
+         * @return {@link Builder} instance.
+         * @see #addSources(List)
+         * @see #withExecutor(Executor)
+         */
+        @NotNull
+        public Builder addBundles(@NotNull Collection<String> names,
+                                  @NotNull Collection<Locale> locales,
+                                  @NotNull ClassLoader loader) {
+            List<LCSource> sources = new ArrayList<LCSource>();
+
+            for (String name : names) {
+                for (Locale locale : locales) {
+                    sources.add(LCSource.properties(name, locale, loader));
+                }
+            }
+
+            return addSources(sources);
+        }
+
+        /**
+         * Add a catalog compiled with {@link LCCatalog}. The catalog is
+         * memory-mapped, so its keys and values do not live on the heap.
+         * Catalogs work best without {@link #withPrecompiledIndex(boolean)},
+         * which would copy all entries into the heap.
+         * @param file {@link File} instance.
+         * @return {@link Builder} instance.
+         * @see LCSource#catalog(File)
+         * @see #addSource(LCSource)
+         */
+        @NotNull
+        public Builder addCatalog(@NotNull File file) {
+            return addSource(LCSource.catalog(file));
+        }
+
+        /**
+         * Add translations from a {@link BundleSourceType}. Lookups read
+         * through a cache to {@link BundleSourceType#get(String, Locale)},
+         * while {@link BundleSourceType#getAll(Locale)} is prefetched in the
+         * background on {@link #executor}, or on
+         * {@link Schedulers#io()} if no {@link Executor} was given.
+         * @param source {@link BundleSourceType} instance.
+         * @param locale {@link Locale} of the translations.
+         * @return {@link Builder} instance.
+         * @see LCSource#external(BundleSourceType, Locale, Scheduler)
+         * @see #addSource(LCSource)
+         */
+        @NotNull
+        public Builder addBundleSource(@NotNull BundleSourceType source,
+                                       @NotNull Locale locale) {
+            Executor executor = this.executor;
+
+            Scheduler scheduler = HObjects.nonNull(executor)
+                ? Schedulers.from(executor)
+                : Schedulers.io();
+
+            return addSource(LCSource.external(source, locale, scheduler));
+        }
+
+        /**
+         * Load a {@link ResourceBundle} from {@link LCSource} and add it to
+         * {@link #BUNDLES}.
+         * @param source {@link LCSource} instance.
+         * @return {@link Builder} instance.
+         * @see #addSources(List)
+         */
+        @NotNull
+        Builder addSource(@NotNull LCSource source) {
+            return addSources(Collections.singletonList(source));
+        }
+
+        /**
+         * Load {@link ResourceBundle} from a {@link List} of
+         * {@link LCSource} and add them to {@link #BUNDLES}, recording the
+         * time each one takes. If there is more than one {@link LCSource},
+         * they are loaded on {@link #executor}, or on a temporary thread
+         * pool sized to the number of available processors if no
+         * {@link Executor} was given. The first failure (e.g. a
+         * {@link MissingResourceException}) is rethrown. An empty
+         * {@link List} does nothing.
+         * @param sources {@link List} of {@link LCSource}.
+         * @return {@link Builder} instance.
+         * @see #load(LCSource)
+         * @see #LOAD_TIMES
+         */
+        @NotNull
+        Builder addSources(@NotNull List<LCSource> sources) {
+            int count = sources.size();
+            Executor executor = this.executor;
+            ExecutorService pool = null;
+
+            if (count == 0) {
+                return this;
+            } else if (count == 1 && HObjects.isNull(executor)) {
+                return add(sources.get(0), load(sources.get(0)));
+            } else if (HObjects.isNull(executor)) {
+                int cores = Runtime.getRuntime().availableProcessors();
+                executor = pool = Executors.newFixedThreadPool(Math.min(cores, count));
+            }
+
+            List<Future<Loaded>> tasks = new ArrayList<Future<Loaded>>(count);
+
+            try {
+                for (final LCSource SOURCE : sources) {
+                    FutureTask<Loaded> task = new FutureTask<Loaded>(new Callable<Loaded>() {
+                        @NotNull
+                        @Override
+                        public Loaded call() throws Exception {
+                            return load(SOURCE);
+                        }
+                    });
+
+                    executor.execute(task);
+                    tasks.add(task);
+                }
+
+                for (int i = 0; i < count; i++) {
+                    add(sources.get(i), tasks.get(i).get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                } else if (cause instanceof Error) {
+                    throw (Error)cause;
+                } else {
+                    throw new RuntimeException(cause);
+                }
+            } finally {
+                if (HObjects.nonNull(pool)) {
+                    pool.shutdownNow();
+                }
+            }
+
+            return this;
+        }
+
+        /**
+         * Load a {@link ResourceBundle} from {@link LCSource} and time it.
+         * @param source {@link LCSource} instance.
+         * @return {@link Loaded} instance.
+         * @see LCSource#load()
+         */
+        @NotNull
+        private Loaded load(@NotNull LCSource source) {
+            long start = System.nanoTime();
+            ResourceBundle bundle = source.load();
+            long nanos = System.nanoTime() - start;
+            return new Loaded(bundle, new LCLoadTime(source.toString(), nanos));
+        }
 
-            if (HObjects.nonNull(bundle)) {
-                LOCALIZER.BUNDLES.add(bundle);
+        /**
+         * Add the result of {@link #load(LCSource)} to {@link #BUNDLES}. If
+         * {@link #build()} has already been called, the
+         * {@link ResourceBundle} is added to the built {@link Localizer}
+         * instead, so that its routes do not go stale.
+         * @param source {@link LCSource} instance.
+         * @param loaded {@link Loaded} instance.
+         * @return {@link Builder} instance.
+         * @see #SOURCES
+         * @see #LOAD_TIMES
+         * @see Localizer#append(LCSource, ResourceBundle, LCLoadTime)
+         */
+        @NotNull
+        private Builder add(@NotNull LCSource source, @NotNull Loaded loaded) {
+            if (built) {
+                LOCALIZER.append(source, loaded.BUNDLE, loaded.TIME);
+            } else if (HObjects.nonNull(loaded.BUNDLE)) {
+                BUNDLES.add(loaded.BUNDLE);
+                LOCALIZER.SOURCES.add(source);
+                LOCALIZER.LOAD_TIMES.add(loaded.TIME);
             }
 
             return this;
         }
 
+        /**
+         * Set the {@link Executor} on which
+         * {@link #addBundles(Collection, Collection, ClassLoader)} loads
+         * {@link ResourceBundle}, and on which
+         * {@link #addBundleSource(BundleSourceType, Locale)} prefetches
+         * translations. The {@link Executor} is not shut down by
+         * {@link Localizer}.
+         * @param executor {@link Executor} instance.
+         * @return {@link Builder} instance.
+         * @see #executor
+         */
+        @NotNull
+        public Builder withExecutor(@NotNull Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Set whether {@link #BUNDLES} should be flattened into a
+         * precompiled {@link LCIndex} upon {@link #build()}. This turns
+         * every simple lookup into a single hash probe, at the cost of
+         * eagerly reading all keys of every {@link ResourceBundle}.
+         * @param precompile {@link Boolean} value.
+         * @return {@link Builder} instance.
+         * @see LCSnapshot#of(List, boolean)
+         */
+        @NotNull
+        public Builder withPrecompiledIndex(boolean precompile) {
+            LOCALIZER.precompile = precompile;
+            return this;
+        }
+
+        /**
+         * Set the {@link LCMetricsType} to be notified of every lookup, e.g.
+         * {@link LCMetrics}. Lookups are not timed if this is not set.
+         * @param metrics {@link LCMetricsType} instance.
+         * @return {@link Builder} instance.
+         * @see Localizer#metrics
+         */
+        @NotNull
+        public Builder withMetrics(@NotNull LCMetricsType metrics) {
+            LOCALIZER.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of formatted {@link LCFormat} results to be
+         * cached, keyed by {@link LCFormat} and {@link Locale}. A
+         * non-positive value (the default) disables caching. Only enable
+         * this if {@link LCFormat} arguments are immutable, since a
+         * modified argument would change the cache key.
+         * @param capacity {@link Integer} value.
+         * @return {@link Builder} instance.
+         * @see LCResultCache
+         */
+        @NotNull
+        public Builder withResultCacheSize(int capacity) {
+            LOCALIZER.results = new LCResultCache(capacity);
+            return this;
+        }
+
+        /**
+         * Set whether templates should be compiled into {@link LCTemplate},
+         * which renders the common {0}, {0,number} and {0,date} subset
+         * several times faster than {@link MessageFormat} with the same
+         * output. Templates that use other syntax still fall back to
+         * {@link MessageFormat}.
+         * @param compile {@link Boolean} value.
+         * @return {@link Builder} instance.
+         * @see LCTemplate#compile(String, Locale)
+         */
+        @NotNull
+        public Builder withCompiledTemplates(boolean compile) {
+            LOCALIZER.compile = compile;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of parsed {@link MessageFormat} templates
+         * to be cached. A non-positive value disables caching.
+         * @param capacity {@link Integer} value.
+         * @return {@link Builder} instance.
+         * @see LCTemplateCache
+         */
+        @NotNull
+        public Builder withTemplateCacheSize(int capacity) {
+            LOCALIZER.templates = new LCTemplateCache(capacity);
+            LOCALIZER.templates.retain(LOCALIZER.bundles());
+            return this;
+        }
+
         @NotNull
         public Localizer build() {
+            if (!built) {
+                built = true;
+                LOCALIZER.STAMP.set(LOCALIZER.stamp());
+                LOCALIZER.publish(BUNDLES);
+            }
+
             return LOCALIZER;
         }
+
+        /**
+         * Holds a {@link ResourceBundle} loaded by {@link #load(LCSource)}
+         * together with its {@link LCLoadTime}.
+         */
+        private static final class Loaded {
+            @NotNull private final ResourceBundle BUNDLE;
+            @NotNull private final LCLoadTime TIME;
+
+            Loaded(@NotNull ResourceBundle bundle, @NotNull LCLoadTime time) {
+                BUNDLE = bundle;
+                TIME = time;
+            }
+        }
     }
 }
@@ -0,0 +1,87 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * {@link BundleSourceType} backed by in-memory {@link Map}, one for each
+ * {@link Locale}. Translations can be added at any time, but a
+ * {@link Localizer} only sees translations added after it was built once it
+ * is reloaded.
+ * @see Localizer#reload()
+ */
+public final class MapBundleSource implements BundleSourceType {
+    @NotNull private final ConcurrentMap<Locale,Map<String,String>> TRANSLATIONS;
+
+    public MapBundleSource() {
+        TRANSLATIONS = new ConcurrentHashMap<Locale,Map<String,String>>();
+    }
+
+    /**
+     * Add a translation.
+     * @param locale {@link Locale} instance.
+     * @param key {@link String} value.
+     * @param value {@link String} value.
+     * @return The current {@link MapBundleSource} instance.
+     */
+    @NotNull
+    public MapBundleSource put(@NotNull Locale locale,
+                               @NotNull String key,
+                               @NotNull String value) {
+        translations(locale).put(key, value);
+        return this;
+    }
+
+    /**
+     * Add all translations from a {@link Map}.
+     * @param locale {@link Locale} instance.
+     * @param translations {@link Map} of keys to translated {@link String}.
+     * @return The current {@link MapBundleSource} instance.
+     */
+    @NotNull
+    public MapBundleSource putAll(@NotNull Locale locale,
+                                  @NotNull Map<String,String> translations) {
+        translations(locale).putAll(translations);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public Map<String,String> getAll(@NotNull Locale locale) {
+        return new HashMap<String,String>(translations(locale));
+    }
+
+    @Nullable
+    @Override
+    public String get(@NotNull String key, @NotNull Locale locale) {
+        return translations(locale).get(key);
+    }
+
+    /**
+     * Get the {@link Map} of translations for a {@link Locale}, creating it
+     * if necessary.
+     * @param locale {@link Locale} instance.
+     * @return {@link Map} instance.
+     */
+    @NotNull
+    private Map<String,String> translations(@NotNull Locale locale) {
+        Map<String,String> translations = TRANSLATIONS.get(locale);
+
+        if (HObjects.isNull(translations)) {
+            translations = new ConcurrentHashMap<String,String>();
+            Map<String,String> existing = TRANSLATIONS.putIfAbsent(locale, translations);
+            return HObjects.nonNull(existing) ? existing : translations;
+        }
+
+        return translations;
+    }
+}
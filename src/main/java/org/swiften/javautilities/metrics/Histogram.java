@@ -0,0 +1,171 @@
+package org.swiften.javautilities.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Lock-free histogram of non-negative {@link Long} values with power-of-two
+ * buckets. Bucket 0 holds 0, and bucket n holds values in
+ * [2^(n - 1), 2^n). Like {@link StripedCounter}, each thread records into its
+ * own stripe, so recording is a single uncontended atomic increment. It is
+ * suitable for latencies in nanoseconds or for small counts such as depths.
+ */
+public final class Histogram {
+    /**
+     * Number of buckets in each stripe. This covers every non-negative
+     * {@link Long} value.
+     */
+    public static final int BUCKETS = 64;
+
+    /**
+     * Get the bucket that a value falls into.
+     * @param value {@link Long} value.
+     * @return {@link Integer} value.
+     */
+    public static int bucket(long value) {
+        return value <= 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+    }
+
+    /**
+     * Get the largest value that falls into a bucket.
+     * @param bucket {@link Integer} value.
+     * @return {@link Long} value.
+     */
+    public static long upperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    @NotNull private final AtomicLongArray CELLS;
+    @NotNull private final StripedCounter SUM;
+    private final int MASK;
+
+    public Histogram() {
+        this(StripedCounter.defaultStripes());
+    }
+
+    /**
+     * Create a {@link Histogram} with a number of stripes, which is rounded
+     * up to a power of two.
+     * @param stripes {@link Integer} value.
+     */
+    public Histogram(int stripes) {
+        int count = Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1);
+        CELLS = new AtomicLongArray(count * BUCKETS);
+        SUM = new StripedCounter(count);
+        MASK = count - 1;
+    }
+
+    /**
+     * Record a value. Negative values are recorded as 0.
+     * @param value {@link Long} value.
+     */
+    public void record(long value) {
+        long recorded = Math.max(value, 0);
+        CELLS.getAndIncrement(StripedCounter.stripe(MASK) * BUCKETS + bucket(recorded));
+        SUM.add(recorded);
+    }
+
+    /**
+     * Get the number of recorded values in a bucket.
+     * @param bucket {@link Integer} value.
+     * @return {@link Long} value.
+     * @see #bucket(long)
+     */
+    public long bucketCount(int bucket) {
+        long count = 0;
+
+        for (int i = bucket, length = CELLS.length(); i < length; i += BUCKETS) {
+            count += CELLS.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the number of recorded values.
+     * @return {@link Long} value.
+     */
+    public long count() {
+        long count = 0;
+
+        for (int i = 0, length = CELLS.length(); i < length; i++) {
+            count += CELLS.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the sum of recorded values.
+     * @return {@link Long} value.
+     */
+    public long sum() {
+        return SUM.sum();
+    }
+
+    /**
+     * Get the mean of recorded values.
+     * @return {@link Double} value, or 0 if nothing has been recorded.
+     */
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0 : (double)sum() / count;
+    }
+
+    /**
+     * Get an upper bound of the value at a percentile. Since values are
+     * bucketed, the result is accurate to within a factor of two.
+     * @param percentile {@link Double} value between 0 and 1.
+     * @return {@link Long} value, or 0 if nothing has been recorded.
+     * @see #upperBound(int)
+     */
+    public long percentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            total += (counts[i] = bucketCount(i));
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long)Math.ceil(Math.min(Math.max(percentile, 0), 1) * total);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+
+            if (seen >= rank && counts[i] > 0) {
+                return upperBound(i);
+            }
+        }
+
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Reset all buckets. Values that are recorded concurrently may or may
+     * not be lost.
+     */
+    public void reset() {
+        for (int i = 0, length = CELLS.length(); i < length; i++) {
+            CELLS.set(i, 0);
+        }
+
+        SUM.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "count: %d, mean: %.1f, p50: %d, p99: %d",
+            count(), mean(), percentile(0.5), percentile(0.99));
+    }
+}
@@ -0,0 +1,87 @@
+package org.swiften.javautilities.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * In-memory {@link MetricsRegistryType} that keeps every metric for as long
+ * as the registry lives.
+ */
+public final class MetricsRegistry implements MetricsRegistryType {
+    @NotNull private final ConcurrentMap<String,StripedCounter> COUNTERS;
+    @NotNull private final ConcurrentMap<String,Histogram> HISTOGRAMS;
+
+    public MetricsRegistry() {
+        COUNTERS = new ConcurrentHashMap<String,StripedCounter>();
+        HISTOGRAMS = new ConcurrentHashMap<String,Histogram>();
+    }
+
+    @NotNull
+    @Override
+    public StripedCounter counter(@NotNull String name) {
+        StripedCounter counter = COUNTERS.get(name);
+
+        if (HObjects.isNull(counter)) {
+            StripedCounter created = new StripedCounter();
+            counter = COUNTERS.putIfAbsent(name, created);
+            counter = HObjects.nonNull(counter) ? counter : created;
+        }
+
+        return counter;
+    }
+
+    @NotNull
+    @Override
+    public Histogram histogram(@NotNull String name) {
+        Histogram histogram = HISTOGRAMS.get(name);
+
+        if (HObjects.isNull(histogram)) {
+            Histogram created = new Histogram();
+            histogram = HISTOGRAMS.putIfAbsent(name, created);
+            histogram = HObjects.nonNull(histogram) ? histogram : created;
+        }
+
+        return histogram;
+    }
+
+    /**
+     * Get all {@link StripedCounter}, sorted by name.
+     * @return {@link Map} instance.
+     */
+    @NotNull
+    public Map<String,StripedCounter> counters() {
+        return Collections.unmodifiableMap(new TreeMap<String,StripedCounter>(COUNTERS));
+    }
+
+    /**
+     * Get all {@link Histogram}, sorted by name.
+     * @return {@link Map} instance.
+     */
+    @NotNull
+    public Map<String,Histogram> histograms() {
+        return Collections.unmodifiableMap(new TreeMap<String,Histogram>(HISTOGRAMS));
+    }
+
+    /**
+     * Reset all metrics. They stay registered.
+     */
+    public void reset() {
+        for (StripedCounter counter : COUNTERS.values()) {
+            counter.reset();
+        }
+
+        for (Histogram histogram : HISTOGRAMS.values()) {
+            histogram.reset();
+        }
+    }
+}
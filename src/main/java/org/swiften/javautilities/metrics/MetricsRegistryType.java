@@ -0,0 +1,30 @@
+package org.swiften.javautilities.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Registry of named metrics. Asking for the same name twice must return the
+ * same metric, so that callers can look metrics up once and keep them.
+ * Implementations must be thread-safe, and may e.g. export metrics to a
+ * monitoring system.
+ * @see MetricsRegistry
+ */
+public interface MetricsRegistryType {
+    /**
+     * Get or create a {@link StripedCounter}.
+     * @param name {@link String} value.
+     * @return {@link StripedCounter} instance.
+     */
+    @NotNull StripedCounter counter(@NotNull String name);
+
+    /**
+     * Get or create a {@link Histogram}.
+     * @param name {@link String} value.
+     * @return {@link Histogram} instance.
+     */
+    @NotNull Histogram histogram(@NotNull String name);
+}
@@ -0,0 +1,107 @@
+package org.swiften.javautilities.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Counter that spreads increments over several cells, so that threads
+ * incrementing concurrently rarely contend for the same cache line. Reading
+ * the counter sums all cells, so it is slower than incrementing and is
+ * only weakly consistent with concurrent increments.
+ */
+public final class StripedCounter {
+    /**
+     * Number of longs between two cells, so that each cell sits on its own
+     * 64-byte cache line.
+     */
+    private static final int PADDING = 8;
+
+    /**
+     * Get the number of stripes to be used by default, which is the
+     * smallest power of two that is not less than the number of available
+     * processors.
+     * @return {@link Integer} value.
+     */
+    static int defaultStripes() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Integer.highestOneBit(Math.max(cores, 1) * 2 - 1);
+    }
+
+    /**
+     * Get the stripe to be used by the current {@link Thread}.
+     * @param mask {@link Integer} mask, one less than the number of stripes.
+     * @return {@link Integer} value.
+     */
+    static int stripe(int mask) {
+        long id = Thread.currentThread().getId();
+        return (int)(id ^ (id >>> 16)) & mask;
+    }
+
+    @NotNull private final AtomicLongArray CELLS;
+    private final int MASK;
+
+    public StripedCounter() {
+        this(defaultStripes());
+    }
+
+    /**
+     * Create a {@link StripedCounter} with a number of stripes, which is
+     * rounded up to a power of two.
+     * @param stripes {@link Integer} value.
+     */
+    public StripedCounter(int stripes) {
+        int count = Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1);
+        CELLS = new AtomicLongArray(count * PADDING);
+        MASK = count - 1;
+    }
+
+    /**
+     * Increment the counter by one.
+     * @see #add(long)
+     */
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Add a value to the counter.
+     * @param value {@link Long} value.
+     */
+    public void add(long value) {
+        CELLS.getAndAdd(stripe(MASK) * PADDING, value);
+    }
+
+    /**
+     * Get the sum of all cells.
+     * @return {@link Long} value.
+     */
+    public long sum() {
+        long sum = 0;
+
+        for (int i = 0, length = CELLS.length(); i < length; i += PADDING) {
+            sum += CELLS.get(i);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Reset all cells to zero. Increments that happen concurrently may or
+     * may not be lost.
+     */
+    public void reset() {
+        for (int i = 0, length = CELLS.length(); i < length; i += PADDING) {
+            CELLS.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(sum());
+    }
+}
@@ -0,0 +1,25 @@
+package org.swiften.javautilities.protocol;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * This interface provides a delay that adapts between repetitions:
+ * {@link #delay()} is the shortest delay, which is multiplied by
+ * {@link #multiplier()} every time a repetition observes no change, up to
+ * {@link #maxDelay()}.
+ */
+public interface AdaptiveDelayProviderType extends DelayProviderType {
+    /**
+     * Get the longest delay.
+     * @return {@link Long} value.
+     */
+    long maxDelay();
+
+    /**
+     * Get the factor by which the delay grows.
+     * @return {@link Double} value.
+     */
+    double multiplier();
+}
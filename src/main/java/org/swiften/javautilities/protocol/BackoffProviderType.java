@@ -0,0 +1,21 @@
+package org.swiften.javautilities.protocol;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * This interface provides the delay before each retry, in addition to the
+ * retry count.
+ */
+public interface BackoffProviderType extends RetryProviderType, TimeUnitProviderType {
+    /**
+     * Get the delay before a retry.
+     * @param attempt {@link Integer} value of the retry attempt, starting
+     *                at 1.
+     * @param previous {@link Long} value of the delay before the previous
+     *                 retry, or 0 for the first retry.
+     * @return {@link Long} value.
+     */
+    long backoff(int attempt, long previous);
+}
@@ -0,0 +1,216 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Publisher;
+import org.swiften.javautilities.protocol.AdaptiveDelayProviderType;
+import org.swiften.javautilities.protocol.SchedulerProviderType;
+import org.swiften.javautilities.util.Constants;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Default {@link AdaptiveDelayProviderType} for
+ * {@link HReactives#doWhile(Flowable, Flowable, Publisher, AdaptiveDelayProviderType)}.
+ * A poll observes a change if the last item it emits differs from the last
+ * item emitted so far. The delay before the next poll snaps back to
+ * {@link #delay()} after a change, and otherwise grows by
+ * {@link #multiplier()} up to {@link #maxDelay()}. Unlike other
+ * {@link AdaptiveDelayProviderType}, this also counts polls and changes;
+ * counters are shared by every subscription that uses this
+ * {@link AdaptivePolling}.
+ */
+public final class AdaptivePolling implements AdaptiveDelayProviderType, SchedulerProviderType {
+    /**
+     * Get {@link Builder} instance.
+     * @return {@link Builder} instance.
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @NotNull private final AtomicLong POLLS;
+    @NotNull private final AtomicLong CHANGES;
+    @NotNull private TimeUnit unit;
+    @NotNull private Scheduler scheduler;
+    private double multiplier;
+    private long delay;
+    private long maxDelay;
+
+    AdaptivePolling() {
+        POLLS = new AtomicLong();
+        CHANGES = new AtomicLong();
+        delay = Constants.DEFAULT_DELAY;
+        maxDelay = Constants.DEFAULT_DELAY;
+        multiplier = 2;
+        unit = Constants.DEFAULT_TIME_UNIT;
+        scheduler = Constants.DEFAULT_SCHEDULER;
+    }
+
+    /**
+     * Override this method to provide default implementation.
+     * @return {@link Long} value.
+     * @see AdaptiveDelayProviderType#delay()
+     */
+    @Override
+    public long delay() {
+        return delay;
+    }
+
+    /**
+     * Override this method to provide default implementation.
+     * @return {@link Long} value.
+     * @see AdaptiveDelayProviderType#maxDelay()
+     */
+    @Override
+    public long maxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Override this method to provide default implementation.
+     * @return {@link Double} value.
+     * @see AdaptiveDelayProviderType#multiplier()
+     */
+    @Override
+    public double multiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Override this method to provide default implementation.
+     * @return {@link TimeUnit} instance.
+     * @see AdaptiveDelayProviderType#timeUnit()
+     */
+    @NotNull
+    @Override
+    public TimeUnit timeUnit() {
+        return unit;
+    }
+
+    /**
+     * Override this method to provide default implementation.
+     * @return {@link Scheduler} instance.
+     * @see SchedulerProviderType#scheduler()
+     */
+    @NotNull
+    @Override
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    //region Getters
+    /**
+     * Get the number of polls performed.
+     * @return {@link Long} value.
+     */
+    public long pollCount() {
+        return POLLS.get();
+    }
+
+    /**
+     * Get the number of polls that observed a change.
+     * @return {@link Long} value.
+     */
+    public long changeCount() {
+        return CHANGES.get();
+    }
+    //endregion
+
+    /**
+     * Record a poll.
+     * @param changed {@link Boolean} value indicating whether the poll
+     *                observed a change.
+     */
+    void record(boolean changed) {
+        POLLS.incrementAndGet();
+
+        if (changed) {
+            CHANGES.incrementAndGet();
+        }
+    }
+
+    /**
+     * Builder class for {@link AdaptivePolling}.
+     */
+    public static final class Builder {
+        @NotNull private final AdaptivePolling POLLING;
+
+        Builder() {
+            POLLING = new AdaptivePolling();
+        }
+
+        /**
+         * Set {@link #delay}, the shortest delay.
+         * @param delay {@link Long} value.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withDelay(long delay) {
+            POLLING.delay = Math.max(delay, 0);
+            return this;
+        }
+
+        /**
+         * Set {@link #maxDelay}.
+         * @param maxDelay {@link Long} value.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withMaxDelay(long maxDelay) {
+            POLLING.maxDelay = Math.max(maxDelay, 0);
+            return this;
+        }
+
+        /**
+         * Set {@link #multiplier}.
+         * @param multiplier {@link Double} value.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withMultiplier(double multiplier) {
+            POLLING.multiplier = Math.max(multiplier, 1);
+            return this;
+        }
+
+        /**
+         * Set {@link #unit}.
+         * @param unit {@link TimeUnit} instance.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withTimeUnit(@NotNull TimeUnit unit) {
+            POLLING.unit = unit;
+            return this;
+        }
+
+        /**
+         * Set {@link #scheduler}.
+         * @param scheduler {@link Scheduler} instance.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withScheduler(@NotNull Scheduler scheduler) {
+            POLLING.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Get {@link #POLLING}. {@link #maxDelay} is raised to
+         * {@link #delay} if it is shorter.
+         * @return {@link AdaptivePolling} instance.
+         */
+        @NotNull
+        public AdaptivePolling build() {
+            POLLING.maxDelay = Math.max(POLLING.maxDelay, POLLING.delay);
+            return POLLING;
+        }
+    }
+}
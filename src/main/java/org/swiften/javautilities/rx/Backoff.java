@@ -0,0 +1,263 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Scheduler;
+import org.jetbrains.annotations.NotNull;
+import org.swiften.javautilities.protocol.BackoffProviderType;
+import org.swiften.javautilities.protocol.SchedulerProviderType;
+import org.swiften.javautilities.util.Constants;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Backoff policy for
+ * {@link HReactives#delayRetry(BackoffProviderType, RetryBudget)} and
+ * {@link HReactives#retryWhile(io.reactivex.functions.Function, BackoffProviderType, RetryBudget)}.
+ * The delay grows from {@link #base} by {@link #multiplier} with every
+ * retry, and never exceeds {@link #cap}. Jitter may be added so that
+ * clients that failed together do not retry together.
+ */
+public final class Backoff implements BackoffProviderType, SchedulerProviderType {
+    /**
+     * Get {@link Builder} instance.
+     * @return {@link Builder} instance.
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static final int JITTER_NONE = 0;
+    private static final int JITTER_FULL = 1;
+    private static final int JITTER_DECORRELATED = 2;
+
+    /**
+     * Shared {@link Random} for jitter. {@link Random} is thread-safe, and
+     * jitter is only computed once per retry, so contention is negligible.
+     */
+    @NotNull private static final Random RANDOM = new Random();
+
+    @NotNull private TimeUnit unit;
+    @NotNull private Scheduler scheduler;
+    private double multiplier;
+    private long base;
+    private long cap;
+    private int retries;
+    private int jitter;
+
+    Backoff() {
+        base = Constants.DEFAULT_DELAY;
+        cap = Long.MAX_VALUE;
+        multiplier = 2;
+        retries = Constants.DEFAULT_RETRIES;
+        unit = Constants.DEFAULT_TIME_UNIT;
+        scheduler = Constants.DEFAULT_SCHEDULER;
+        jitter = JITTER_NONE;
+    }
+
+    /**
+     * Override this method to provide default implementation.
+     * @return {@link Integer} value.
+     * @see BackoffProviderType#retries()
+     */
+    @Override
+    public int retries() {
+        return retries;
+    }
+
+    /**
+     * Override this method to provide default implementation.
+     * @return {@link TimeUnit} instance.
+     * @see BackoffProviderType#timeUnit()
+     */
+    @NotNull
+    @Override
+    public TimeUnit timeUnit() {
+        return unit;
+    }
+
+    /**
+     * Override this method to provide default implementation.
+     * @return {@link Scheduler} instance.
+     * @see SchedulerProviderType#scheduler()
+     */
+    @NotNull
+    @Override
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Override this method to provide default implementation. Without
+     * jitter, the delay is {@link #base} times {@link #multiplier} to the
+     * power of the attempt minus 1. With full jitter, the delay is random
+     * between 0 and that value. With decorrelated jitter, the delay is
+     * random between {@link #base} and three times the previous delay.
+     * @param attempt {@link Integer} value.
+     * @param previous {@link Long} value.
+     * @return {@link Long} value.
+     * @see BackoffProviderType#backoff(int, long)
+     */
+    @Override
+    public long backoff(int attempt, long previous) {
+        long delay;
+
+        switch (jitter) {
+            case JITTER_DECORRELATED:
+                long upper = Math.max(previous, base) * 3;
+                delay = random(base, upper < 0 ? Long.MAX_VALUE : upper);
+                break;
+
+            case JITTER_FULL:
+                delay = random(0, exponential(attempt));
+                break;
+
+            default:
+                delay = exponential(attempt);
+                break;
+        }
+
+        return Math.min(delay, cap);
+    }
+
+    /**
+     * Get {@link #base} times {@link #multiplier} to the power of the
+     * attempt minus 1, capped at {@link #cap}.
+     * @param attempt {@link Integer} value.
+     * @return {@link Long} value.
+     */
+    private long exponential(int attempt) {
+        double delay = base * Math.pow(multiplier, Math.max(attempt - 1, 0));
+        return delay >= cap ? cap : (long)delay;
+    }
+
+    /**
+     * Get a random {@link Long} between two non-negative bounds, inclusive
+     * (unless the upper bound is {@link Long#MAX_VALUE}). The modulo bias
+     * is negligible for delays.
+     * @param from {@link Long} value.
+     * @param to {@link Long} value.
+     * @return {@link Long} value.
+     * @see #RANDOM
+     */
+    private long random(long from, long to) {
+        if (to <= from) {
+            return from;
+        }
+
+        long range = to == Long.MAX_VALUE ? to - from : to - from + 1;
+        return from + (RANDOM.nextLong() & Long.MAX_VALUE) % range;
+    }
+
+    /**
+     * Builder class for {@link Backoff}.
+     */
+    public static final class Builder {
+        @NotNull private final Backoff BACKOFF;
+
+        Builder() {
+            BACKOFF = new Backoff();
+        }
+
+        /**
+         * Set {@link #base}.
+         * @param base {@link Long} value of the delay before the first
+         *             retry.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withBase(long base) {
+            BACKOFF.base = Math.max(base, 0);
+            return this;
+        }
+
+        /**
+         * Set {@link #cap}.
+         * @param cap {@link Long} value of the maximum delay.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withCap(long cap) {
+            BACKOFF.cap = Math.max(cap, 0);
+            return this;
+        }
+
+        /**
+         * Set {@link #multiplier}. Use 1 for a constant delay.
+         * @param multiplier {@link Double} value.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withMultiplier(double multiplier) {
+            BACKOFF.multiplier = Math.max(multiplier, 1);
+            return this;
+        }
+
+        /**
+         * Set {@link #retries}.
+         * @param retries {@link Integer} value.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withRetries(int retries) {
+            BACKOFF.retries = Math.max(retries, 0);
+            return this;
+        }
+
+        /**
+         * Set {@link #unit}.
+         * @param unit {@link TimeUnit} instance.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withTimeUnit(@NotNull TimeUnit unit) {
+            BACKOFF.unit = unit;
+            return this;
+        }
+
+        /**
+         * Set {@link #scheduler}.
+         * @param scheduler {@link Scheduler} instance.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withScheduler(@NotNull Scheduler scheduler) {
+            BACKOFF.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Randomize each delay between 0 and the exponential delay.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withFullJitter() {
+            BACKOFF.jitter = JITTER_FULL;
+            return this;
+        }
+
+        /**
+         * Randomize each delay between {@link #base} and three times the
+         * previous delay. {@link #multiplier} is not used.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withDecorrelatedJitter() {
+            BACKOFF.jitter = JITTER_DECORRELATED;
+            return this;
+        }
+
+        /**
+         * Get {@link #BACKOFF}.
+         * @return {@link Backoff} instance.
+         */
+        @NotNull
+        public Backoff build() {
+            return BACKOFF;
+        }
+    }
+}
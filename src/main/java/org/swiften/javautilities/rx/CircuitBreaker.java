@@ -0,0 +1,610 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableTransformer;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.swiften.javautilities.object.HObjects;
+import org.swiften.javautilities.util.Constants;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Circuit breaker that can be applied to {@link Flowable} with
+ * {@link Flowable#compose(FlowableTransformer)}. Every subscription counts
+ * as a call, which succeeds on completion and fails on error.
+ *
+ * While {@link #CLOSED}, outcomes are recorded in a rolling window of the
+ * most recent calls. Once enough calls have been recorded and either the
+ * failure rate or the slow call rate reaches its threshold, the breaker
+ * becomes {@link #OPEN} and rejects calls with {@link OpenException}
+ * without subscribing upstream. After the open duration, it becomes
+ * {@link #HALF_OPEN} and lets a few trial calls through: if they all
+ * succeed in time it closes again, otherwise it opens again.
+ *
+ * State is kept in a single {@link AtomicReference}, so transitions are
+ * lock-free.
+ */
+public final class CircuitBreaker {
+    /**
+     * Calls go through and outcomes are recorded.
+     */
+    public static final int CLOSED = 0;
+
+    /**
+     * Calls are rejected.
+     */
+    public static final int OPEN = 1;
+
+    /**
+     * A limited number of trial calls go through.
+     */
+    public static final int HALF_OPEN = 2;
+
+    /**
+     * Get {@link Builder} instance.
+     * @return {@link Builder} instance.
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @NotNull private final AtomicReference<State> STATE;
+    @NotNull private Window window;
+    @NotNull private Scheduler scheduler;
+    @Nullable private CircuitBreakerListenerType listener;
+    private double failureRate;
+    private double slowCallRate;
+    private long slowCallNanos;
+    private long openNanos;
+    private int windowSize;
+    private int minimumCalls;
+    private int trialCalls;
+
+    CircuitBreaker() {
+        STATE = new AtomicReference<State>(State.closed(0));
+        scheduler = Constants.DEFAULT_SCHEDULER;
+        failureRate = 0.5;
+        slowCallRate = 1;
+        slowCallNanos = Long.MAX_VALUE;
+        openNanos = TimeUnit.SECONDS.toNanos(60);
+        windowSize = 100;
+        minimumCalls = 10;
+        trialCalls = 5;
+        window = new Window(windowSize);
+    }
+
+    //region Getters
+    /**
+     * Get the current state. This does not move an expired {@link #OPEN}
+     * state to {@link #HALF_OPEN}; that only happens when a call is made.
+     * @return {@link Integer} value.
+     * @see #CLOSED
+     * @see #OPEN
+     * @see #HALF_OPEN
+     */
+    public int state() {
+        return STATE.get().KIND;
+    }
+
+    /**
+     * Get the number of calls in the rolling window.
+     * @return {@link Integer} value.
+     */
+    public int callCount() {
+        return window.calls();
+    }
+
+    /**
+     * Get the number of failed calls in the rolling window.
+     * @return {@link Integer} value.
+     */
+    public int failureCount() {
+        return window.failures();
+    }
+
+    /**
+     * Get the number of slow calls in the rolling window.
+     * @return {@link Integer} value.
+     */
+    public int slowCallCount() {
+        return window.slowCalls();
+    }
+    //endregion
+
+    /**
+     * Get a {@link FlowableTransformer} that sends every subscription
+     * through this {@link CircuitBreaker}. Cancelled subscriptions are not
+     * recorded.
+     * @param <T> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     */
+    @NotNull
+    public <T> FlowableTransformer<T,T> transformer() {
+        return new FlowableTransformer<T,T>() {
+            @NotNull
+            @Override
+            public Publisher<T> apply(@NotNull final Flowable<T> SOURCE) {
+                return Flowable.defer(new Callable<Publisher<T>>() {
+                    @NotNull
+                    @Override
+                    public Publisher<T> call() throws Exception {
+                        return subscribe(SOURCE);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Make a call if the current state allows.
+     * @param source {@link Flowable} instance.
+     * @param <T> Generics parameter.
+     * @return {@link Flowable} instance.
+     * @see #tryAcquire(long)
+     */
+    @NotNull
+    private <T> Flowable<T> subscribe(@NotNull Flowable<T> source) {
+        final long START = now();
+        final long TICKET = tryAcquire(START);
+
+        if (TICKET < 0) {
+            if (HObjects.nonNull(listener)) {
+                listener.onRejected((int)-TICKET);
+            }
+
+            return Flowable.error(new OpenException());
+        }
+
+        final AtomicBoolean DONE = new AtomicBoolean();
+
+        return source
+            .doOnComplete(new Action() {
+                @Override
+                public void run() throws Exception {
+                    if (DONE.compareAndSet(false, true)) {
+                        onSuccess(TICKET, now() - START);
+                    }
+                }
+            })
+            .doOnError(new Consumer<Throwable>() {
+                @Override
+                public void accept(@NotNull Throwable t) throws Exception {
+                    if (DONE.compareAndSet(false, true)) {
+                        onFailure(TICKET, t, now() - START);
+                    }
+                }
+            })
+            .doOnCancel(new Action() {
+                @Override
+                public void run() throws Exception {
+                    if (DONE.compareAndSet(false, true)) {
+                        release(TICKET);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Check whether a call may go ahead, moving from {@link #OPEN} to
+     * {@link #HALF_OPEN} if the open duration has passed.
+     * @param now {@link Long} value of the current time in nanoseconds.
+     * @return {@link Long} ticket of the call: 0 if it was let through
+     * while {@link #CLOSED}, the trial period if it took a trial permit,
+     * or the negated state that rejected it.
+     */
+    private long tryAcquire(long now) {
+        while (true) {
+            State state = STATE.get();
+
+            switch (state.KIND) {
+                case CLOSED:
+                    return 0;
+
+                case OPEN:
+                    if (now - state.OPENED_AT < openNanos) {
+                        return -OPEN;
+                    }
+
+                    State trial = State.halfOpen(state.TRIAL + 1, trialCalls - 1, 0);
+
+                    if (transition(state, trial)) {
+                        return trial.TRIAL;
+                    }
+
+                    break;
+
+                default:
+                    if (state.PERMITS <= 0) {
+                        return -HALF_OPEN;
+                    }
+
+                    State next = State.halfOpen(state.TRIAL, state.PERMITS - 1, state.SUCCESSES);
+
+                    if (STATE.compareAndSet(state, next)) {
+                        return state.TRIAL;
+                    }
+
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Return the trial permit of a call that was cancelled, if it took one
+     * in the current trial period.
+     * @param ticket {@link Long} value returned by {@link #tryAcquire(long)}.
+     */
+    private void release(long ticket) {
+        while (true) {
+            State state = STATE.get();
+
+            if (state.KIND != HALF_OPEN || state.TRIAL != ticket) {
+                return;
+            }
+
+            State next = State.halfOpen(state.TRIAL, state.PERMITS + 1, state.SUCCESSES);
+
+            if (STATE.compareAndSet(state, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Record a successful call.
+     * @param ticket {@link Long} value returned by {@link #tryAcquire(long)}.
+     * @param nanos {@link Long} value of the call duration.
+     */
+    private void onSuccess(long ticket, long nanos) {
+        boolean slow = nanos >= slowCallNanos;
+
+        if (HObjects.nonNull(listener)) {
+            listener.onSuccess(nanos, slow);
+        }
+
+        record(ticket, false, slow);
+    }
+
+    /**
+     * Record a failed call.
+     * @param ticket {@link Long} value returned by {@link #tryAcquire(long)}.
+     * @param error {@link Throwable} instance.
+     * @param nanos {@link Long} value of the call duration.
+     */
+    private void onFailure(long ticket, @NotNull Throwable error, long nanos) {
+        if (HObjects.nonNull(listener)) {
+            listener.onFailure(error, nanos);
+        }
+
+        record(ticket, true, nanos >= slowCallNanos);
+    }
+
+    /**
+     * Record the outcome of a call and change state if needed. Only calls
+     * that took a trial permit in the current trial period count towards
+     * {@link #HALF_OPEN}; calls that were let through earlier do not.
+     * @param ticket {@link Long} value returned by {@link #tryAcquire(long)}.
+     * @param failed {@link Boolean} value.
+     * @param slow {@link Boolean} value.
+     */
+    private void record(long ticket, boolean failed, boolean slow) {
+        while (true) {
+            State state = STATE.get();
+
+            switch (state.KIND) {
+                case CLOSED:
+                    window.record(failed, slow);
+
+                    if (isTripped() && transition(state, State.open(state.TRIAL, now()))) {
+                        window.reset();
+                    }
+
+                    return;
+
+                case HALF_OPEN:
+                    if (state.TRIAL != ticket) {
+                        return;
+                    }
+
+                    State next;
+
+                    if (failed || slow) {
+                        next = State.open(state.TRIAL, now());
+                    } else if (state.SUCCESSES + 1 >= trialCalls) {
+                        next = State.closed(state.TRIAL);
+                    } else {
+                        next = State.halfOpen(state.TRIAL, state.PERMITS, state.SUCCESSES + 1);
+                    }
+
+                    if (transition(state, next)) {
+                        if (next.KIND == CLOSED) {
+                            window.reset();
+                        }
+
+                        return;
+                    }
+
+                    break;
+
+                default:
+                    /* Calls that started before the breaker opened do not
+                     * count */
+                    return;
+            }
+        }
+    }
+
+    /**
+     * Check whether the rolling window has reached a threshold.
+     * @return {@link Boolean} value.
+     */
+    private boolean isTripped() {
+        int calls = window.calls();
+
+        if (calls < minimumCalls || calls == 0) {
+            return false;
+        }
+
+        return (double)window.failures() / calls >= failureRate
+            || (double)window.slowCalls() / calls >= slowCallRate;
+    }
+
+    /**
+     * Move from one {@link State} to another, notifying
+     * {@link #listener} if the kind changes.
+     * @param from {@link State} instance.
+     * @param to {@link State} instance.
+     * @return {@link Boolean} value indicating whether the transition
+     * happened.
+     */
+    private boolean transition(@NotNull State from, @NotNull State to) {
+        if (!STATE.compareAndSet(from, to)) {
+            return false;
+        }
+
+        if (HObjects.nonNull(listener) && from.KIND != to.KIND) {
+            listener.onStateChange(from.KIND, to.KIND);
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the current time of {@link #scheduler}.
+     * @return {@link Long} value in nanoseconds.
+     */
+    private long now() {
+        return scheduler.now(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Error emitted for calls rejected by an open {@link CircuitBreaker}.
+     */
+    public static final class OpenException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        OpenException() {
+            super("Circuit breaker is open");
+        }
+    }
+
+    /**
+     * Immutable state of a {@link CircuitBreaker}. {@link #TRIAL} numbers
+     * the trial periods, so that the outcome of a call can be matched
+     * against the period it took its permit in.
+     */
+    private static final class State {
+        @NotNull
+        static State closed(long trial) {
+            return new State(CLOSED, trial, 0, 0, 0);
+        }
+
+        @NotNull
+        static State open(long trial, long openedAt) {
+            return new State(OPEN, trial, openedAt, 0, 0);
+        }
+
+        @NotNull
+        static State halfOpen(long trial, int permits, int successes) {
+            return new State(HALF_OPEN, trial, 0, permits, successes);
+        }
+
+        private final int KIND;
+        private final long TRIAL;
+        private final long OPENED_AT;
+        private final int PERMITS;
+        private final int SUCCESSES;
+
+        State(int kind, long trial, long openedAt, int permits, int successes) {
+            KIND = kind;
+            TRIAL = trial;
+            OPENED_AT = openedAt;
+            PERMITS = permits;
+            SUCCESSES = successes;
+        }
+    }
+
+    /**
+     * Rolling window of the outcomes of the most recent calls. Each slot
+     * holds a bit set of {@link #CALL}, {@link #FAILED} and {@link #SLOW},
+     * and totals are adjusted as slots are overwritten, so recording is
+     * lock-free. Totals may be briefly off while slots are being written
+     * concurrently.
+     */
+    private static final class Window {
+        private static final int CALL = 1;
+        private static final int FAILED = 2;
+        private static final int SLOW = 4;
+
+        @NotNull private final AtomicIntegerArray SLOTS;
+        @NotNull private final AtomicInteger NEXT;
+        @NotNull private final AtomicInteger CALLS;
+        @NotNull private final AtomicInteger FAILURES;
+        @NotNull private final AtomicInteger SLOW_CALLS;
+
+        Window(int size) {
+            SLOTS = new AtomicIntegerArray(size);
+            NEXT = new AtomicInteger();
+            CALLS = new AtomicInteger();
+            FAILURES = new AtomicInteger();
+            SLOW_CALLS = new AtomicInteger();
+        }
+
+        int calls() {
+            return CALLS.get();
+        }
+
+        int failures() {
+            return FAILURES.get();
+        }
+
+        int slowCalls() {
+            return SLOW_CALLS.get();
+        }
+
+        void record(boolean failed, boolean slow) {
+            int outcome = CALL | (failed ? FAILED : 0) | (slow ? SLOW : 0);
+            int index = (NEXT.getAndIncrement() & Integer.MAX_VALUE) % SLOTS.length();
+            int previous = SLOTS.getAndSet(index, outcome);
+            CALLS.addAndGet(count(outcome, CALL) - count(previous, CALL));
+            FAILURES.addAndGet(count(outcome, FAILED) - count(previous, FAILED));
+            SLOW_CALLS.addAndGet(count(outcome, SLOW) - count(previous, SLOW));
+        }
+
+        void reset() {
+            for (int i = 0, length = SLOTS.length(); i < length; i++) {
+                int previous = SLOTS.getAndSet(i, 0);
+                CALLS.addAndGet(-count(previous, CALL));
+                FAILURES.addAndGet(-count(previous, FAILED));
+                SLOW_CALLS.addAndGet(-count(previous, SLOW));
+            }
+        }
+
+        private static int count(int outcome, int flag) {
+            return (outcome & flag) != 0 ? 1 : 0;
+        }
+    }
+
+    /**
+     * Builder class for {@link CircuitBreaker}.
+     */
+    public static final class Builder {
+        @NotNull private final CircuitBreaker BREAKER;
+
+        Builder() {
+            BREAKER = new CircuitBreaker();
+        }
+
+        /**
+         * Set {@link #failureRate}.
+         * @param rate {@link Double} value between 0 and 1.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withFailureRateThreshold(double rate) {
+            BREAKER.failureRate = rate;
+            return this;
+        }
+
+        /**
+         * Set the duration after which a call counts as slow, and
+         * {@link #slowCallRate}.
+         * @param duration {@link Long} value.
+         * @param unit {@link TimeUnit} instance.
+         * @param rate {@link Double} value between 0 and 1.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withSlowCallThreshold(long duration,
+                                             @NotNull TimeUnit unit,
+                                             double rate) {
+            BREAKER.slowCallNanos = unit.toNanos(duration);
+            BREAKER.slowCallRate = rate;
+            return this;
+        }
+
+        /**
+         * Set the number of calls in the rolling window, and the minimum
+         * number of calls before thresholds are checked.
+         * @param size {@link Integer} value.
+         * @param minimumCalls {@link Integer} value.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withWindow(int size, int minimumCalls) {
+            BREAKER.windowSize = Math.max(size, 1);
+            BREAKER.minimumCalls = Math.max(minimumCalls, 1);
+            return this;
+        }
+
+        /**
+         * Set how long the breaker stays {@link #OPEN}.
+         * @param duration {@link Long} value.
+         * @param unit {@link TimeUnit} instance.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withOpenDuration(long duration, @NotNull TimeUnit unit) {
+            BREAKER.openNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Set the number of trial calls while {@link #HALF_OPEN}.
+         * @param calls {@link Integer} value.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withTrialCalls(int calls) {
+            BREAKER.trialCalls = Math.max(calls, 1);
+            return this;
+        }
+
+        /**
+         * Set the {@link Scheduler} whose clock measures durations.
+         * @param scheduler {@link Scheduler} instance.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withScheduler(@NotNull Scheduler scheduler) {
+            BREAKER.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Set {@link #listener}.
+         * @param listener {@link CircuitBreakerListenerType} instance.
+         * @return {@link Builder} instance.
+         */
+        @NotNull
+        public Builder withListener(@NotNull CircuitBreakerListenerType listener) {
+            BREAKER.listener = listener;
+            return this;
+        }
+
+        /**
+         * Get {@link #BREAKER}.
+         * @return {@link CircuitBreaker} instance.
+         */
+        @NotNull
+        public CircuitBreaker build() {
+            BREAKER.window = new Window(BREAKER.windowSize);
+            return BREAKER;
+        }
+    }
+}
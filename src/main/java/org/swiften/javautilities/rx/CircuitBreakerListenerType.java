@@ -0,0 +1,47 @@
+package org.swiften.javautilities.rx;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Listener that is notified of calls going through a {@link CircuitBreaker}.
+ * Callbacks happen synchronously on the thread that ends the call, so
+ * implementations should be cheap and thread-safe.
+ * @see CircuitBreaker.Builder#withListener(CircuitBreakerListenerType)
+ */
+public interface CircuitBreakerListenerType {
+    /**
+     * Called when a call completes.
+     * @param nanos {@link Long} value of the call duration.
+     * @param slow {@link Boolean} value indicating whether the call exceeded
+     *             the slow call threshold.
+     */
+    void onSuccess(long nanos, boolean slow);
+
+    /**
+     * Called when a call fails.
+     * @param error {@link Throwable} instance.
+     * @param nanos {@link Long} value of the call duration.
+     */
+    void onFailure(@NotNull Throwable error, long nanos);
+
+    /**
+     * Called when a call is rejected without being attempted.
+     * @param state {@link Integer} value of the state that rejected the
+     *              call.
+     */
+    void onRejected(int state);
+
+    /**
+     * Called when the {@link CircuitBreaker} moves to another state.
+     * @param from {@link Integer} value of the previous state.
+     * @param to {@link Integer} value of the new state.
+     * @see CircuitBreaker#CLOSED
+     * @see CircuitBreaker#OPEN
+     * @see CircuitBreaker#HALF_OPEN
+     */
+    void onStateChange(int from, int to);
+}
@@ -4,6 +4,7 @@ import io.reactivex.*;
 import io.reactivex.exceptions.Exceptions;
 import io.reactivex.functions.Action;
 import io.reactivex.functions.BiFunction;
+import io.reactivex.functions.BooleanSupplier;
 import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
 import io.reactivex.subscribers.TestSubscriber;
@@ -12,17 +13,21 @@ import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Publisher;
 import org.swiften.javautilities.bool.HBooleans;
 import org.swiften.javautilities.collection.HIterables;
+import org.swiften.javautilities.localizer.BatchLocalizerType;
 import org.swiften.javautilities.localizer.LocalizerType;
+import org.swiften.javautilities.metrics.MetricsRegistryType;
 import org.swiften.javautilities.object.HObjects;
+import org.swiften.javautilities.protocol.AdaptiveDelayProviderType;
+import org.swiften.javautilities.protocol.BackoffProviderType;
 import org.swiften.javautilities.protocol.DelayProviderType;
 import org.swiften.javautilities.protocol.SchedulerProviderType;
 import org.swiften.javautilities.string.HStrings;
 import org.swiften.javautilities.util.HLogs;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Created by haipham on 3/31/17.
@@ -125,6 +130,7 @@ public final class HReactives {
      * @param <T> Generics parameter.
      * @param <U> Generics parameter.
      * @return {@link FlowableTransformer} instance.
+     * @see #instrument(String, MetricsRegistryType)
      */
     @NotNull
     public static <T, U> FlowableTransformer<T,T> logNext(@NotNull final Function<T,U> TRANSFORMER) {
@@ -142,6 +148,41 @@ public final class HReactives {
         };
     }
 
+    /**
+     * Record metrics for a stage of a pipeline, instead of logging every
+     * item as {@link #logNext(Function)} does. For a stage named "stage",
+     * these are recorded into the {@link MetricsRegistryType}:
+     * - "stage.next": items, "stage.next.first": nanoseconds from
+     *   subscription to the first item, and "stage.next.interval":
+     *   nanoseconds between two items of the same subscription.
+     * - "stage.requests", "stage.requested" and "stage.requests.unbounded":
+     *   backpressure requests from downstream.
+     * - "stage.subscriptions", "stage.retries", "stage.errors",
+     *   "stage.completions" and "stage.cancellations". A retry is a
+     *   resubscription by the same downstream
+     *   {@link org.reactivestreams.Subscriber} after an error.
+     * - "stage.lifetime": nanoseconds from subscription to termination or
+     *   cancellation.
+     * @param STAGE {@link String} value of the stage name.
+     * @param REGISTRY {@link MetricsRegistryType} instance.
+     * @param <T> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     * @see Instrumented
+     */
+    @NotNull
+    public static <T> FlowableTransformer<T,T> instrument(
+        @NotNull final String STAGE,
+        @NotNull final MetricsRegistryType REGISTRY
+    ) {
+        return new FlowableTransformer<T,T>() {
+            @NotNull
+            @Override
+            public Publisher<T> apply(@NotNull Flowable<T> upstream) {
+                return new Instrumented<T>(upstream, STAGE, REGISTRY);
+            }
+        };
+    }
+
     /**
      * Same as above, but the transform function returns the same value.
      * @param <T> Generics parameter.
@@ -313,15 +354,123 @@ public final class HReactives {
         return concatDelayEach(duration, TimeUnit.MILLISECONDS, flowables);
     }
 
+    /**
+     * Subscribe to {@link Flowable} with at most a number of them running at
+     * once, and pace their subscriptions with a token bucket that hands out
+     * a permit every {@link P#delay()}. Up to BURST subscriptions may start
+     * back to back if permits have accumulated. Unlike
+     * {@link #concatDelayEach(long, TimeUnit, Iterable)}, emissions are not
+     * delayed and the {@link Flowable} may overlap, so their items may be
+     * interleaved. Only MAX_CONCURRENCY {@link Flowable} are requested from
+     * the {@link Iterable} at a time.
+     * @param PARAM {@link P} instance.
+     * @param MAX_CONCURRENCY {@link Integer} value of the maximum number of
+     *                        in-flight {@link Flowable}.
+     * @param BURST {@link Integer} value of the maximum number of
+     *              subscriptions that may start without waiting.
+     * @param flowables {@link Iterable} of {@link Flowable}.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link Flowable} instance.
+     * @see TokenBucket#reserve(long)
+     */
+    @NotNull
+    public static <T, P extends
+        DelayProviderType &
+        SchedulerProviderType> Flowable<T> mergeDelayEach(
+            @NotNull final P PARAM,
+            final int MAX_CONCURRENCY,
+            final int BURST,
+            @NotNull final Iterable<Flowable<T>> flowables
+    ) {
+        if (MAX_CONCURRENCY < 1) {
+            throw new RuntimeException("Max concurrency must be at least 1");
+        }
+
+        return Flowable.defer(new Callable<Publisher<T>>() {
+            @NotNull
+            @Override
+            public Publisher<T> call() throws Exception {
+                final Scheduler SCHEDULER = PARAM.scheduler();
+                final TokenBucket BUCKET = new TokenBucket(PARAM.delay(), PARAM.timeUnit(), BURST);
+
+                return Flowable.fromIterable(flowables)
+                    .flatMap(new Function<Flowable<T>,Publisher<T>>() {
+                        @NotNull
+                        @Override
+                        public Publisher<T> apply(@NotNull Flowable<T> flowable) throws Exception {
+                            long now = SCHEDULER.now(TimeUnit.NANOSECONDS);
+                            long wait = BUCKET.reserve(now);
+
+                            if (wait > 0) {
+                                return flowable.delaySubscription(wait, TimeUnit.NANOSECONDS, SCHEDULER);
+                            } else {
+                                return flowable;
+                            }
+                        }
+                    }, MAX_CONCURRENCY);
+            }
+        });
+    }
+
+    /**
+     * Same as above, but allows no bursts, so subscriptions start at least
+     * {@link P#delay()} apart.
+     * @param param {@link P} instance.
+     * @param maxConcurrency {@link Integer} value.
+     * @param flowables {@link Iterable} of {@link Flowable}.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link Flowable} instance.
+     * @see #mergeDelayEach(DelayProviderType, int, int, Iterable)
+     */
+    @NotNull
+    public static <T, P extends
+        DelayProviderType &
+        SchedulerProviderType> Flowable<T> mergeDelayEach(
+            @NotNull P param,
+            int maxConcurrency,
+            @NotNull Iterable<Flowable<T>> flowables
+    ) {
+        return mergeDelayEach(param, maxConcurrency, 1, flowables);
+    }
+
+    /**
+     * Same as above, but uses varargs of {@link Flowable}.
+     * @param param {@link P} instance.
+     * @param maxConcurrency {@link Integer} value.
+     * @param flowables {@link Flowable} varargs.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link Flowable} instance.
+     * @see #mergeDelayEach(DelayProviderType, int, Iterable)
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <T, P extends
+        DelayProviderType &
+        SchedulerProviderType> Flowable<T> mergeDelayEach(
+            @NotNull P param,
+            int maxConcurrency,
+            @NotNull Flowable<T>...flowables
+    ) {
+        Iterable<Flowable<T>> iterable = HIterables.asList(flowables);
+        return mergeDelayEach(param, maxConcurrency, iterable);
+    }
+
     /**
      * Repeat {@link Flowable} while a {@link Boolean} {@link Flowable} is
-     * emitting true.
+     * emitting true. Only the first item of the {@link Boolean}
+     * {@link Flowable} is checked after each completion, and the loop stops
+     * quietly if it is false, if there is none or if it fails. The source
+     * is not subscribed to again once the check is false, so it repeats
+     * exactly as often as the check allows.
      * @param WHEN_FL {@link Flowable} instance.
      * @param PARAM {@link P} instance.
      * @param <T> Generics parameter.
      * @param <P> Generics parameter.
      * @return {@link FlowableTransformer} instance.
-     * @see #error()
+     * @see RepeatLoop
      */
     @NotNull
     public static <T, P extends
@@ -334,40 +483,96 @@ public final class HReactives {
             @NotNull
             @Override
             public Publisher<T> apply(@NotNull Flowable<T> upstream) {
-                return upstream.repeatWhen(new Function<Flowable<Object>,Publisher<?>>() {
-                    @NotNull
-                    @Override
-                    public Publisher<?> apply(@NotNull Flowable<Object> flowable) throws Exception {
-                        long delay = PARAM.delay();
-                        TimeUnit unit = PARAM.timeUnit();
-                        Scheduler scheduler = PARAM.scheduler();
+                long delay = PARAM.delay();
+                TimeUnit unit = PARAM.timeUnit();
+                Scheduler scheduler = PARAM.scheduler();
+                return new RepeatLoop<T>(upstream, WHEN_FL, delay, unit, scheduler);
+            }
+        };
+    }
 
-                        return flowable
-                            .flatMap(new Function<Object,Publisher<Boolean>>() {
-                                @Override
-                                public Publisher<Boolean> apply(@NotNull Object o) throws Exception {
-                                    return WHEN_FL;
-                                }
-                            })
-                            .flatMap(new Function<Boolean,Publisher<?>>() {
-                                @NotNull
-                                @Override
-                                public Publisher<?> apply(@NotNull Boolean b) throws Exception {
-                                    if (HBooleans.isFalse(b)) {
-                                        return error();
-                                    } else {
-                                        return Flowable.just(b);
-                                    }
-                                }
-                            })
-                            .onErrorReturnItem(false)
-                            .delay(delay, unit, scheduler);
-                    }
-                });
+    /**
+     * Same as above, but adapts the delay between repetitions with
+     * {@link AdaptiveDelayProviderType}, e.g. {@link AdaptivePolling}.
+     * @param WHEN_FL {@link Flowable} instance.
+     * @param POLLING {@link P} instance.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     * @see RepeatLoop
+     */
+    @NotNull
+    public static <T, P extends
+        AdaptiveDelayProviderType &
+        SchedulerProviderType> FlowableTransformer<T,T> repeatWhile(
+            @NotNull final Flowable<Boolean> WHEN_FL,
+            @NotNull final P POLLING
+    ) {
+        return new FlowableTransformer<T,T>() {
+            @NotNull
+            @Override
+            public Publisher<T> apply(@NotNull Flowable<T> upstream) {
+                Scheduler scheduler = POLLING.scheduler();
+                return new RepeatLoop<T>(upstream, WHEN_FL, POLLING, scheduler);
             }
         };
     }
 
+    /**
+     * Same as above, but uses a {@link BooleanSupplier} that is checked
+     * synchronously after each completion. This does not allocate anything
+     * per repetition, so it suits tight polling loops.
+     * @param WHEN {@link BooleanSupplier} instance.
+     * @param PARAM {@link P} instance.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     * @see RepeatLoop
+     */
+    @NotNull
+    public static <T, P extends
+        DelayProviderType &
+        SchedulerProviderType> FlowableTransformer<T,T> repeatWhile(
+            @NotNull final BooleanSupplier WHEN,
+            @NotNull final P PARAM
+    ) {
+        return new FlowableTransformer<T,T>() {
+            @NotNull
+            @Override
+            public Publisher<T> apply(@NotNull Flowable<T> upstream) {
+                long delay = PARAM.delay();
+                TimeUnit unit = PARAM.timeUnit();
+                Scheduler scheduler = PARAM.scheduler();
+                return new RepeatLoop<T>(upstream, WHEN, delay, unit, scheduler);
+            }
+        };
+    }
+
+    /**
+     * Same as above, but repeats until the {@link BooleanSupplier} returns
+     * true.
+     * @param UNTIL {@link BooleanSupplier} instance.
+     * @param param {@link P} instance.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     * @see #repeatWhile(BooleanSupplier, DelayProviderType)
+     */
+    @NotNull
+    public static <T, P extends
+        DelayProviderType &
+        SchedulerProviderType> FlowableTransformer<T,T> repeatUntil(
+            @NotNull final BooleanSupplier UNTIL,
+            @NotNull P param
+    ) {
+        return repeatWhile(new BooleanSupplier() {
+            @Override
+            public boolean getAsBoolean() throws Exception {
+                return !UNTIL.getAsBoolean();
+            }
+        }, param);
+    }
+
     /**
      * Same as above, but uses a default {@link RxParam}.
      * @param whenFl {@link Flowable} instance.
@@ -423,7 +628,9 @@ public final class HReactives {
     }
 
     /**
-     * Emit {@link T} while another {@link Flowable} is emitting true.
+     * Emit {@link T} while another {@link Flowable} is emitting true. The
+     * repetition follows {@link #repeatWhile(Flowable, DelayProviderType)},
+     * so the source is not subscribed to again once the check is false.
      * @param SOURCE {@link Flowable} instance.
      * @param WHEN_FL {@link Flowable} instance.
      * @param DEFAULT {@link Publisher} instance for the initial check.
@@ -546,6 +753,62 @@ public final class HReactives {
         return doWhile(source, whenFl, defValue, RxParam.defaultInstance());
     }
 
+    /**
+     * Same as above, but polls with a delay that adapts to whether
+     * {@link T} changes between polls.
+     * @param SOURCE {@link Flowable} instance.
+     * @param WHEN_FL {@link Flowable} instance.
+     * @param DEFAULT {@link Publisher} instance for the initial check.
+     * @param POLLING {@link P} instance.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link Flowable} instance.
+     * @see #repeatWhile(Flowable, AdaptiveDelayProviderType)
+     */
+    @NotNull
+    public static <T, P extends
+        AdaptiveDelayProviderType &
+        SchedulerProviderType> Flowable<T> doWhile(
+            @NotNull final Flowable<T> SOURCE,
+            @NotNull final Flowable<Boolean> WHEN_FL,
+            @NotNull final Publisher<T> DEFAULT,
+            @NotNull final P POLLING
+    ) {
+        return WHEN_FL.flatMap(new Function<Boolean,Publisher<T>>() {
+            @NotNull
+            @Override
+            public Publisher<T> apply(@NotNull Boolean b) throws Exception {
+                if (HBooleans.isTrue(b)) {
+                    return SOURCE.compose(HReactives.<T,P>repeatWhile(WHEN_FL, POLLING));
+                } else {
+                    return DEFAULT;
+                }
+            }
+        });
+    }
+
+    /**
+     * Same as above, but use {@link Flowable#empty()} as the default
+     * {@link Publisher}.
+     * @param source {@link Flowable} instance.
+     * @param whenFl {@link Flowable} instance.
+     * @param polling {@link P} instance.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link Flowable} instance.
+     * @see #doWhile(Flowable, Flowable, Publisher, AdaptiveDelayProviderType)
+     */
+    @NotNull
+    public static <T, P extends
+        AdaptiveDelayProviderType &
+        SchedulerProviderType> Flowable<T> doWhile(
+            @NotNull Flowable<T> source,
+            @NotNull Flowable<Boolean> whenFl,
+            @NotNull P polling
+    ) {
+        return doWhile(source, whenFl, Flowable.<T>empty(), polling);
+    }
+
     /**
      * Emit {@link T} until a {@link Boolean} {@link Flowable} emits true.
      * @param source {@link Flowable} instance.
@@ -666,6 +929,58 @@ public final class HReactives {
         return doUntil(source, untilFl, defValue, RxParam.defaultInstance());
     }
 
+    /**
+     * Same as above, but polls with a delay that adapts to whether
+     * {@link T} changes between polls.
+     * @param source {@link Flowable} instance.
+     * @param untilFl {@link Flowable} instance.
+     * @param defPublisher {@link Publisher} instance.
+     * @param polling {@link P} instance.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link Flowable} instance.
+     * @see #doWhile(Flowable, Flowable, Publisher, AdaptiveDelayProviderType)
+     */
+    @NotNull
+    public static <T, P extends
+        AdaptiveDelayProviderType &
+        SchedulerProviderType> Flowable<T> doUntil(
+            @NotNull Flowable<T> source,
+            @NotNull Flowable<Boolean> untilFl,
+            @NotNull Publisher<T> defPublisher,
+            @NotNull P polling
+    ) {
+        return doWhile(source, untilFl.map(new Function<Boolean,Boolean>() {
+            @NotNull
+            @Override
+            public Boolean apply(@NotNull Boolean b) throws Exception {
+                return HBooleans.isFalse(b);
+            }
+        }), defPublisher, polling);
+    }
+
+    /**
+     * Same as above, but uses {@link Flowable#empty()} for the default
+     * {@link Publisher}.
+     * @param source {@link Flowable} instance.
+     * @param untilFl {@link Flowable} instance.
+     * @param polling {@link P} instance.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link Flowable} instance.
+     * @see #doUntil(Flowable, Flowable, Publisher, AdaptiveDelayProviderType)
+     */
+    @NotNull
+    public static <T, P extends
+        AdaptiveDelayProviderType &
+        SchedulerProviderType> Flowable<T> doUntil(
+            @NotNull Flowable<T> source,
+            @NotNull Flowable<Boolean> untilFl,
+            @NotNull P polling
+    ) {
+        return doUntil(source, untilFl, Flowable.<T>empty(), polling);
+    }
+
     /**
      * {@link Flowable#retryWhen(Function)} while a {@link Boolean}
      * {@link Flowable} is emitting true.
@@ -887,6 +1202,148 @@ public final class HReactives {
         return delayRetry(times, delay, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * {@link Flowable#retryWhen(Function)}, with the delay before each retry
+     * and the number of retries provided by a {@link BackoffProviderType}.
+     * If a {@link RetryBudget} is provided, every subscription is counted
+     * as a call against it, and a retry is only attempted if the budget
+     * allows. Otherwise, the error is propagated.
+     * @param PARAM {@link P} instance.
+     * @param BUDGET {@link RetryBudget} instance. May be null.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     * @see #retryWhile(Function, BackoffProviderType, RetryBudget)
+     */
+    @NotNull
+    public static <T, P extends
+        BackoffProviderType &
+        SchedulerProviderType> FlowableTransformer<T,T> delayRetry(
+            @NotNull final P PARAM,
+            @Nullable final RetryBudget BUDGET
+    ) {
+        return retryWhile(null, PARAM, BUDGET);
+    }
+
+    /**
+     * Same as above, but does not use a {@link RetryBudget}.
+     * @param param {@link P} instance.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     * @see #delayRetry(BackoffProviderType, RetryBudget)
+     */
+    @NotNull
+    public static <T, P extends
+        BackoffProviderType &
+        SchedulerProviderType> FlowableTransformer<T,T> delayRetry(@NotNull P param) {
+        return delayRetry(param, null);
+    }
+
+    /**
+     * {@link Flowable#retryWhen(Function)} while a {@link Boolean}
+     * {@link Flowable} is emitting true, with the delay before each retry
+     * and the number of retries provided by a {@link BackoffProviderType}.
+     * The {@link RetryBudget} is only drawn from once the {@link Boolean}
+     * {@link Flowable} allows a retry. Unlike
+     * {@link #retryWhile(Function, DelayProviderType)}, the original error
+     * is propagated when retries stop.
+     * @param WHEN_FN {@link Function} instance that produces a {@link Boolean}
+     *                {@link Flowable}. May be null to always retry.
+     * @param PARAM {@link P} instance.
+     * @param BUDGET {@link RetryBudget} instance. May be null.
+     * @param <T> Generics parameter.
+     * @param <P> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     * @see BackoffProviderType#backoff(int, long)
+     * @see RetryBudget#tryWithdraw()
+     */
+    @NotNull
+    public static <T, P extends
+        BackoffProviderType &
+        SchedulerProviderType> FlowableTransformer<T,T> retryWhile(
+            @Nullable final Function<Throwable,Flowable<Boolean>> WHEN_FN,
+            @NotNull final P PARAM,
+            @Nullable final RetryBudget BUDGET
+    ) {
+        return new FlowableTransformer<T,T>() {
+            @NotNull
+            @Override
+            public Publisher<T> apply(@NotNull final Flowable<T> SOURCE) {
+                return Flowable.defer(new Callable<Publisher<T>>() {
+                    @NotNull
+                    @Override
+                    public Publisher<T> call() throws Exception {
+                        if (HObjects.nonNull(BUDGET)) {
+                            BUDGET.deposit();
+                        }
+
+                        return SOURCE.retryWhen(new Function<Flowable<Throwable>,Publisher<?>>() {
+                            @NotNull
+                            @Override
+                            public Publisher<?> apply(@NotNull Flowable<Throwable> tf) throws Exception {
+                                return tf.concatMap(backoff(WHEN_FN, PARAM, BUDGET));
+                            }
+                        });
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Get a {@link Function} that maps each error of a subscription to a
+     * timer for the next retry, or to the error itself if retries should
+     * stop. A new {@link Function} must be used for every subscription,
+     * since it counts the retries.
+     * @param WHEN_FN {@link Function} instance. May be null.
+     * @param PARAM {@link P} instance.
+     * @param BUDGET {@link RetryBudget} instance. May be null.
+     * @param <P> Generics parameter.
+     * @return {@link Function} instance.
+     * @see #retryWhile(Function, BackoffProviderType, RetryBudget)
+     */
+    @NotNull
+    private static <P extends
+        BackoffProviderType &
+        SchedulerProviderType> Function<Throwable,Publisher<Long>> backoff(
+            @Nullable final Function<Throwable,Flowable<Boolean>> WHEN_FN,
+            @NotNull final P PARAM,
+            @Nullable final RetryBudget BUDGET
+    ) {
+        return new Function<Throwable,Publisher<Long>>() {
+            private int attempt;
+            private long previous;
+
+            @NotNull
+            @Override
+            public Publisher<Long> apply(@NotNull final Throwable T) throws Exception {
+                if (++attempt > PARAM.retries()) {
+                    return Flowable.error(T);
+                }
+
+                Flowable<Boolean> whenFl = HObjects.nonNull(WHEN_FN)
+                    ? WHEN_FN.apply(T).first(false).toFlowable()
+                    : Flowable.just(true);
+
+                return whenFl.concatMap(new Function<Boolean,Publisher<Long>>() {
+                    @NotNull
+                    @Override
+                    public Publisher<Long> apply(@NotNull Boolean b) throws Exception {
+                        if (HBooleans.isFalse(b)) {
+                            return Flowable.error(T);
+                        } else if (HObjects.nonNull(BUDGET) && !BUDGET.tryWithdraw()) {
+                            return Flowable.error(T);
+                        }
+
+                        long delay = previous = PARAM.backoff(attempt, previous);
+                        return Flowable.timer(delay, PARAM.timeUnit(), PARAM.scheduler());
+                    }
+                });
+            }
+        };
+    }
+
     /**
      * Same as above, but uses {@link TimeUnit#MILLISECONDS}.
      * @param duration {@link Long} value.
@@ -903,7 +1360,8 @@ public final class HReactives {
     /**
      * Reactively remove all instances of {@link String} values from another
      * {@link String}. Before the removal, we localize all {@link String}
-     * values to be removed.
+     * values to be removed. The localized values are treated as regular
+     * expressions.
      * @param LOCALIZER {@link LocalizerType} instance.
      * @param REMOVABLES {@link String} varargs.
      * @return {@link FlowableTransformer} instance.
@@ -945,6 +1403,89 @@ public final class HReactives {
         };
     }
 
+    /**
+     * Same as above, but localizes {@link String} removables only once per
+     * subscription, and strips all of them from each element in a single
+     * pass. The localized removables are treated as literals, so they may
+     * contain regular expression metacharacters. Where removables overlap,
+     * the longest one wins.
+     * @param LOCALIZER {@link BatchLocalizerType} instance.
+     * @param REMOVABLES Varargs of {@link String} to be localized and
+     *                   removed.
+     * @return {@link FlowableTransformer} instance.
+     * @see BatchLocalizerType#rxa_localizeTexts(Collection, Locale)
+     * @see #literalPattern(Collection)
+     */
+    @NotNull
+    public static FlowableTransformer<String,String> removeFromStringInOnePass(
+        @NotNull final BatchLocalizerType LOCALIZER,
+        @NotNull final String...REMOVABLES
+    ) {
+        return new FlowableTransformer<String,String>() {
+            @Override
+            public Publisher<String> apply(@NotNull final Flowable<String> SOURCE) {
+                return LOCALIZER
+                    .rxa_localizeTexts(Arrays.asList(REMOVABLES), null)
+                    .flatMap(new Function<List<String>,Publisher<String>>() {
+                        @NotNull
+                        @Override
+                        public Publisher<String> apply(@NotNull List<String> removables) throws Exception {
+                            final Pattern PATTERN = literalPattern(removables);
+
+                            if (HObjects.isNull(PATTERN)) {
+                                return SOURCE;
+                            }
+
+                            return SOURCE.map(new Function<String,String>() {
+                                @NotNull
+                                @Override
+                                public String apply(@NotNull String s) throws Exception {
+                                    return PATTERN.matcher(s).replaceAll("");
+                                }
+                            });
+                        }
+                    });
+            }
+        };
+    }
+
+    /**
+     * Combine {@link Collection} of {@link String} into a single
+     * {@link Pattern} that matches any of them literally. Longer
+     * {@link String} are tried first, so that the longest match wins.
+     * @param texts {@link Collection} of {@link String}.
+     * @return {@link Pattern} instance, or null if there is nothing to match.
+     * @see Pattern#quote(String)
+     */
+    @Nullable
+    private static Pattern literalPattern(@NotNull Collection<String> texts) {
+        List<String> literals = new ArrayList<String>(new HashSet<String>(texts));
+        literals.remove("");
+
+        if (literals.isEmpty()) {
+            return null;
+        }
+
+        Collections.sort(literals, new Comparator<String>() {
+            @Override
+            public int compare(@NotNull String a, @NotNull String b) {
+                return b.length() - a.length();
+            }
+        });
+
+        StringBuilder builder = new StringBuilder();
+
+        for (String literal : literals) {
+            if (builder.length() > 0) {
+                builder.append('|');
+            }
+
+            builder.append(Pattern.quote(literal));
+        }
+
+        return Pattern.compile(builder.toString());
+    }
+
     /**
      * Compose with {@link Completable} to minimize use of
      * {@link Completable#fromAction(Action)}. Be aware that the resulting
@@ -0,0 +1,95 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Helper class for {@link Scheduler}.
+ */
+public final class HSchedulers {
+    /**
+     * Lazily creates the virtual thread {@link Scheduler}, so that the
+     * reflective lookup only happens once and only if it is needed.
+     */
+    private static final class VirtualThreads {
+        @Nullable static final ExecutorService EXECUTOR = virtualThreadExecutor();
+
+        @NotNull static final Scheduler SCHEDULER = HObjects.nonNull(EXECUTOR)
+            ? Schedulers.from(EXECUTOR)
+            : Schedulers.io();
+    }
+
+    /**
+     * Lazily creates the shared {@link TimingWheelScheduler}.
+     */
+    private static final class TimingWheel {
+        @NotNull static final Scheduler SCHEDULER
+            = new TimingWheelScheduler(Schedulers.computation());
+    }
+
+    /**
+     * Check whether the current JVM supports virtual threads.
+     * @return {@link Boolean} value.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return HObjects.nonNull(VirtualThreads.EXECUTOR);
+    }
+
+    /**
+     * Get a {@link Scheduler} that runs every task on a new virtual thread,
+     * which suits pipelines that block on I/O, since blocked virtual threads
+     * do not hold on to platform threads. Virtual threads are looked up
+     * reflectively, so this library still runs on JVMs without them, in
+     * which case {@link Schedulers#io()} is returned instead.
+     * @return {@link Scheduler} instance.
+     * @see #isVirtualThreadSupported()
+     */
+    @NotNull
+    public static Scheduler virtualThread() {
+        return VirtualThreads.SCHEDULER;
+    }
+
+    /**
+     * Get a shared {@link TimingWheelScheduler} that runs due tasks on
+     * {@link Schedulers#computation()}. This suits pipelines that keep
+     * very many timers pending at once, e.g. timeouts that are mostly
+     * cancelled, and that can tolerate delays being rounded up to 10
+     * milliseconds.
+     * @return {@link Scheduler} instance.
+     * @see TimingWheelScheduler#TimingWheelScheduler(Scheduler)
+     */
+    @NotNull
+    public static Scheduler timingWheel() {
+        return TimingWheel.SCHEDULER;
+    }
+
+    /**
+     * Get an {@link ExecutorService} that starts a new virtual thread for
+     * each task.
+     * @return {@link ExecutorService} instance, or null if virtual threads
+     * are not supported.
+     */
+    @Nullable
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            Method method = Class.forName("java.util.concurrent.Executors")
+                .getMethod("newVirtualThreadPerTaskExecutor");
+
+            return (ExecutorService)method.invoke(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private HSchedulers() {}
+}
@@ -0,0 +1,249 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.swiften.javautilities.metrics.Histogram;
+import org.swiften.javautilities.metrics.MetricsRegistryType;
+import org.swiften.javautilities.metrics.StripedCounter;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * {@link Flowable} that records metrics for a stage of a pipeline into a
+ * {@link MetricsRegistryType}. Metrics are named after the stage, e.g.
+ * "stage.next", and are looked up once when the {@link Instrumented} is
+ * created. Every signal passes through a single {@link Subscriber}, so the
+ * overhead is one extra {@link Subscriber} per subscription and a few
+ * uncontended atomic increments per signal.
+ * @param <T> Generics parameter.
+ * @see HReactives#instrument(String, MetricsRegistryType)
+ */
+final class Instrumented<T> extends Flowable<T> {
+    /**
+     * Suffix of the {@link StripedCounter} of subscriptions.
+     */
+    @NotNull static final String SUBSCRIPTIONS = ".subscriptions";
+
+    /**
+     * Suffix of the {@link StripedCounter} of subscriptions that follow a
+     * subscription ending in error for the same downstream
+     * {@link Subscriber}, e.g. because of
+     * {@link HReactives#delayRetry(int, long)}. Retry operators resubscribe
+     * with the same {@link Subscriber}, so unrelated subscriptions that
+     * happen to follow a failure are not counted.
+     */
+    @NotNull static final String RETRIES = ".retries";
+
+    /**
+     * Suffix of the {@link StripedCounter} of items.
+     */
+    @NotNull static final String NEXT = ".next";
+
+    /**
+     * Suffix of the {@link Histogram} of nanoseconds between two items of
+     * the same subscription.
+     */
+    @NotNull static final String NEXT_INTERVAL = ".next.interval";
+
+    /**
+     * Suffix of the {@link Histogram} of nanoseconds from subscription to
+     * the first item.
+     */
+    @NotNull static final String FIRST_NEXT = ".next.first";
+
+    /**
+     * Suffix of the {@link StripedCounter} of downstream requests.
+     */
+    @NotNull static final String REQUESTS = ".requests";
+
+    /**
+     * Suffix of the {@link StripedCounter} of items requested downstream,
+     * excluding unbounded requests.
+     */
+    @NotNull static final String REQUESTED = ".requested";
+
+    /**
+     * Suffix of the {@link StripedCounter} of unbounded downstream requests.
+     */
+    @NotNull static final String UNBOUNDED_REQUESTS = ".requests.unbounded";
+
+    /**
+     * Suffix of the {@link StripedCounter} of errors.
+     */
+    @NotNull static final String ERRORS = ".errors";
+
+    /**
+     * Suffix of the {@link StripedCounter} of completions.
+     */
+    @NotNull static final String COMPLETIONS = ".completions";
+
+    /**
+     * Suffix of the {@link StripedCounter} of cancellations.
+     */
+    @NotNull static final String CANCELLATIONS = ".cancellations";
+
+    /**
+     * Suffix of the {@link Histogram} of nanoseconds from subscription to
+     * termination or cancellation.
+     */
+    @NotNull static final String LIFETIME = ".lifetime";
+
+    @NotNull private final Publisher<T> SOURCE;
+    @NotNull private final Map<Subscriber<?>,Boolean> FAILED;
+    @NotNull private final StripedCounter SUBSCRIPTION_COUNT;
+    @NotNull private final StripedCounter RETRY_COUNT;
+    @NotNull private final StripedCounter NEXT_COUNT;
+    @NotNull private final Histogram NEXT_INTERVALS;
+    @NotNull private final Histogram FIRST_NEXTS;
+    @NotNull private final StripedCounter REQUEST_COUNT;
+    @NotNull private final StripedCounter REQUESTED_COUNT;
+    @NotNull private final StripedCounter UNBOUNDED_COUNT;
+    @NotNull private final StripedCounter ERROR_COUNT;
+    @NotNull private final StripedCounter COMPLETION_COUNT;
+    @NotNull private final StripedCounter CANCELLATION_COUNT;
+    @NotNull private final Histogram LIFETIMES;
+
+    Instrumented(@NotNull Publisher<T> source,
+                 @NotNull String stage,
+                 @NotNull MetricsRegistryType registry) {
+        SOURCE = source;
+        FAILED = Collections.synchronizedMap(new WeakHashMap<Subscriber<?>,Boolean>());
+        SUBSCRIPTION_COUNT = registry.counter(stage + SUBSCRIPTIONS);
+        RETRY_COUNT = registry.counter(stage + RETRIES);
+        NEXT_COUNT = registry.counter(stage + NEXT);
+        NEXT_INTERVALS = registry.histogram(stage + NEXT_INTERVAL);
+        FIRST_NEXTS = registry.histogram(stage + FIRST_NEXT);
+        REQUEST_COUNT = registry.counter(stage + REQUESTS);
+        REQUESTED_COUNT = registry.counter(stage + REQUESTED);
+        UNBOUNDED_COUNT = registry.counter(stage + UNBOUNDED_REQUESTS);
+        ERROR_COUNT = registry.counter(stage + ERRORS);
+        COMPLETION_COUNT = registry.counter(stage + COMPLETIONS);
+        CANCELLATION_COUNT = registry.counter(stage + CANCELLATIONS);
+        LIFETIMES = registry.histogram(stage + LIFETIME);
+    }
+
+    @Override
+    protected void subscribeActual(@NotNull Subscriber<? super T> subscriber) {
+        SUBSCRIPTION_COUNT.increment();
+
+        if (!FAILED.isEmpty() && HObjects.nonNull(FAILED.remove(subscriber))) {
+            RETRY_COUNT.increment();
+        }
+
+        SOURCE.subscribe(new InstrumentedSubscriber<T>(subscriber, this));
+    }
+
+    /**
+     * {@link Subscriber} that records every signal it relays.
+     * @param <T> Generics parameter.
+     */
+    private static final class InstrumentedSubscriber<T> implements
+        FlowableSubscriber<T>, Subscription
+    {
+        @NotNull private final Subscriber<? super T> DOWNSTREAM;
+        @NotNull private final Instrumented<T> PARENT;
+        @NotNull private final AtomicBoolean DONE;
+        @Nullable private Subscription upstream;
+        private final long START;
+        private boolean emitted;
+        private long lastNext;
+
+        InstrumentedSubscriber(@NotNull Subscriber<? super T> downstream,
+                               @NotNull Instrumented<T> parent) {
+            DOWNSTREAM = downstream;
+            PARENT = parent;
+            DONE = new AtomicBoolean();
+            START = System.nanoTime();
+        }
+
+        @Override
+        public void onSubscribe(@NotNull Subscription s) {
+            upstream = s;
+            DOWNSTREAM.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(@NotNull T item) {
+            long now = System.nanoTime();
+            PARENT.NEXT_COUNT.increment();
+
+            if (emitted) {
+                PARENT.NEXT_INTERVALS.record(now - lastNext);
+            } else {
+                PARENT.FIRST_NEXTS.record(now - START);
+                emitted = true;
+            }
+
+            lastNext = now;
+            DOWNSTREAM.onNext(item);
+        }
+
+        @Override
+        public void onError(@NotNull Throwable t) {
+            if (end()) {
+                PARENT.ERROR_COUNT.increment();
+                PARENT.FAILED.put(DOWNSTREAM, Boolean.TRUE);
+            }
+
+            DOWNSTREAM.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (end()) {
+                PARENT.COMPLETION_COUNT.increment();
+            }
+
+            DOWNSTREAM.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            PARENT.REQUEST_COUNT.increment();
+
+            if (n == Long.MAX_VALUE) {
+                PARENT.UNBOUNDED_COUNT.increment();
+            } else {
+                PARENT.REQUESTED_COUNT.add(n);
+            }
+
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            if (end()) {
+                PARENT.CANCELLATION_COUNT.increment();
+            }
+
+            upstream.cancel();
+        }
+
+        /**
+         * Record the lifetime of this subscription, once.
+         * @return {@link Boolean} value indicating whether this is the first
+         * time the subscription ends.
+         */
+        private boolean end() {
+            if (DONE.compareAndSet(false, true)) {
+                PARENT.LIFETIMES.record(System.nanoTime() - START);
+                return true;
+            } else {
+                return false;
+            }
+        }
+    }
+}
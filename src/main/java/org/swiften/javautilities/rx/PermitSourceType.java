@@ -0,0 +1,19 @@
+package org.swiften.javautilities.rx;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Source of permits for {@link RateLimiter}. Implementations must be
+ * thread-safe.
+ */
+interface PermitSourceType {
+    /**
+     * Take a permit only if one is available now.
+     * @param now {@link Long} value of the current time in nanoseconds.
+     * @return {@link Long} value of 0 if a permit was taken, or the
+     * nanoseconds to wait before trying again.
+     */
+    long tryAcquire(long now);
+}
@@ -0,0 +1,206 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableTransformer;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Function;
+import io.reactivex.functions.Predicate;
+import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Publisher;
+import org.swiften.javautilities.protocol.DelayProviderType;
+import org.swiften.javautilities.protocol.SchedulerProviderType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Rate limiter that can be applied to {@link Flowable} with
+ * {@link Flowable#compose(FlowableTransformer)}. The rate is a number of
+ * permits per window of {@link DelayProviderType#delay()}
+ * {@link DelayProviderType#timeUnit()}, and waits are scheduled on
+ * {@link SchedulerProviderType#scheduler()}. A single {@link RateLimiter}
+ * may be shared by several {@link Flowable}, in which case they are limited
+ * together.
+ * @see HReactives#mergeDelayEach(DelayProviderType, int, int, Iterable)
+ */
+public final class RateLimiter {
+    /**
+     * Get a {@link RateLimiter} backed by a token bucket. Permits are handed
+     * out evenly over the window, and up to PERMITS of them may be used at
+     * once after a quiet period.
+     * @param param {@link P} instance.
+     * @param permits {@link Integer} value of the number of permits per
+     *                window.
+     * @param <P> Generics parameter.
+     * @return {@link RateLimiter} instance.
+     * @see TokenBucket
+     */
+    @NotNull
+    public static <P extends
+        DelayProviderType &
+        SchedulerProviderType> RateLimiter tokenBucket(@NotNull P param, int permits) {
+        long window = param.timeUnit().toNanos(param.delay());
+        TokenBucket bucket = new TokenBucket(window / Math.max(permits, 1), TimeUnit.NANOSECONDS, permits);
+        return new RateLimiter(bucket, param.scheduler());
+    }
+
+    /**
+     * Get a {@link RateLimiter} backed by a sliding window counter. At most
+     * PERMITS permits are handed out in any window, as estimated from the
+     * counts of the current and previous fixed windows.
+     * @param param {@link P} instance.
+     * @param permits {@link Integer} value of the number of permits per
+     *                window.
+     * @param <P> Generics parameter.
+     * @return {@link RateLimiter} instance.
+     * @see SlidingWindow
+     */
+    @NotNull
+    public static <P extends
+        DelayProviderType &
+        SchedulerProviderType> RateLimiter slidingWindow(@NotNull P param, int permits) {
+        SlidingWindow window = new SlidingWindow(param.delay(), param.timeUnit(), permits);
+        return new RateLimiter(window, param.scheduler());
+    }
+
+    @NotNull private final PermitSourceType PERMITS;
+    @NotNull private final Scheduler SCHEDULER;
+    @NotNull private final AtomicLong ADMITTED;
+    @NotNull private final AtomicLong DELAYED;
+    @NotNull private final AtomicLong DROPPED;
+
+    RateLimiter(@NotNull PermitSourceType permits, @NotNull Scheduler scheduler) {
+        PERMITS = permits;
+        SCHEDULER = scheduler;
+        ADMITTED = new AtomicLong();
+        DELAYED = new AtomicLong();
+        DROPPED = new AtomicLong();
+    }
+
+    //region Getters
+    /**
+     * Get the number of items that have been let through, including those
+     * that were delayed.
+     * @return {@link Long} value.
+     */
+    public long admittedCount() {
+        return ADMITTED.get();
+    }
+
+    /**
+     * Get the number of items that had to wait for a permit.
+     * @return {@link Long} value.
+     * @see #delayExcess()
+     */
+    public long delayedCount() {
+        return DELAYED.get();
+    }
+
+    /**
+     * Get the number of items that were dropped for lack of a permit.
+     * @return {@link Long} value.
+     * @see #dropExcess()
+     */
+    public long droppedCount() {
+        return DROPPED.get();
+    }
+    //endregion
+
+    /**
+     * Get a {@link FlowableTransformer} that holds back items until a permit
+     * is available. Order is preserved, and upstream is only requested as
+     * items are let through.
+     * @param <T> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     * @see #acquire(Object, boolean)
+     */
+    @NotNull
+    public <T> FlowableTransformer<T,T> delayExcess() {
+        return new FlowableTransformer<T,T>() {
+            @NotNull
+            @Override
+            public Publisher<T> apply(@NotNull Flowable<T> upstream) {
+                return upstream.concatMap(new Function<T,Publisher<T>>() {
+                    @NotNull
+                    @Override
+                    public Publisher<T> apply(@NotNull T item) throws Exception {
+                        return acquire(item, false);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Get a {@link FlowableTransformer} that drops items for which no
+     * permit is available.
+     * @param <T> Generics parameter.
+     * @return {@link FlowableTransformer} instance.
+     */
+    @NotNull
+    public <T> FlowableTransformer<T,T> dropExcess() {
+        return new FlowableTransformer<T,T>() {
+            @NotNull
+            @Override
+            public Publisher<T> apply(@NotNull Flowable<T> upstream) {
+                return upstream.filter(new Predicate<T>() {
+                    @Override
+                    public boolean test(@NotNull T item) throws Exception {
+                        if (PERMITS.tryAcquire(now()) == 0) {
+                            ADMITTED.incrementAndGet();
+                            return true;
+                        } else {
+                            DROPPED.incrementAndGet();
+                            return false;
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Emit an item once a permit is taken for it, retrying after the wait
+     * suggested by {@link PermitSourceType#tryAcquire(long)}.
+     * @param ITEM {@link T} instance.
+     * @param WAITED {@link Boolean} value indicating whether the item has
+     *               already waited.
+     * @param <T> Generics parameter.
+     * @return {@link Flowable} instance.
+     */
+    @NotNull
+    private <T> Flowable<T> acquire(@NotNull final T ITEM, final boolean WAITED) {
+        long wait = PERMITS.tryAcquire(now());
+
+        if (wait == 0) {
+            ADMITTED.incrementAndGet();
+            return Flowable.just(ITEM);
+        }
+
+        if (!WAITED) {
+            DELAYED.incrementAndGet();
+        }
+
+        return Flowable
+            .timer(wait, TimeUnit.NANOSECONDS, SCHEDULER)
+            .concatMap(new Function<Long,Publisher<T>>() {
+                @NotNull
+                @Override
+                public Publisher<T> apply(@NotNull Long tick) throws Exception {
+                    return acquire(ITEM, true);
+                }
+            });
+    }
+
+    /**
+     * Get the current time of {@link #SCHEDULER}.
+     * @return {@link Long} value in nanoseconds.
+     */
+    private long now() {
+        return SCHEDULER.now(TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,410 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.functions.BooleanSupplier;
+import io.reactivex.schedulers.Schedulers;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.swiften.javautilities.object.HObjects;
+import org.swiften.javautilities.protocol.AdaptiveDelayProviderType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * {@link Flowable} that resubscribes to a source every time it completes,
+ * for as long as a condition holds, waiting a delay in between. The
+ * whole loop is driven by a single {@link Subscriber} per subscription,
+ * which is resubscribed to the source each time, and repetitions reuse a
+ * single {@link Scheduler.Worker}. The first subscription happens on the
+ * subscribing thread, while every repetition runs on the
+ * {@link Scheduler}, unless it is {@link Schedulers#trampoline()} and there
+ * is no delay. Stopping the loop simply completes downstream,
+ * so no error is used as a signal.
+ *
+ * The condition is either a {@link BooleanSupplier}, which costs nothing
+ * per iteration, or a {@link Boolean} {@link Flowable}, whose first item
+ * decides each iteration (an empty or failing {@link Flowable} stops the
+ * loop).
+ *
+ * With {@link AdaptiveDelayProviderType}, the delay changes between
+ * iterations depending on whether each iteration emitted a new last item:
+ * it snaps back to {@link AdaptiveDelayProviderType#delay()} after a
+ * change, and otherwise grows by
+ * {@link AdaptiveDelayProviderType#multiplier()} up to
+ * {@link AdaptiveDelayProviderType#maxDelay()}. Polls are also recorded if
+ * it is an {@link AdaptivePolling}.
+ * @param <T> Generics parameter.
+ * @see HReactives#repeatWhile(BooleanSupplier, org.swiften.javautilities.protocol.DelayProviderType)
+ */
+final class RepeatLoop<T> extends Flowable<T> {
+    @NotNull private final Publisher<T> SOURCE;
+    @Nullable private final BooleanSupplier WHEN;
+    @Nullable private final Single<Boolean> WHEN_SINGLE;
+    @Nullable private final AdaptiveDelayProviderType POLLING;
+    @NotNull private final Scheduler SCHEDULER;
+    @NotNull private final TimeUnit UNIT;
+    private final long DELAY;
+
+    RepeatLoop(@NotNull Publisher<T> source,
+               @NotNull BooleanSupplier when,
+               long delay,
+               @NotNull TimeUnit unit,
+               @NotNull Scheduler scheduler) {
+        SOURCE = source;
+        WHEN = when;
+        WHEN_SINGLE = null;
+        POLLING = null;
+        DELAY = delay;
+        UNIT = unit;
+        SCHEDULER = scheduler;
+    }
+
+    RepeatLoop(@NotNull Publisher<T> source,
+               @NotNull Flowable<Boolean> when,
+               long delay,
+               @NotNull TimeUnit unit,
+               @NotNull Scheduler scheduler) {
+        SOURCE = source;
+        WHEN = null;
+        WHEN_SINGLE = when.first(false);
+        POLLING = null;
+        DELAY = delay;
+        UNIT = unit;
+        SCHEDULER = scheduler;
+    }
+
+    RepeatLoop(@NotNull Publisher<T> source,
+               @NotNull Flowable<Boolean> when,
+               @NotNull AdaptiveDelayProviderType polling,
+               @NotNull Scheduler scheduler) {
+        SOURCE = source;
+        WHEN = null;
+        WHEN_SINGLE = when.first(false);
+        POLLING = polling;
+        DELAY = polling.delay();
+        UNIT = polling.timeUnit();
+        SCHEDULER = scheduler;
+    }
+
+    /**
+     * Get the delay before the next poll.
+     * @param polling {@link AdaptiveDelayProviderType} instance.
+     * @param previous {@link Long} value of the previous delay.
+     * @param changed {@link Boolean} value indicating whether the poll
+     *                observed a change.
+     * @return {@link Long} value.
+     */
+    private static long nextDelay(@NotNull AdaptiveDelayProviderType polling,
+                                  long previous,
+                                  boolean changed) {
+        long min = Math.max(polling.delay(), 0);
+
+        if (changed) {
+            return min;
+        }
+
+        long max = Math.max(polling.maxDelay(), min);
+        double next = Math.max(previous, 1) * Math.max(polling.multiplier(), 1);
+        return next >= max ? max : Math.max((long)next, min);
+    }
+
+    @Override
+    protected void subscribeActual(@NotNull Subscriber<? super T> subscriber) {
+        LoopSubscriber<T> loop = new LoopSubscriber<T>(subscriber, this);
+        subscriber.onSubscribe(loop);
+        loop.resubscribe();
+    }
+
+    /**
+     * {@link Subscriber} that is resubscribed to {@link #SOURCE} on every
+     * iteration, and carries outstanding downstream demand over to each new
+     * upstream {@link Subscription}.
+     * @param <T> Generics parameter.
+     */
+    private static final class LoopSubscriber<T> implements
+        FlowableSubscriber<T>, Subscription, Runnable
+    {
+        @NotNull private final Subscriber<? super T> DOWNSTREAM;
+        @NotNull private final RepeatLoop<T> LOOP;
+        @NotNull private final AtomicInteger WIP;
+        @NotNull private final Check CHECK;
+        @Nullable private Scheduler.Worker worker;
+        @Nullable private Subscription upstream;
+        @Nullable private Disposable check;
+        @Nullable private Object state;
+        @Nullable private Object last;
+        private volatile boolean cancelled;
+        private long requested;
+        private long produced;
+        private long delay;
+
+        LoopSubscriber(@NotNull Subscriber<? super T> downstream,
+                       @NotNull RepeatLoop<T> loop) {
+            DOWNSTREAM = downstream;
+            LOOP = loop;
+            WIP = new AtomicInteger();
+            CHECK = new Check();
+            delay = loop.DELAY;
+        }
+
+        //region Subscription
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                return;
+            }
+
+            Subscription upstream;
+
+            synchronized (this) {
+                long next = requested + n;
+                requested = next < 0 ? Long.MAX_VALUE : next;
+                upstream = this.upstream;
+            }
+
+            if (HObjects.nonNull(upstream)) {
+                upstream.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Subscription upstream;
+
+            synchronized (this) {
+                upstream = this.upstream;
+            }
+
+            if (HObjects.nonNull(upstream)) {
+                upstream.cancel();
+            }
+
+            dispose();
+        }
+        //endregion
+
+        /**
+         * Release the {@link Scheduler.Worker} and the pending condition
+         * check. This is done on every terminal path, otherwise the
+         * {@link Scheduler.Worker} (and the thread behind it) would be kept
+         * alive after the loop ends.
+         */
+        private void dispose() {
+            Disposable check;
+            Scheduler.Worker worker;
+
+            synchronized (this) {
+                check = this.check;
+                worker = this.worker;
+            }
+
+            if (HObjects.nonNull(check)) {
+                check.dispose();
+            }
+
+            if (HObjects.nonNull(worker)) {
+                worker.dispose();
+            }
+        }
+
+        //region FlowableSubscriber
+        @Override
+        public void onSubscribe(@NotNull Subscription s) {
+            long requested;
+
+            synchronized (this) {
+                upstream = s;
+                requested = this.requested;
+            }
+
+            if (cancelled) {
+                s.cancel();
+            } else if (requested > 0) {
+                s.request(requested);
+            }
+        }
+
+        @Override
+        public void onNext(@NotNull T item) {
+            produced += 1;
+            last = item;
+            DOWNSTREAM.onNext(item);
+        }
+
+        @Override
+        public void onError(@NotNull Throwable t) {
+            dispose();
+            DOWNSTREAM.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                upstream = null;
+
+                if (requested != Long.MAX_VALUE) {
+                    requested -= produced;
+                }
+            }
+
+            produced = 0;
+
+            if (cancelled) {
+                return;
+            }
+
+            AdaptiveDelayProviderType polling = LOOP.POLLING;
+
+            if (HObjects.nonNull(polling)) {
+                /* Only the last item of each poll is compared, so that a
+                 * poll that emits several items is not taken as a change
+                 * when it ends where the previous one did */
+                Object last = this.last;
+                boolean changed = HObjects.nonNull(last) && !last.equals(state);
+
+                if (changed) {
+                    state = last;
+                }
+
+                delay = nextDelay(polling, delay, changed);
+
+                if (polling instanceof AdaptivePolling) {
+                    ((AdaptivePolling)polling).record(changed);
+                }
+            }
+
+            last = null;
+
+            BooleanSupplier when = LOOP.WHEN;
+
+            if (HObjects.nonNull(when)) {
+                boolean repeat;
+
+                try {
+                    repeat = when.getAsBoolean();
+                } catch (Throwable t) {
+                    Exceptions.throwIfFatal(t);
+                    dispose();
+                    DOWNSTREAM.onError(t);
+                    return;
+                }
+
+                onCheck(repeat);
+            } else {
+                LOOP.WHEN_SINGLE.subscribe(CHECK);
+            }
+        }
+        //endregion
+
+        /**
+         * Stop the loop, or schedule the next iteration. Iterations are
+         * scheduled on {@link #SCHEDULER} even without a delay, unless it
+         * is {@link Schedulers#trampoline()}, so that e.g. blocking polls
+         * run where {@link RxParam#blockingInstance()} says they should.
+         * @param repeat {@link Boolean} value.
+         */
+        private void onCheck(boolean repeat) {
+            if (cancelled) {
+                return;
+            } else if (!repeat) {
+                dispose();
+                DOWNSTREAM.onComplete();
+            } else if (delay > 0 || LOOP.SCHEDULER != Schedulers.trampoline()) {
+                Scheduler.Worker worker = this.worker;
+
+                if (HObjects.isNull(worker)) {
+                    worker = LOOP.SCHEDULER.createWorker();
+
+                    synchronized (this) {
+                        this.worker = worker;
+                    }
+
+                    if (cancelled) {
+                        worker.dispose();
+                        return;
+                    }
+                }
+
+                worker.schedule(this, Math.max(delay, 0), LOOP.UNIT);
+            } else {
+                resubscribe();
+            }
+        }
+
+        /**
+         * Run a scheduled iteration. This subscribes directly rather than
+         * going through {@link #resubscribe()}, otherwise an iteration that
+         * becomes due while the previous subscription is still unwinding
+         * would be handed back to (and run on) the thread of the latter.
+         */
+        @Override
+        public void run() {
+            if (!cancelled) {
+                LOOP.SOURCE.subscribe(this);
+            }
+        }
+
+        /**
+         * Subscribe to the source again. Synchronous sources that complete
+         * during subscription are looped over instead of recursed into.
+         */
+        void resubscribe() {
+            if (WIP.getAndIncrement() != 0) {
+                return;
+            }
+
+            do {
+                if (cancelled) {
+                    return;
+                }
+
+                LOOP.SOURCE.subscribe(this);
+            } while (WIP.decrementAndGet() != 0);
+        }
+
+        /**
+         * {@link SingleObserver} for the {@link Boolean} {@link Flowable}
+         * condition. An error from the condition stops the loop quietly,
+         * as it always has for {@link HReactives#repeatWhile(Flowable,
+         * org.swiften.javautilities.protocol.DelayProviderType)}, instead
+         * of failing downstream.
+         */
+        private final class Check implements SingleObserver<Boolean> {
+            @Override
+            public void onSubscribe(@NotNull Disposable d) {
+                synchronized (LoopSubscriber.this) {
+                    check = d;
+                }
+
+                if (cancelled) {
+                    d.dispose();
+                }
+            }
+
+            @Override
+            public void onSuccess(@NotNull Boolean repeat) {
+                onCheck(repeat);
+            }
+
+            @Override
+            public void onError(@NotNull Throwable t) {
+                onCheck(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.swiften.javautilities.rx;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Budget shared by every subscription that retries through it, so that
+ * retries cannot exceed a fraction of all calls. Each call deposits
+ * {@link #RATIO} of a token, each retry withdraws a whole token, and the
+ * balance is capped at {@link #BURST} tokens so that quiet periods do not
+ * save up an unbounded number of retries. When the balance runs out, errors
+ * are propagated instead of retried.
+ * @see HReactives#delayRetry(org.swiften.javautilities.protocol.BackoffProviderType, RetryBudget)
+ */
+public final class RetryBudget {
+    /**
+     * Balance is kept in thousandths of a token so that it can be updated
+     * atomically as a {@link Long}.
+     */
+    private static final long SCALE = 1000;
+
+    /**
+     * Get a {@link RetryBudget} instance.
+     * @param ratio {@link Double} value of the fraction of calls that may
+     *              be retried, e.g. 0.1 for 10%.
+     * @param burst {@link Integer} value of the number of retries that may
+     *              happen back to back, which is also the initial balance.
+     * @return {@link RetryBudget} instance.
+     */
+    @NotNull
+    public static RetryBudget create(double ratio, int burst) {
+        return new RetryBudget(ratio, burst);
+    }
+
+    @NotNull private final AtomicLong BALANCE;
+    @NotNull private final AtomicLong CALLS;
+    @NotNull private final AtomicLong RETRIES;
+    @NotNull private final AtomicLong REJECTED;
+    private final long DEPOSIT;
+    private final long MAXIMUM;
+    private final double RATIO;
+    private final int BURST;
+
+    RetryBudget(double ratio, int burst) {
+        if (ratio < 0) {
+            throw new RuntimeException("Ratio must not be negative");
+        }
+
+        RATIO = ratio;
+        BURST = Math.max(burst, 0);
+        DEPOSIT = (long)(ratio * SCALE);
+        MAXIMUM = BURST * SCALE;
+        BALANCE = new AtomicLong(MAXIMUM);
+        CALLS = new AtomicLong();
+        RETRIES = new AtomicLong();
+        REJECTED = new AtomicLong();
+    }
+
+    //region Getters
+    /**
+     * Get {@link #RATIO}.
+     * @return {@link Double} value.
+     */
+    public double ratio() {
+        return RATIO;
+    }
+
+    /**
+     * Get {@link #BURST}.
+     * @return {@link Integer} value.
+     */
+    public int burst() {
+        return BURST;
+    }
+
+    /**
+     * Get the number of calls made.
+     * @return {@link Long} value.
+     */
+    public long callCount() {
+        return CALLS.get();
+    }
+
+    /**
+     * Get the number of retries allowed.
+     * @return {@link Long} value.
+     */
+    public long retryCount() {
+        return RETRIES.get();
+    }
+
+    /**
+     * Get the number of retries rejected for lack of budget.
+     * @return {@link Long} value.
+     */
+    public long rejectedCount() {
+        return REJECTED.get();
+    }
+    //endregion
+
+    /**
+     * Record a call, which adds to the balance.
+     */
+    void deposit() {
+        CALLS.incrementAndGet();
+
+        while (true) {
+            long balance = BALANCE.get();
+            long next = Math.min(balance + DEPOSIT, MAXIMUM);
+
+            if (next == balance || BALANCE.compareAndSet(balance, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Take a token for a retry if the balance allows.
+     * @return {@link Boolean} value indicating whether the retry may go
+     * ahead.
+     */
+    boolean tryWithdraw() {
+        while (true) {
+            long balance = BALANCE.get();
+
+            if (balance < SCALE) {
+                REJECTED.incrementAndGet();
+                return false;
+            } else if (BALANCE.compareAndSet(balance, balance - SCALE)) {
+                RETRIES.incrementAndGet();
+                return true;
+            }
+        }
+    }
+}
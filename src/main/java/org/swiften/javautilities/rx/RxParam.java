@@ -40,6 +40,28 @@ public final class RxParam implements DelayProviderType, SchedulerProviderType {
             .build();
     }
 
+    /**
+     * Get {@link RxParam} for pipelines that block, e.g. polling with
+     * blocking I/O. Work runs on {@link HSchedulers#virtualThread()}, so
+     * many such pipelines can block at once without exhausting platform
+     * threads. With {@link HReactives#repeatWhile(Flowable, DelayProviderType)}
+     * and its variants, every repetition runs on that {@link Scheduler}
+     * even though there is no delay. The first subscription still happens
+     * on the subscribing thread, so compose with
+     * {@link Flowable#subscribeOn(Scheduler)} and {@link #scheduler()} to
+     * move that off as well.
+     * @return {@link RxParam} instance.
+     * @see Builder#withVirtualThreads()
+     */
+    @NotNull
+    public static RxParam blockingInstance() {
+        return builder()
+            .withDelay(0)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withVirtualThreads()
+            .build();
+    }
+
     @NotNull private TimeUnit unit;
     @NotNull private Scheduler scheduler;
     private long delay;
@@ -126,6 +148,28 @@ public final class RxParam implements DelayProviderType, SchedulerProviderType {
             return this;
         }
 
+        /**
+         * Set the {@link #scheduler} instance to one that runs on virtual
+         * threads, or {@link Schedulers#io()} if they are not supported.
+         * @return {@link Builder} instance.
+         * @see HSchedulers#virtualThread()
+         */
+        @NotNull
+        public Builder withVirtualThreads() {
+            return withScheduler(HSchedulers.virtualThread());
+        }
+
+        /**
+         * Set the {@link #scheduler} instance to one that keeps delayed
+         * tasks in a timing wheel.
+         * @return {@link Builder} instance.
+         * @see HSchedulers#timingWheel()
+         */
+        @NotNull
+        public Builder withTimingWheel() {
+            return withScheduler(HSchedulers.timingWheel());
+        }
+
         /**
          * Get {@link #PARAM}.
          * @return {@link RxParam} instance.
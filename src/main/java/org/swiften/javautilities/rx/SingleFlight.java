@@ -0,0 +1,366 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Coalesces concurrent requests for the same key, so that subscribers that
+ * arrive while a {@link Flowable} is in flight share its single upstream
+ * subscription instead of starting their own. Late subscribers receive the
+ * items emitted so far. If all subscribers cancel, the upstream is
+ * cancelled as well. Errors are shared but never cached. Each
+ * {@link Flowable} in flight subscribes to its upstream at most once, so
+ * subscribers that arrive after it terminates either get the cached result
+ * or start a new {@link Flowable}.
+ *
+ * With a TTL, the items of a completed {@link Flowable} are also kept and
+ * replayed to subscribers until the TTL expires, measured on the
+ * {@link Scheduler} clock. Expired results are removed on the
+ * {@link Scheduler}, even if their key is never requested again. Items are
+ * held in memory for that time, so this
+ * suits {@link Flowable} that emit a few items, e.g. a template or some
+ * remote configuration.
+ * @param <K> Generics parameter for the key.
+ * @param <T> Generics parameter for the items.
+ */
+public final class SingleFlight<K,T> {
+    /**
+     * Get a {@link SingleFlight} that only coalesces in-flight requests.
+     * @param <K> Generics parameter.
+     * @param <T> Generics parameter.
+     * @return {@link SingleFlight} instance.
+     */
+    @NotNull
+    public static <K,T> SingleFlight<K,T> create() {
+        return new SingleFlight<K,T>(0, TimeUnit.MILLISECONDS, null);
+    }
+
+    /**
+     * Get a {@link SingleFlight} that also caches completed results.
+     * @param ttl {@link Long} value of how long completed results are kept.
+     * @param unit {@link TimeUnit} instance.
+     * @param scheduler {@link Scheduler} whose clock measures the TTL.
+     * @param <K> Generics parameter.
+     * @param <T> Generics parameter.
+     * @return {@link SingleFlight} instance.
+     */
+    @NotNull
+    public static <K,T> SingleFlight<K,T> create(long ttl,
+                                                 @NotNull TimeUnit unit,
+                                                 @NotNull Scheduler scheduler) {
+        return new SingleFlight<K,T>(ttl, unit, scheduler);
+    }
+
+    @NotNull private final ConcurrentMap<K,Entry<T>> FLIGHTS;
+    @Nullable private final Scheduler SCHEDULER;
+    private final long TTL;
+
+    SingleFlight(long ttl, @NotNull TimeUnit unit, @Nullable Scheduler scheduler) {
+        FLIGHTS = new ConcurrentHashMap<K,Entry<T>>();
+        TTL = Math.max(unit.toNanos(ttl), 0);
+        SCHEDULER = scheduler;
+    }
+
+    /**
+     * Get the number of keys that are either in flight or cached.
+     * @return {@link Integer} value.
+     */
+    public int size() {
+        return FLIGHTS.size();
+    }
+
+    /**
+     * Remove the cached result for a key. A {@link Flowable} that is in
+     * flight is not affected, but later subscribers start a new one.
+     * @param key {@link K} instance.
+     */
+    public void invalidate(@NotNull K key) {
+        Entry<T> entry = FLIGHTS.remove(key);
+
+        if (HObjects.nonNull(entry)) {
+            entry.cancelEviction();
+        }
+    }
+
+    /**
+     * Get a {@link Flowable} for a key. The supplier is only called when
+     * there is neither a {@link Flowable} in flight nor a cached result for
+     * the key, and that happens on subscription.
+     * @param KEY {@link K} instance.
+     * @param SUPPLIER {@link Callable} that produces the upstream
+     *                 {@link Flowable}.
+     * @return {@link Flowable} instance.
+     */
+    @NotNull
+    public Flowable<T> get(@NotNull final K KEY,
+                           @NotNull final Callable<? extends Publisher<T>> SUPPLIER) {
+        return Flowable.defer(new Callable<Publisher<T>>() {
+            @NotNull
+            @Override
+            public Publisher<T> call() throws Exception {
+                return join(KEY, SUPPLIER);
+            }
+        });
+    }
+
+    /**
+     * Join the {@link Entry} for a key, or start one.
+     * @param key {@link K} instance.
+     * @param supplier {@link Callable} instance.
+     * @return {@link Flowable} instance.
+     */
+    @NotNull
+    private Flowable<T> join(@NotNull K key,
+                             @NotNull Callable<? extends Publisher<T>> supplier) {
+        while (true) {
+            Entry<T> entry = FLIGHTS.get(key);
+
+            if (HObjects.isNull(entry)) {
+                entry = start(key, supplier);
+
+                if (HObjects.nonNull(FLIGHTS.putIfAbsent(key, entry))) {
+                    continue;
+                }
+            }
+
+            Flowable<T> flowable = entry.flowable(now());
+
+            if (HObjects.nonNull(flowable)) {
+                return flowable;
+            }
+
+            FLIGHTS.remove(key, entry);
+        }
+    }
+
+    /**
+     * Create an {@link Entry} whose upstream is shared between subscribers
+     * and which removes itself once it is no longer useful. The upstream is
+     * connected to once and never again, unlike with
+     * {@link io.reactivex.flowables.ConnectableFlowable#refCount()}, which
+     * would reconnect (and call the supplier outside {@link #FLIGHTS}) for
+     * a subscriber that joined just before the upstream terminated.
+     * @param KEY {@link K} instance.
+     * @param SUPPLIER {@link Callable} instance.
+     * @return {@link Entry} instance.
+     */
+    @NotNull
+    private Entry<T> start(@NotNull final K KEY,
+                           @NotNull final Callable<? extends Publisher<T>> SUPPLIER) {
+        final Entry<T> ENTRY = new Entry<T>();
+
+        Flowable<T> upstream = Flowable.defer(SUPPLIER)
+            .doOnNext(new Consumer<T>() {
+                @Override
+                public void accept(@NotNull T item) throws Exception {
+                    if (TTL > 0) {
+                        ENTRY.ITEMS.add(item);
+                    }
+                }
+            })
+            .doOnComplete(new Action() {
+                @Override
+                public void run() throws Exception {
+                    if (TTL > 0) {
+                        ENTRY.complete(now() + TTL);
+                        evict(KEY, ENTRY);
+                    } else {
+                        ENTRY.terminate();
+                        FLIGHTS.remove(KEY, ENTRY);
+                    }
+                }
+            })
+            .doOnError(new Consumer<Throwable>() {
+                @Override
+                public void accept(@NotNull Throwable t) throws Exception {
+                    ENTRY.terminate();
+                    FLIGHTS.remove(KEY, ENTRY);
+                }
+            });
+
+        ENTRY.flight = upstream
+            .replay()
+            .autoConnect(1, new Consumer<Disposable>() {
+                @Override
+                public void accept(@NotNull Disposable connection) throws Exception {
+                    ENTRY.connect(connection);
+                }
+            })
+            .doOnCancel(new Action() {
+                @Override
+                public void run() throws Exception {
+                    if (ENTRY.release()) {
+                        FLIGHTS.remove(KEY, ENTRY);
+                    }
+                }
+            });
+
+        return ENTRY;
+    }
+
+    /**
+     * Remove a completed {@link Entry} once its TTL expires, unless it has
+     * been replaced by then.
+     * @param KEY {@link K} instance.
+     * @param ENTRY {@link Entry} instance.
+     */
+    private void evict(@NotNull final K KEY, @NotNull final Entry<T> ENTRY) {
+        Scheduler scheduler = SCHEDULER;
+
+        if (HObjects.nonNull(scheduler)) {
+            ENTRY.eviction = scheduler.scheduleDirect(new Runnable() {
+                @Override
+                public void run() {
+                    FLIGHTS.remove(KEY, ENTRY);
+                }
+            }, TTL, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Get the current time of {@link #SCHEDULER}.
+     * @return {@link Long} value in nanoseconds.
+     */
+    private long now() {
+        return HObjects.nonNull(SCHEDULER) ? SCHEDULER.now(TimeUnit.NANOSECONDS) : 0;
+    }
+
+    /**
+     * A {@link Flowable} that is either in flight or cached. Subscribers
+     * to {@link #flight} are counted, so that the upstream is cancelled
+     * once they all cancel, and {@link #done} stops new subscribers from
+     * joining after that or after the upstream terminates.
+     * @param <T> Generics parameter.
+     */
+    private static final class Entry<T> {
+        @NotNull private final List<T> ITEMS;
+        @NotNull private Flowable<T> flight;
+        @Nullable private Disposable connection;
+        @Nullable private volatile Flowable<T> cached;
+        @Nullable private volatile Disposable eviction;
+        private volatile long expiresAt;
+        private int subscribers;
+        private boolean done;
+
+        Entry() {
+            ITEMS = Collections.synchronizedList(new ArrayList<T>());
+            flight = Flowable.empty();
+        }
+
+        /**
+         * Keep the upstream connection so that it can be cancelled.
+         * @param connection {@link Disposable} instance.
+         */
+        synchronized void connect(@NotNull Disposable connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Stop new subscribers from joining {@link #flight}.
+         */
+        synchronized void terminate() {
+            done = true;
+        }
+
+        /**
+         * Keep the items emitted so far until a deadline.
+         * @param deadline {@link Long} value in nanoseconds.
+         */
+        void complete(long deadline) {
+            List<T> items;
+
+            synchronized (ITEMS) {
+                items = new ArrayList<T>(ITEMS);
+            }
+
+            expiresAt = deadline;
+            cached = Flowable.fromIterable(items);
+            terminate();
+        }
+
+        /**
+         * Count a subscriber of {@link #flight} out, and cancel the upstream
+         * if it was the last one.
+         * @return {@link Boolean} value indicating whether the upstream was
+         * cancelled.
+         */
+        boolean release() {
+            Disposable connection;
+
+            synchronized (this) {
+                subscribers -= 1;
+
+                if (done || subscribers > 0) {
+                    return false;
+                }
+
+                done = true;
+                connection = this.connection;
+            }
+
+            if (HObjects.nonNull(connection)) {
+                connection.dispose();
+            }
+
+            return true;
+        }
+
+        /**
+         * Cancel the pending removal of this {@link Entry}, if any.
+         */
+        void cancelEviction() {
+            Disposable eviction = this.eviction;
+
+            if (HObjects.nonNull(eviction)) {
+                eviction.dispose();
+            }
+        }
+
+        /**
+         * Get the {@link Flowable} to subscribe to. This counts a subscriber
+         * in if {@link #flight} is returned, so the caller must subscribe to
+         * it.
+         * @param now {@link Long} value in nanoseconds.
+         * @return {@link Flowable} instance, or null if there is neither a
+         * {@link Flowable} in flight nor an unexpired cached result.
+         */
+        @Nullable
+        Flowable<T> flowable(long now) {
+            synchronized (this) {
+                if (!done) {
+                    subscribers += 1;
+                    return flight;
+                }
+            }
+
+            Flowable<T> cached = this.cached;
+
+            if (HObjects.isNull(cached)) {
+                return null;
+            } else if (now - expiresAt < 0) {
+                return cached;
+            } else {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.swiften.javautilities.rx;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Lock-free sliding window counter that admits at most {@link #PERMITS}
+ * permits per window. The count for the sliding window is estimated from
+ * the count of the current fixed window and a weighted count of the
+ * previous one, so memory stays constant regardless of the number of
+ * permits. Each admission is a single compare-and-set of an immutable
+ * {@link Window}.
+ */
+final class SlidingWindow implements PermitSourceType {
+    @NotNull private final AtomicReference<Window> WINDOW;
+    private final long LENGTH;
+    private final int PERMITS;
+
+    /**
+     * @param length {@link Long} value of the window length.
+     * @param unit {@link TimeUnit} of the window length.
+     * @param permits {@link Integer} value of the number of permits per
+     *                window.
+     */
+    SlidingWindow(long length, @NotNull TimeUnit unit, int permits) {
+        if (permits < 1) {
+            throw new RuntimeException("Permits must be at least 1");
+        }
+
+        LENGTH = Math.max(unit.toNanos(length), 1);
+        PERMITS = permits;
+        WINDOW = new AtomicReference<Window>();
+    }
+
+    @Override
+    public long tryAcquire(long now) {
+        while (true) {
+            Window window = WINDOW.get();
+            Window current = roll(window, now);
+            long elapsed = now - current.START;
+            int previous = current.PREVIOUS;
+            int count = current.COUNT;
+            double weight = (double)(LENGTH - elapsed) / LENGTH;
+
+            if (previous * weight + count + 1 <= PERMITS) {
+                Window next = new Window(current.START, count + 1, previous);
+
+                if (WINDOW.compareAndSet(window, next)) {
+                    return 0;
+                }
+            } else if (count + 1 > PERMITS || previous == 0) {
+                /* Nothing frees up until the next window starts */
+                return LENGTH - elapsed;
+            } else {
+                /* The weight of the previous window must drop far enough
+                 * for one more permit */
+                double allowed = (double)(PERMITS - count - 1) / previous;
+                long target = (long)Math.ceil(LENGTH * (1 - allowed));
+                return Math.max(target - elapsed, 1);
+            }
+        }
+    }
+
+    /**
+     * Move a {@link Window} forward so that it contains the current time.
+     * @param window {@link Window} instance. May be null if no permit has
+     *               been taken yet.
+     * @param now {@link Long} value of the current time in nanoseconds.
+     * @return {@link Window} instance.
+     */
+    @NotNull
+    private Window roll(@Nullable Window window, long now) {
+        if (HObjects.isNull(window)) {
+            return new Window(now, 0, 0);
+        }
+
+        long elapsed = now - window.START;
+
+        if (elapsed < LENGTH) {
+            return window;
+        }
+
+        long windows = elapsed / LENGTH;
+        long start = window.START + windows * LENGTH;
+        int previous = windows == 1 ? window.COUNT : 0;
+        return new Window(start, 0, previous);
+    }
+
+    /**
+     * Immutable state of the current fixed window.
+     */
+    private static final class Window {
+        private final long START;
+        private final int COUNT;
+        private final int PREVIOUS;
+
+        Window(long start, int count, int previous) {
+            START = start;
+            COUNT = count;
+            PREVIOUS = previous;
+        }
+    }
+}
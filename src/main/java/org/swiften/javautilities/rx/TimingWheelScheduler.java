@@ -0,0 +1,409 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.swiften.javautilities.object.HObjects;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * {@link Scheduler} that keeps delayed tasks in a hashed timing wheel
+ * instead of a heap. Scheduling and cancelling a delayed task only adds it
+ * to a lock-free queue, which a single ticker thread drains into the wheel
+ * once per tick, so both are O(1) and do not contend on a shared lock
+ * regardless of how many timers are pending. The price is precision:
+ * delays are rounded up to whole ticks.
+ *
+ * Due tasks are not run on the ticker thread, but handed over to a
+ * {@link Scheduler.Worker} of the delegate {@link Scheduler}, which also
+ * runs tasks without delay directly. Each {@link Scheduler.Worker} of this
+ * {@link Scheduler} has its own delegate {@link Scheduler.Worker}, so tasks
+ * of the same {@link Scheduler.Worker} still never overlap.
+ * @see HSchedulers#timingWheel()
+ */
+public final class TimingWheelScheduler extends Scheduler {
+    private static final int CREATED = 0;
+    private static final int STARTED = 1;
+    private static final int SHUTDOWN = 2;
+
+    @NotNull private final Scheduler DELEGATE;
+    @NotNull private final Bucket[] WHEEL;
+    @NotNull private final Queue<Timeout> PENDING;
+    @NotNull private final Queue<Timeout> CANCELLED;
+    @NotNull private final AtomicInteger STATE;
+    private final long START_TIME;
+    private final long TICK;
+    private final int MASK;
+
+    /**
+     * @param delegate {@link Scheduler} that runs due tasks.
+     * @param tick {@link Long} value of the tick duration.
+     * @param unit {@link TimeUnit} of the tick duration.
+     * @param wheelSize {@link Integer} value of the number of buckets,
+     *                  which is rounded up to a power of two.
+     */
+    public TimingWheelScheduler(@NotNull Scheduler delegate,
+                                long tick,
+                                @NotNull TimeUnit unit,
+                                int wheelSize) {
+        if (tick <= 0 || wheelSize <= 0) {
+            throw new RuntimeException("Tick and wheel size must be positive");
+        }
+
+        int size = Integer.highestOneBit(Math.min(wheelSize, 1 << 30));
+        size = size < wheelSize ? size << 1 : size;
+
+        DELEGATE = delegate;
+        TICK = Math.max(unit.toNanos(tick), TimeUnit.MILLISECONDS.toNanos(1));
+        MASK = size - 1;
+        WHEEL = new Bucket[size];
+        PENDING = new ConcurrentLinkedQueue<Timeout>();
+        CANCELLED = new ConcurrentLinkedQueue<Timeout>();
+        STATE = new AtomicInteger(CREATED);
+        START_TIME = System.nanoTime();
+
+        for (int i = 0; i < size; i++) {
+            WHEEL[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Same as above, but uses a tick of 10 milliseconds and 512 buckets.
+     * @param delegate {@link Scheduler} instance.
+     * @see #TimingWheelScheduler(Scheduler, long, TimeUnit, int)
+     */
+    public TimingWheelScheduler(@NotNull Scheduler delegate) {
+        this(delegate, 10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * Get the number of delayed tasks that have not been moved into the
+     * wheel yet.
+     * @return {@link Integer} value.
+     */
+    public int pendingCount() {
+        return PENDING.size();
+    }
+
+    @NotNull
+    @Override
+    public Worker createWorker() {
+        return new WheelWorker(DELEGATE.createWorker());
+    }
+
+    /**
+     * Stop the ticker thread. Tasks that are in the wheel will not run.
+     */
+    @Override
+    public void shutdown() {
+        STATE.set(SHUTDOWN);
+    }
+
+    /**
+     * Add a {@link Timeout} to be moved into the wheel on the next tick,
+     * starting the ticker thread if needed.
+     * @param timeout {@link Timeout} instance.
+     * @return {@link Boolean} value indicating whether the
+     * {@link Timeout} was accepted.
+     */
+    private boolean add(@NotNull Timeout timeout) {
+        if (!ensureStarted()) {
+            return false;
+        }
+
+        timeout.deadline = System.nanoTime() - START_TIME + timeout.DELAY;
+        PENDING.add(timeout);
+        return true;
+    }
+
+    /**
+     * Start the ticker thread if it has not been started.
+     * @return {@link Boolean} value indicating whether the ticker thread is
+     * running.
+     */
+    private boolean ensureStarted() {
+        int state = STATE.get();
+
+        if (state == CREATED && STATE.compareAndSet(CREATED, STARTED)) {
+            Thread thread = new Thread(new Ticker(), "TimingWheelScheduler");
+            thread.setDaemon(true);
+            thread.start();
+            return true;
+        }
+
+        return state != SHUTDOWN;
+    }
+
+    /**
+     * Runs on the ticker thread and advances the wheel once per tick.
+     */
+    private final class Ticker implements Runnable {
+        private long tick;
+
+        @Override
+        public void run() {
+            tick = (System.nanoTime() - START_TIME) / TICK;
+
+            while (STATE.get() == STARTED) {
+                long deadline = waitForNextTick();
+                removeCancelled();
+                transferPending();
+                WHEEL[(int)(tick & MASK)].expire(deadline);
+                tick += 1;
+            }
+        }
+
+        /**
+         * Sleep until the end of the current tick.
+         * @return {@link Long} value of the time at the end of the tick,
+         * relative to {@link #START_TIME}.
+         */
+        private long waitForNextTick() {
+            long deadline = TICK * (tick + 1);
+
+            while (true) {
+                long remaining = deadline - (System.nanoTime() - START_TIME);
+
+                if (remaining <= 0) {
+                    return deadline;
+                }
+
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+
+        /**
+         * Unlink cancelled {@link Timeout} from their {@link Bucket}.
+         */
+        private void removeCancelled() {
+            Timeout timeout;
+
+            while (HObjects.nonNull(timeout = CANCELLED.poll())) {
+                Bucket bucket = timeout.bucket;
+
+                if (HObjects.nonNull(bucket)) {
+                    bucket.remove(timeout);
+                }
+            }
+        }
+
+        /**
+         * Move pending {@link Timeout} into their {@link Bucket}. The
+         * number moved per tick is capped so that a burst of new timers
+         * cannot stall the wheel.
+         */
+        private void transferPending() {
+            for (int i = 0; i < 100000; i++) {
+                Timeout timeout = PENDING.poll();
+
+                if (HObjects.isNull(timeout)) {
+                    return;
+                } else if (timeout.STATE.get() != Timeout.WAITING) {
+                    continue;
+                }
+
+                long ticks = Math.max(timeout.deadline / TICK, tick);
+                timeout.rounds = (ticks - tick) / WHEEL.length;
+                WHEEL[(int)(ticks & MASK)].add(timeout);
+            }
+        }
+    }
+
+    /**
+     * Doubly-linked list of {@link Timeout} that hash to the same slot of
+     * the wheel. Only accessed by the ticker thread.
+     */
+    private static final class Bucket {
+        @Nullable private Timeout head;
+        @Nullable private Timeout tail;
+
+        void add(@NotNull Timeout timeout) {
+            timeout.bucket = this;
+
+            if (HObjects.isNull(head)) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(@NotNull Timeout timeout) {
+            Timeout next = timeout.next;
+
+            if (HObjects.nonNull(timeout.prev)) {
+                timeout.prev.next = next;
+            }
+
+            if (HObjects.nonNull(next)) {
+                next.prev = timeout.prev;
+            }
+
+            if (timeout == head) {
+                head = next;
+            }
+
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Hand over every {@link Timeout} that is due, and count down the
+         * rounds of the rest.
+         * @param deadline {@link Long} value of the end of the current
+         *                 tick, relative to {@link #START_TIME}.
+         */
+        void expire(long deadline) {
+            Timeout timeout = head;
+
+            while (HObjects.nonNull(timeout)) {
+                Timeout next = timeout.next;
+
+                if (timeout.rounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.STATE.get() == Timeout.CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.rounds -= 1;
+                }
+
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * A delayed task of a {@link WheelWorker}.
+     */
+    private static final class Timeout implements Disposable, Runnable {
+        private static final int WAITING = 0;
+        private static final int DUE = 1;
+        private static final int CANCELLED = 2;
+        private static final int DONE = 3;
+
+        @NotNull private final WheelWorker WORKER;
+        @NotNull private final Runnable RUNNABLE;
+        @NotNull private final AtomicInteger STATE;
+        private final long DELAY;
+        @Nullable private Bucket bucket;
+        @Nullable private Timeout prev;
+        @Nullable private Timeout next;
+        private long deadline;
+        private long rounds;
+
+        Timeout(@NotNull WheelWorker worker, @NotNull Runnable runnable, long delay) {
+            WORKER = worker;
+            RUNNABLE = runnable;
+            DELAY = delay;
+            STATE = new AtomicInteger(WAITING);
+        }
+
+        /**
+         * Hand this {@link Timeout} over to the delegate
+         * {@link Scheduler.Worker}.
+         */
+        void expire() {
+            if (STATE.compareAndSet(WAITING, DUE)) {
+                WORKER.DELEGATE.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (STATE.compareAndSet(DUE, DONE)) {
+                WORKER.TASKS.delete(this);
+                RUNNABLE.run();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (STATE.compareAndSet(WAITING, CANCELLED)) {
+                WORKER.cancel(this);
+            } else if (STATE.compareAndSet(DUE, CANCELLED)) {
+                WORKER.TASKS.delete(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            int state = STATE.get();
+            return state == CANCELLED || state == DONE;
+        }
+    }
+
+    /**
+     * {@link Scheduler.Worker} that keeps delayed tasks in the wheel.
+     */
+    private final class WheelWorker extends Worker {
+        @NotNull private final Worker DELEGATE;
+        @NotNull private final CompositeDisposable TASKS;
+
+        WheelWorker(@NotNull Worker delegate) {
+            DELEGATE = delegate;
+            TASKS = new CompositeDisposable();
+        }
+
+        @NotNull
+        @Override
+        public Disposable schedule(@NotNull Runnable run, long delay, @NotNull TimeUnit unit) {
+            if (TASKS.isDisposed()) {
+                return Disposables.disposed();
+            }
+
+            long nanos = unit.toNanos(delay);
+
+            if (nanos <= 0) {
+                return DELEGATE.schedule(run);
+            }
+
+            Timeout timeout = new Timeout(this, run, nanos);
+
+            if (!TASKS.add(timeout) || !add(timeout)) {
+                timeout.dispose();
+                return Disposables.disposed();
+            }
+
+            return timeout;
+        }
+
+        /**
+         * Forget a {@link Timeout} that was cancelled while waiting.
+         * @param timeout {@link Timeout} instance.
+         */
+        void cancel(@NotNull Timeout timeout) {
+            TASKS.delete(timeout);
+            CANCELLED.add(timeout);
+        }
+
+        @Override
+        public void dispose() {
+            TASKS.dispose();
+            DELEGATE.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return TASKS.isDisposed();
+        }
+    }
+}
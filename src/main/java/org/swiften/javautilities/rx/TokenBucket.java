@@ -0,0 +1,86 @@
+package org.swiften.javautilities.rx;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+
+/**
+ * Lock-free token bucket that hands out permits at a fixed interval, with up
+ * to {@link #BURST} permits available at once. Instead of tracking tokens
+ * directly, it tracks the time at which the bucket would next be empty, so
+ * every reservation is a single compare-and-set.
+ */
+final class TokenBucket implements PermitSourceType {
+    @NotNull private final AtomicLong EMPTY_AT;
+    private final long INTERVAL;
+    private final long TOLERANCE;
+    private final int BURST;
+
+    /**
+     * @param interval {@link Long} value of the interval between permits.
+     * @param unit {@link TimeUnit} of the interval.
+     * @param burst {@link Integer} value of the maximum number of permits
+     *              available at once.
+     */
+    TokenBucket(long interval, @NotNull TimeUnit unit, int burst) {
+        if (burst < 1) {
+            throw new RuntimeException("Burst must be at least 1");
+        }
+
+        INTERVAL = Math.max(unit.toNanos(interval), 0);
+        BURST = burst;
+        TOLERANCE = INTERVAL * (burst - 1);
+        EMPTY_AT = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Get {@link #BURST}.
+     * @return {@link Integer} value.
+     */
+    int burst() {
+        return BURST;
+    }
+
+    /**
+     * Reserve a permit, regardless of whether one is available now.
+     * @param now {@link Long} value of the current time in nanoseconds.
+     * @return {@link Long} value of the nanoseconds to wait before the
+     * permit may be used.
+     */
+    long reserve(long now) {
+        while (true) {
+            long emptyAt = EMPTY_AT.get();
+            long base = Math.max(emptyAt, now);
+
+            if (EMPTY_AT.compareAndSet(emptyAt, base + INTERVAL)) {
+                return Math.max(base - TOLERANCE - now, 0);
+            }
+        }
+    }
+
+    /**
+     * Take a permit only if one is available now.
+     * @param now {@link Long} value of the current time in nanoseconds.
+     * @return {@link Long} value of 0 if a permit was taken, or the
+     * nanoseconds to wait until one is available.
+     */
+    @Override
+    public long tryAcquire(long now) {
+        while (true) {
+            long emptyAt = EMPTY_AT.get();
+            long base = Math.max(emptyAt, now);
+            long wait = base - TOLERANCE - now;
+
+            if (wait > 0) {
+                return wait;
+            } else if (EMPTY_AT.compareAndSet(emptyAt, base + INTERVAL)) {
+                return 0;
+            }
+        }
+    }
+}
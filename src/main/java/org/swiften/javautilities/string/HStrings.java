@@ -5,7 +5,8 @@ import org.jetbrains.annotations.Nullable;
 import org.swiften.javautilities.number.HNumbers;
 import org.swiften.javautilities.object.HObjects;
 
-import java.util.List;
+import java.util.*;
+import java.util.regex.Pattern;
 
 /**
  * Created by haipham on 4/6/17.
@@ -88,16 +89,158 @@ public final class HStrings {
         requireNotNullOrEmpty(target, "");
     }
 
+    /**
+     * Maximum number of compiled {@link Pattern} kept by
+     * {@link #compiledPattern(String)}.
+     */
+    private static final int PATTERN_CACHE_SIZE = 64;
+
+    @NotNull private static final Map<String,Pattern> PATTERNS
+        = new LinkedHashMap<String,Pattern>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(@NotNull Map.Entry<String,Pattern> eldest) {
+                return size() > PATTERN_CACHE_SIZE;
+            }
+        };
+
     /**
      * Remove all instance of {@link String} value from another {@link String}.
+     * The removable is a regular expression, as with
+     * {@link String#replaceAll(String, String)}; use
+     * {@link #removeLiterally(String, String)} to remove it literally.
      * @param original The original {@link String} value.
      * @param removable The {@link String} value to be removed.
      * @return {@link String} value.
+     * @see #removeAllMatches(String, String)
      */
     @NotNull
     public static String removeAll(@NotNull String original,
                                    @NotNull String removable) {
-        return original.replaceAll(removable, "");
+        return removeAllMatches(original, removable);
+    }
+
+    /**
+     * Remove all instance of {@link String} value from another
+     * {@link String}. Unlike {@link #removeAll(String, String)}, the
+     * removable is matched literally, so regular expression
+     * metacharacters have no special meaning.
+     * @param original The original {@link String} value.
+     * @param removable The {@link String} value to be removed.
+     * @return {@link String} value.
+     */
+    @NotNull
+    public static String removeLiterally(@NotNull String original,
+                                         @NotNull String removable) {
+        int length = removable.length();
+        int index;
+
+        if (length == 0 || (index = original.indexOf(removable)) < 0) {
+            return original;
+        }
+
+        StringBuilder builder = new StringBuilder(original.length());
+        int start = 0;
+
+        do {
+            builder.append(original, start, index);
+            start = index + length;
+        } while ((index = original.indexOf(removable, start)) >= 0);
+
+        return builder.append(original, start, original.length()).toString();
+    }
+
+    /**
+     * Same as above, but removes all instances of several {@link String}
+     * in a single pass. Where removables overlap at the same position, the
+     * longest one is removed.
+     * @param original The original {@link String} value.
+     * @param removables {@link Collection} of {@link String} to be removed.
+     * @return {@link String} value.
+     * @see #removeLiterally(String, String)
+     */
+    @NotNull
+    public static String removeLiterally(@NotNull String original,
+                                         @NotNull Collection<String> removables) {
+        List<String> needles = new ArrayList<String>(removables.size());
+
+        for (String removable : removables) {
+            if (!removable.isEmpty() && original.contains(removable)) {
+                needles.add(removable);
+            }
+        }
+
+        switch (needles.size()) {
+            case 0:
+                return original;
+
+            case 1:
+                return removeLiterally(original, needles.get(0));
+
+            default:
+                break;
+        }
+
+        Collections.sort(needles, new Comparator<String>() {
+            @Override
+            public int compare(@NotNull String a, @NotNull String b) {
+                return b.length() - a.length();
+            }
+        });
+
+        StringBuilder builder = new StringBuilder(original.length());
+        int length = original.length();
+        int i = 0;
+
+        outer:
+        while (i < length) {
+            for (String needle : needles) {
+                if (original.startsWith(needle, i)) {
+                    i += needle.length();
+                    continue outer;
+                }
+            }
+
+            builder.append(original.charAt(i++));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Remove all matches of a regular expression from a {@link String}.
+     * The compiled {@link Pattern} is cached, so repeated calls with the
+     * same regular expression do not recompile it.
+     * @param original The original {@link String} value.
+     * @param regex {@link String} value of the regular expression.
+     * @return {@link String} value.
+     * @see #compiledPattern(String)
+     */
+    @NotNull
+    public static String removeAllMatches(@NotNull String original,
+                                          @NotNull String regex) {
+        return compiledPattern(regex).matcher(original).replaceAll("");
+    }
+
+    /**
+     * Get a compiled {@link Pattern} for a regular expression. The least
+     * recently used {@link Pattern} are evicted once
+     * {@link #PATTERN_CACHE_SIZE} is exceeded.
+     * @param regex {@link String} value of the regular expression.
+     * @return {@link Pattern} instance.
+     * @see Pattern#compile(String)
+     */
+    @NotNull
+    public static Pattern compiledPattern(@NotNull String regex) {
+        synchronized (PATTERNS) {
+            Pattern pattern = PATTERNS.get(regex);
+
+            if (HObjects.isNull(pattern)) {
+                pattern = Pattern.compile(regex);
+                PATTERNS.put(regex, pattern);
+            }
+
+            return pattern;
+        }
     }
 
     private HStrings() {}
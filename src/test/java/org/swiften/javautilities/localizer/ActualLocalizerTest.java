@@ -14,10 +14,10 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Mockito.spy;
 
@@ -26,6 +26,7 @@ import static org.mockito.Mockito.spy;
  */
 public final class ActualLocalizerTest implements LocalizeErrorType {
     @NotNull private final Localizer LOCALIZER;
+    @NotNull private final Localizer INDEXED;
     @NotNull private final String[] STRINGS;
     @NotNull private final LCFormat[] FORMATS;
 
@@ -35,6 +36,12 @@ public final class ActualLocalizerTest implements LocalizeErrorType {
             .addBundle("Strings", new Locale("vi_VN"))
             .build());
 
+        INDEXED = Localizer.builder()
+            .addBundle("Strings", Locale.US)
+            .addBundle("Strings", new Locale("vi_VN"))
+            .withPrecompiledIndex(true)
+            .build();
+
         STRINGS = new String[] {
             "auth_title_email",
             "auth_title_password",
@@ -143,4 +150,189 @@ public final class ActualLocalizerTest implements LocalizeErrorType {
         subscriber.assertNoErrors();
         subscriber.assertComplete();
     }
+
+    @Test(dataProvider = "localeProvider")
+    public void test_localizeWithPrecompiledIndex_shouldMatchBundles(@Nullable Locale locale) {
+        // Setup
+        List<String> texts = new LinkedList<String>(Arrays.asList(STRINGS));
+        texts.add("format_pattern_1");
+        texts.add("non_existent_key");
+
+        // When && Then
+        for (String text : texts) {
+            Assert.assertEquals(INDEXED.localize(text, locale), LOCALIZER.localize(text, locale));
+            Assert.assertEquals(INDEXED.localize(text), LOCALIZER.localize(text));
+        }
+
+        for (LCFormat format : FORMATS) {
+            Assert.assertEquals(INDEXED.localize(format, locale), LOCALIZER.localize(format, locale));
+        }
+    }
+
+    @Test(dataProvider = "localeProvider")
+    public void test_localizeWithCompiledTemplates_shouldMatchMessageFormat(@Nullable Locale locale) {
+        // Setup
+        Localizer compiled = Localizer.builder()
+            .addBundle("Strings", Locale.US)
+            .addBundle("Strings", new Locale("vi_VN"))
+            .withCompiledTemplates(true)
+            .build();
+
+        // When && Then
+        for (LCFormat format : FORMATS) {
+            Assert.assertEquals(compiled.localize(format, locale), LOCALIZER.localize(format, locale));
+        }
+    }
+
+    @Test(dataProvider = "localeProvider")
+    public void test_localizeInBatch_shouldMatchIndividualLocalization(@Nullable Locale locale) {
+        // Setup
+        List<String> texts = Arrays.asList(STRINGS);
+        List<LCFormat> formats = Arrays.asList(FORMATS);
+
+        // When
+        List<String> localized = LOCALIZER.localizeTexts(texts, locale);
+        List<String> indexed = INDEXED.rxa_localizeTexts(texts, locale).blockingFirst();
+        List<String> formatted = LOCALIZER.rxa_localizeFormats(formats, locale).blockingFirst();
+
+        // Then
+        Assert.assertEquals(localized.size(), texts.size());
+        Assert.assertEquals(formatted.size(), formats.size());
+
+        for (int i = 0, size = texts.size(); i < size; i++) {
+            Assert.assertEquals(localized.get(i), LOCALIZER.localize(texts.get(i), locale));
+            Assert.assertEquals(indexed.get(i), localized.get(i));
+        }
+
+        for (int i = 0, size = formats.size(); i < size; i++) {
+            Assert.assertEquals(formatted.get(i), LOCALIZER.localize(formats.get(i), locale));
+        }
+    }
+
+    /**
+     * Get the entries of every {@link ResourceBundle} of a {@link Localizer}.
+     * Bundles are not cached, so each {@link Localizer} loads its own
+     * instances and they are compared by content instead.
+     * @param localizer {@link Localizer} instance.
+     * @return {@link List} of {@link Map}.
+     */
+    @NotNull
+    private List<Map<String,String>> contents(@NotNull Localizer localizer) {
+        List<Map<String,String>> contents = new ArrayList<>();
+
+        for (ResourceBundle bundle : localizer.bundles()) {
+            Map<String,String> entries = new HashMap<>();
+
+            for (String key : bundle.keySet()) {
+                entries.put(key, bundle.getString(key));
+            }
+
+            contents.add(entries);
+        }
+
+        return contents;
+    }
+
+    @Test
+    public void test_addBundlesInParallel_shouldMatchSequentialLoading() {
+        // Setup
+        List<Locale> locales = Arrays.asList(Locale.US, new Locale("vi_VN"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Localizer parallel = Localizer.builder()
+            .withExecutor(executor)
+            .addBundles(Collections.singletonList("Strings"), locales)
+            .build();
+
+        Localizer pooled = Localizer.builder()
+            .addBundles(Collections.singletonList("Strings"), locales)
+            .build();
+
+        executor.shutdown();
+
+        // Then
+        Assert.assertEquals(parallel.locales(), LOCALIZER.locales());
+        Assert.assertEquals(pooled.locales(), LOCALIZER.locales());
+        Assert.assertEquals(contents(parallel), contents(LOCALIZER));
+        Assert.assertEquals(contents(pooled), contents(LOCALIZER));
+        Assert.assertEquals(parallel.loadTimes().size(), locales.size());
+        Assert.assertEquals(parallel.loadTimes().get(0).source(), "Strings_en_US");
+
+        for (LCLoadTime time : parallel.loadTimes()) {
+            Assert.assertTrue(time.time(TimeUnit.NANOSECONDS) >= 0);
+        }
+    }
+
+    @Test
+    public void test_addBundlesWithNothingToLoad_shouldAddNothing() {
+        // Setup
+        List<String> names = Collections.emptyList();
+        List<Locale> locales = Collections.emptyList();
+
+        // When
+        Localizer localizer = Localizer.builder()
+            .addBundles(names, Collections.singletonList(Locale.US))
+            .addBundles(Collections.singletonList("Strings"), locales)
+            .build();
+
+        // Then
+        Assert.assertTrue(localizer.bundles().isEmpty());
+        Assert.assertTrue(localizer.loadTimes().isEmpty());
+    }
+
+    @Test
+    public void test_addBundleAfterBuild_shouldUpdateRoutes() {
+        // Setup
+        Localizer.Builder builder = Localizer.builder().withPrecompiledIndex(true);
+        Localizer localizer = builder.build();
+        Locale locale = new Locale("en", "GB");
+        Assert.assertEquals(localizer.localize("localizable_cake", locale), "localizable_cake");
+
+        // When
+        builder.addBundle("Strings", Locale.US);
+        builder.addBundle("Strings", Locale.ENGLISH);
+
+        // Then
+        Assert.assertEquals(builder.build(), localizer);
+        Assert.assertEquals(localizer.bundles().size(), 2);
+        Assert.assertEquals(localizer.loadTimes().size(), 2);
+        Assert.assertEquals(localizer.localize("localizable_cake", Locale.US), LOCALIZER.localize("localizable_cake", Locale.US));
+        Assert.assertFalse(localizer.reloadIfModified());
+    }
+
+    @Test(expectedExceptions = MissingResourceException.class)
+    public void test_addBundlesInParallelWithMissingBundle_shouldThrow() {
+        // Setup && When && Then
+        Localizer.builder().addBundles(
+            Arrays.asList("Strings", "NonExistent"),
+            Collections.singletonList(Locale.US));
+    }
+
+    @Test
+    public void test_localizeWithResultCache_shouldServeRepeatedFormats() {
+        // Setup
+        Localizer cached = Localizer.builder()
+            .addBundle("Strings", Locale.US)
+            .withResultCacheSize(16)
+            .build();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            for (LCFormat format : FORMATS) {
+                LCFormat copy = LCFormat.builder()
+                    .withPattern(format.pattern())
+                    .addArguments(Arrays.asList(format.arguments()))
+                    .build();
+
+                Assert.assertEquals(cached.localize(copy, Locale.US), LOCALIZER.localize(format, Locale.US));
+            }
+        }
+
+        // Then
+        LCResultCache cache = cached.resultCache();
+        Assert.assertEquals(cache.size(), FORMATS.length);
+        Assert.assertEquals(cache.missCount(), FORMATS.length);
+        Assert.assertEquals(cache.hitCount(), FORMATS.length * 2);
+    }
 }
@@ -0,0 +1,85 @@
+package org.swiften.javautilities.localizer;
+
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class BundleSourceTest {
+    @Test
+    public void test_mapBundleSource_shouldLocalizeWithFallback() {
+        for (boolean precompile : new boolean[] { false, true }) {
+            // Setup
+            MapBundleSource source = new MapBundleSource()
+                .put(Locale.US, "greeting", "Hello")
+                .put(Locale.ROOT, "greeting", "Hi")
+                .put(Locale.ROOT, "farewell", "Goodbye");
+
+            // When
+            Localizer localizer = Localizer.builder()
+                .addBundleSource(source, Locale.US)
+                .addBundleSource(source, Locale.ROOT)
+                .withPrecompiledIndex(precompile)
+                .build();
+
+            // Then
+            assertEquals(localizer.localize("greeting", Locale.US), "Hello");
+            assertEquals(localizer.localize("farewell", Locale.US), "Goodbye");
+            assertEquals(localizer.localize("greeting", Locale.FRANCE), "Hi");
+            assertEquals(localizer.localize("unknown", Locale.US), "unknown");
+        }
+    }
+
+    @Test
+    public void test_lookupBeforePrefetch_shouldReadThroughOnce() throws Exception {
+        // Setup
+        final CountDownLatch RELEASE = new CountDownLatch(1);
+        BundleSourceType source = mock(BundleSourceType.class);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        doReturn("Hello").when(source).get("greeting", Locale.US);
+
+        doAnswer(a -> {
+            RELEASE.await();
+            return Collections.singletonMap("farewell", "Goodbye");
+        }).when(source).getAll(Locale.US);
+
+        Localizer localizer = Localizer.builder()
+            .withExecutor(executor)
+            .addBundleSource(source, Locale.US)
+            .build();
+
+        LCCachedBundle bundle = (LCCachedBundle)localizer.bundles().get(0);
+
+        // When
+        assertEquals(localizer.localize("greeting", Locale.US), "Hello");
+        assertEquals(localizer.localize("greeting", Locale.US), "Hello");
+        assertEquals(localizer.localize("missing", Locale.US), "missing");
+        assertEquals(localizer.localize("missing", Locale.US), "missing");
+        RELEASE.countDown();
+
+        while (!bundle.isComplete()) {
+            Thread.sleep(5);
+        }
+
+        // Then
+        assertEquals(localizer.localize("farewell", Locale.US), "Goodbye");
+        assertEquals(localizer.localize("unknown", Locale.US), "unknown");
+        verify(source, times(1)).get("greeting", Locale.US);
+        verify(source, times(1)).get("missing", Locale.US);
+        verify(source, times(2)).get(anyString(), any(Locale.class));
+        assertTrue(bundle.keySet().contains("greeting"));
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,140 @@
+package org.swiften.javautilities.localizer;
+
+import org.testng.annotations.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class LCCatalogTest {
+    @Test
+    public void test_compileAndOpen_shouldPreserveEntries() throws Exception {
+        // Setup
+        Map<String,String> entries = new HashMap<String,String>();
+        entries.put("a", "Alpha");
+        entries.put("ab", "Alpha Beta");
+        entries.put("z", "Zeta");
+        entries.put("unicode_ключ", "Địa chỉ");
+        entries.put("", "Empty key");
+        File file = File.createTempFile("catalog", ".lcc");
+        file.deleteOnExit();
+
+        // When
+        LCCatalog.compile(entries, new Locale("vi", "VN"), file);
+        ResourceBundle bundle = LCCatalog.open(file);
+
+        // Then
+        assertEquals(bundle.getLocale(), new Locale("vi", "VN"));
+        assertEquals(bundle.keySet(), entries.keySet());
+
+        for (Map.Entry<String,String> entry : entries.entrySet()) {
+            assertEquals(bundle.getString(entry.getKey()), entry.getValue());
+        }
+
+        assertFalse(bundle.containsKey("b"));
+        assertFalse(bundle.containsKey("aa"));
+    }
+
+    @Test
+    public void test_compiledBundle_shouldLocalizeLikeProperties() throws Exception {
+        // Setup
+        ResourceBundle source = ResourceBundle.getBundle("Strings", Locale.US);
+        File file = File.createTempFile("strings", ".lcc");
+        file.deleteOnExit();
+        LCCatalog.compile(source, file);
+
+        Localizer properties = Localizer.builder().addBundle("Strings", Locale.US).build();
+        Localizer catalog = Localizer.builder().addCatalog(file).build();
+
+        LCFormat format = LCFormat.builder()
+            .withPattern("format_pattern_1")
+            .addArgument(2)
+            .addArgument("localizable_cake")
+            .addArgument("localizable_table")
+            .build();
+
+        // When && Then
+        for (String key : source.keySet()) {
+            assertEquals(catalog.localize(key, Locale.US), properties.localize(key, Locale.US));
+        }
+
+        assertEquals(catalog.localize(format, Locale.US), properties.localize(format, Locale.US));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void test_openInvalidFile_shouldThrow() throws Exception {
+        // Setup
+        File file = File.createTempFile("invalid", ".lcc");
+        file.deleteOnExit();
+
+        // When && Then
+        LCCatalog.open(file);
+    }
+
+    @Test
+    public void test_recompileOpenCatalog_shouldNotChangeMappedBundle() throws Exception {
+        // Setup
+        File file = File.createTempFile("catalog", ".lcc");
+        file.deleteOnExit();
+        LCCatalog.compile(Collections.singletonMap("key", "Old"), Locale.US, file);
+        ResourceBundle old = LCCatalog.open(file);
+
+        // When
+        Map<String,String> entries = new HashMap<String,String>();
+        entries.put("key", "New");
+        entries.put("other", "Other");
+        LCCatalog.compile(entries, Locale.US, file);
+        ResourceBundle recompiled = LCCatalog.open(file);
+
+        // Then
+        assertEquals(old.getString("key"), "Old");
+        assertEquals(old.keySet(), Collections.singleton("key"));
+        assertEquals(recompiled.getString("key"), "New");
+        assertEquals(recompiled.keySet(), entries.keySet());
+        assertEquals(file.getParentFile().listFiles((dir, name) -> name.startsWith(file.getName()) && name.endsWith(".tmp")).length, 0);
+    }
+
+    @Test
+    public void test_openCatalogWithBadHeader_shouldThrow() throws Exception {
+        // Setup
+        int[][] headers = {
+            {Integer.MAX_VALUE, 0, 0},
+            {-1, 0, 0},
+            {0, 0, 1000},
+            {1, -5, 2}
+        };
+
+        for (int[] header : headers) {
+            File file = File.createTempFile("corrupt", ".lcc");
+            file.deleteOnExit();
+            DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+            output.writeInt(0x4C434331);
+            output.writeInt(1);
+
+            for (int value : header) {
+                output.writeInt(value);
+            }
+
+            output.writeInt(0);
+            output.writeInt(0);
+            output.writeInt(0);
+            output.writeInt(0);
+            output.close();
+
+            // When && Then
+            try {
+                LCCatalog.open(file);
+                fail();
+            } catch (IOException e) {
+                assertTrue(e.getMessage().startsWith("Corrupt"));
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.swiften.javautilities.localizer;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class LCFormatTest {
+    @Test
+    public void test_structurallyEqualFormats_shouldBeEqual() {
+        // Setup
+        LCFormat.Builder builder = LCFormat.builder()
+            .withPattern("format_pattern_2")
+            .addArgument(LCFormat.builder().withPattern("nested").addArgument(1).build())
+            .addArgument("localizable_game");
+
+        // When
+        LCFormat first = builder.build();
+        LCFormat second = builder.build();
+        LCFormat third = builder.addArgument(2).build();
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, third);
+        assertEquals(first.arguments().length, 2);
+        assertEquals(third.arguments().length, 3);
+    }
+
+    @Test
+    public void test_modifyArguments_shouldNotAffectFormat() {
+        // Setup
+        LCFormat format = LCFormat.builder().withPattern("pattern").addArgument(1).build();
+        int hash = format.hashCode();
+
+        // When
+        format.arguments()[0] = 2;
+
+        // Then
+        assertEquals(format.arguments()[0], 1);
+        assertEquals(format.hashCode(), hash);
+    }
+}
@@ -0,0 +1,78 @@
+package org.swiften.javautilities.localizer;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Locale;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class LCMetricsTest {
+    @Test
+    public void test_localizeWithMetrics_shouldRecordOutcomes() throws Exception {
+        for (boolean precompile : new boolean[] { false, true }) {
+            // Setup
+            File root = File.createTempFile("root", ".lcc");
+            root.deleteOnExit();
+            LCCatalog.compile(Collections.singletonMap("only_root", "Root"), Locale.ROOT, root);
+            LCMetrics metrics = new LCMetrics();
+
+            Localizer localizer = Localizer.builder()
+                .addBundle("Strings", Locale.US)
+                .addCatalog(root)
+                .withPrecompiledIndex(precompile)
+                .withMetrics(metrics)
+                .build();
+
+            LCFormat format = LCFormat.builder()
+                .withPattern("nested_format_pattern")
+                .addArgument(LCFormat.builder()
+                    .withPattern("format_pattern_2")
+                    .addArgument("localizable_game")
+                    .addArgument("only_root")
+                    .build())
+                .addArgument("localizable_collection")
+                .build();
+
+            // When
+            localizer.localize("auth_title_email", Locale.US);
+            localizer.localize("only_root", Locale.US);
+            localizer.localize("non_existent_key", Locale.US);
+            localizer.localizeTexts(Collections.singletonList("auth_title_password"), Locale.US);
+            localizer.localize(format, Locale.US);
+
+            // Then
+            assertEquals(metrics.hitCount(Locale.US), 4);
+            assertEquals(metrics.fallbackCount(Locale.US), 2);
+            assertEquals(metrics.missCount(Locale.US), 1);
+            assertEquals(metrics.latency(Locale.US).count(), 7);
+            assertEquals(metrics.formatDepth(Locale.US).count(), 1);
+            assertEquals(metrics.formatDepth(Locale.US).sum(), 2);
+            assertEquals(metrics.hitCount(Locale.FRENCH), 0);
+            assertEquals(metrics.latency(Locale.FRENCH).count(), 0);
+            assertEquals(metrics.locales(), Collections.singleton(Locale.US));
+        }
+    }
+
+    @Test
+    public void test_manyLocales_shouldFoldIntoOther() {
+        // Setup
+        LCMetrics metrics = new LCMetrics();
+        int extra = 10;
+
+        // When
+        for (int i = 0; i < LCMetrics.MAX_LOCALES + extra; i++) {
+            metrics.onHit(new Locale("x" + i), 1);
+        }
+
+        // Then
+        assertEquals(metrics.locales().size(), LCMetrics.MAX_LOCALES + 1);
+        assertEquals(metrics.hitCount(new Locale("x0")), 1);
+        assertEquals(metrics.hitCount(new Locale("x" + LCMetrics.MAX_LOCALES)), 0);
+        assertEquals(metrics.hitCount(LCMetrics.OTHER), extra);
+    }
+}
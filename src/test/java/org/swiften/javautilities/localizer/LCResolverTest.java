@@ -0,0 +1,72 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class LCResolverTest {
+    @NotNull
+    private Localizer localizer() throws Exception {
+        Map<String,String> entries = new HashMap<>();
+        entries.put("wrap", "{0}");
+        entries.put("pair", "{0} and {1}");
+        entries.put("inner", "inner {0}");
+        entries.put("word", "Word");
+        File file = File.createTempFile("resolver", ".lcc");
+        file.deleteOnExit();
+        LCCatalog.compile(entries, Locale.US, file);
+        return spy(Localizer.builder().addCatalog(file).build());
+    }
+
+    @Test
+    public void test_deeplyNestedFormat_shouldNotOverflowStack() throws Exception {
+        // Setup
+        Localizer localizer = localizer();
+        LCFormat format = LCFormat.builder().withPattern("wrap").addArgument("word").build();
+
+        for (int i = 0; i < 20000; i++) {
+            format = LCFormat.builder().withPattern("wrap").addArgument(format).build();
+        }
+
+        // When
+        String localized = localizer.localize(format, Locale.US);
+
+        // Then
+        assertEquals(localized, "Word");
+    }
+
+    @Test
+    public void test_identicalNestedFormats_shouldBeLocalizedOnce() throws Exception {
+        // Setup
+        Localizer localizer = localizer();
+        LCFormat inner = LCFormat.builder().withPattern("inner").addArgument(1).build();
+
+        LCFormat format = LCFormat.builder()
+            .withPattern("pair")
+            .addArgument(inner)
+            .addArgument(inner)
+            .build();
+
+        // When
+        String localized = localizer.localize(format, Locale.US);
+
+        // Then
+        assertEquals(localized, "inner 1 and inner 1");
+        verify(localizer, times(1)).getTemplate(any(ResourceBundle.class), eq("inner"));
+    }
+}
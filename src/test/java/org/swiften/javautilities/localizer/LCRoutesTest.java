@@ -0,0 +1,128 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.ListResourceBundle;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class LCRoutesTest {
+    @NotNull
+    private ResourceBundle bundle(@Nullable Locale locale) {
+        ResourceBundle bundle = mock(ResourceBundle.class);
+        doReturn(locale).when(bundle).getLocale();
+        return bundle;
+    }
+
+    @NotNull
+    private ResourceBundle bundle(@NotNull final Locale LOCALE,
+                                  @NotNull final String KEY,
+                                  @NotNull final String VALUE) {
+        return new ListResourceBundle() {
+            @NotNull
+            @Override
+            public Locale getLocale() {
+                return LOCALE;
+            }
+
+            @NotNull
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][] { { KEY, VALUE } };
+            }
+        };
+    }
+
+    @Test
+    public void test_candidates_shouldFollowFallbackChain() {
+        // Setup
+        Locale locale = new Locale("pt", "BR", "POSIX");
+
+        // When
+        List<Locale> candidates = LCRoutes.candidates(locale);
+
+        // Then
+        assertEquals(candidates, Arrays.asList(
+            locale,
+            new Locale("pt", "BR"),
+            new Locale("pt"),
+            Locale.ROOT));
+    }
+
+    @Test
+    public void test_routes_shouldIncludeFallbackBundles() {
+        // Setup
+        ResourceBundle root = bundle(Locale.ROOT);
+        ResourceBundle pt = bundle(new Locale("pt"));
+        ResourceBundle ptBR = bundle(new Locale("pt", "BR"));
+        ResourceBundle unlocalized = bundle(null);
+        ResourceBundle fr = bundle(Locale.FRENCH);
+        List<ResourceBundle> bundles = Arrays.asList(root, pt, fr, unlocalized, ptBR);
+
+        // When
+        LCRoutes routes = LCRoutes.of(bundles);
+
+        // Then
+        assertEquals(routes.all(), bundles);
+        assertSame(routes.get(null), routes.all());
+        assertEquals(routes.get(new Locale("pt", "BR")), Arrays.asList(unlocalized, ptBR, pt, root));
+        assertEquals(routes.get(new Locale("pt", "PT")), Arrays.asList(unlocalized, pt, root));
+        assertEquals(routes.get(Locale.GERMAN), Arrays.asList(unlocalized, root));
+        assertSame(routes.get(Locale.GERMAN), routes.get(Locale.GERMAN));
+    }
+
+    @Test
+    public void test_unknownLocales_shouldShareRoutesAndBoundMemo() {
+        // Setup
+        ResourceBundle root = bundle(Locale.ROOT);
+        ResourceBundle pt = bundle(new Locale("pt"));
+        ResourceBundle unlocalized = bundle(null);
+        LCRoutes routes = LCRoutes.of(Arrays.asList(unlocalized, pt, root));
+
+        // When
+        for (int i = 0; i < LCRoutes.MAX_MEMOIZED * 4; i++) {
+            routes.get(new Locale("pt", "X" + i));
+            routes.get(new Locale("x" + i));
+        }
+
+        // Then
+        assertTrue(routes.memoized() <= LCRoutes.MAX_MEMOIZED);
+        assertSame(routes.get(new Locale("pt", "X1")), routes.get(new Locale("pt", "X999")));
+        assertSame(routes.get(new Locale("x1")), routes.get(Locale.GERMAN));
+        assertEquals(routes.get(new Locale("pt", "X999")), Arrays.asList(unlocalized, pt, root));
+        assertEquals(routes.get(new Locale("x999")), Arrays.asList(unlocalized, root));
+    }
+
+    @Test
+    public void test_unknownLocales_shouldShareIndexTables() {
+        // Setup
+        ResourceBundle root = bundle(Locale.ROOT, "key", "Root");
+        ResourceBundle pt = bundle(new Locale("pt"), "key", "Portuguese");
+        LCIndex index = LCIndex.of(LCRoutes.of(Arrays.asList(pt, root)));
+
+        // When
+        for (int i = 0; i < LCRoutes.MAX_MEMOIZED * 4; i++) {
+            assertEquals(index.get("key", new Locale("pt", "X" + i)), "Portuguese");
+            assertEquals(index.get("key", new Locale("x" + i)), "Root");
+        }
+
+        // Then
+        Map<String,String> table = index.table(new Locale("pt", "X1"));
+        assertEquals(index.shared(), 2);
+        assertSame(index.table(new Locale("pt", "X999")), table);
+    }
+}
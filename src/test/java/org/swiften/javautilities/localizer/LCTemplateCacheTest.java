@@ -0,0 +1,97 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.annotations.Test;
+
+import java.text.MessageFormat;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import static org.testng.Assert.*;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class LCTemplateCacheTest {
+    @NotNull
+    private ResourceBundle bundle() {
+        return new ListResourceBundle() {
+            @NotNull
+            @Override
+            protected Object[][] getContents() {
+                return new Object[0][];
+            }
+        };
+    }
+
+    @Test
+    public void test_repeatedLookup_shouldHitCache() {
+        // Setup
+        LCTemplateCache cache = new LCTemplateCache(10);
+        ResourceBundle bundle = bundle();
+
+        // When
+        MessageFormat f1 = cache.messageFormat(bundle, "key", "{0} items", Locale.US);
+        MessageFormat f2 = cache.messageFormat(bundle, "key", "{0} items", Locale.US);
+
+        // Then
+        assertNotSame(f1, f2);
+        assertEquals(f2.format(new Object[] { 2 }), "2 items");
+        assertEquals(cache.missCount(), 1);
+        assertEquals(cache.hitCount(), 1);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void test_exceedingCapacity_shouldEvictLeastRecentlyUsed() {
+        // Setup
+        LCTemplateCache cache = new LCTemplateCache(2);
+        ResourceBundle bundle = bundle();
+
+        // When
+        cache.messageFormat(bundle, "a", "a {0}", Locale.US);
+        cache.messageFormat(bundle, "b", "b {0}", Locale.US);
+        cache.messageFormat(bundle, "a", "a {0}", Locale.US);
+        cache.messageFormat(bundle, "c", "c {0}", Locale.US);
+        cache.messageFormat(bundle, "a", "a {0}", Locale.US);
+        cache.messageFormat(bundle, "b", "b {0}", Locale.US);
+
+        // Then
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.hitCount(), 2);
+        assertEquals(cache.missCount(), 4);
+    }
+
+    @Test
+    public void test_differentBundleOrLocale_shouldNotShareTemplate() {
+        // Setup
+        LCTemplateCache cache = new LCTemplateCache(10);
+        ResourceBundle bundle = bundle();
+
+        // When
+        cache.messageFormat(bundle, "a", "a {0}", Locale.US);
+        cache.messageFormat(bundle(), "a", "a {0}", Locale.US);
+        cache.messageFormat(bundle, "a", "a {0}", Locale.FRANCE);
+
+        // Then
+        assertEquals(cache.hitCount(), 0);
+        assertEquals(cache.missCount(), 3);
+    }
+
+    @Test
+    public void test_zeroCapacity_shouldNotCache() {
+        // Setup
+        LCTemplateCache cache = new LCTemplateCache(0);
+        ResourceBundle bundle = bundle();
+
+        // When
+        cache.messageFormat(bundle, "a", "a {0}", Locale.US);
+        cache.messageFormat(bundle, "a", "a {0}", Locale.US);
+
+        // Then
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.hitCount(), 0);
+        assertEquals(cache.missCount(), 2);
+    }
+}
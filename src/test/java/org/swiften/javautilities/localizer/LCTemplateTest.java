@@ -0,0 +1,49 @@
+package org.swiften.javautilities.localizer;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.text.MessageFormat;
+import java.util.*;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class LCTemplateTest {
+    @NotNull
+    @DataProvider
+    public Iterator<Object[]> templateProvider() {
+        List<Object[]> data = new LinkedList<>();
+        data.add(new Object[] { "We have a {0,number,integer} {1} on the {2}", true });
+        data.add(new Object[] { "{0} and {1} and {2} and {3} and {4}", true });
+        data.add(new Object[] { "It''s '{0}' {0, number } {0,number,percent}", true });
+        data.add(new Object[] { "{1,date} {1,date,short} {1,time,long} {0,number,currency}", true });
+        data.add(new Object[] { "Missing {9} and '{'literal'}' }", true });
+        data.add(new Object[] { "{0,choice,0#none|1#one|1<many}", false });
+        data.add(new Object[] { "{0,number,#.##}", false });
+        data.add(new Object[] { "{0,date,yyyy-MM-dd}", false });
+        return data.iterator();
+    }
+
+    @Test(dataProvider = "templateProvider")
+    public void test_compiledTemplate_shouldMatchMessageFormat(@NotNull String template,
+                                                               boolean compiled) {
+        // Setup
+        Date date = new Date(1500000000000L);
+        Object[] args = new Object[] { 1234.5, date, "text", null, new StringBuilder("sb") };
+
+        for (Locale locale : Arrays.asList(Locale.US, Locale.GERMANY, new Locale("vi", "VN"))) {
+            // When
+            LCTemplate compiledTemplate = LCTemplate.compile(template, locale);
+            String expected = new MessageFormat(template, locale).format(args.clone());
+
+            // Then
+            assertEquals(compiledTemplate.isCompiled(), compiled);
+            assertEquals(compiledTemplate.format(args.clone()), expected);
+            assertEquals(compiledTemplate.format(args.clone()), expected);
+        }
+    }
+}
@@ -62,6 +62,8 @@ public final class MockLocalizerTest implements LocalizeErrorType {
         }
 
         doReturn(BUNDLES).when(LC).bundles();
+        LC.route();
+        clearInvocations(LC);
     }
 
     @AfterMethod
@@ -86,21 +88,24 @@ public final class MockLocalizerTest implements LocalizeErrorType {
     }
 
     /**
-     * Get the number of {@link ResourceBundle} that has a particular
-     * {@link Locale}. If no {@link Locale} is provided, return the number
-     * of items in {@link #BUNDLES}.
+     * Get the number of {@link ResourceBundle} that are routed to a
+     * particular {@link Locale}, including its fallback chain. If no
+     * {@link Locale} is provided, return the number of items in
+     * {@link #BUNDLES}.
      * @param locale {@link Locale} instance.
      * @return {@link Integer} value.
      * @see ResourceBundle#getLocale()
+     * @see LCRoutes#candidates(Locale)
      */
     private int bundleCount(@Nullable Locale locale) {
         if (HObjects.isNull(locale)) {
             return BUNDLES.size();
         } else {
+            List<Locale> candidates = LCRoutes.candidates(locale);
             int included = 0;
 
             for (ResourceBundle bundle : BUNDLES) {
-                if (bundle.getLocale().equals(locale)) {
+                if (candidates.contains(bundle.getLocale())) {
                     included += 1;
                 }
             }
@@ -154,11 +159,10 @@ public final class MockLocalizerTest implements LocalizeErrorType {
         subscriber.assertSubscribed();
         subscriber.assertNoErrors();
         subscriber.assertComplete();
-        verify(LC, times(STR.size())).bundles();
-        verify(LC, times(STR.size())).rxe_resources(eq(LOCALE));
+        verify(LC, times(STR.size())).resources(eq(LOCALE));
         verify(LC, times(times)).getString(any(ResourceBundle.class), anyString());
-        verify(LC, times(times)).rxa_getString(any(ResourceBundle.class), anyString());
         verify(LC, times(STR.size())).rxa_localize(anyString(), eq(LOCALE));
+        verify(LC, times(STR.size())).localize(anyString(), eq(LOCALE));
         verifyNoMoreInteractions(LC);
     }
 
@@ -182,11 +186,10 @@ public final class MockLocalizerTest implements LocalizeErrorType {
         subscriber.assertSubscribed();
         subscriber.assertNoErrors();
         subscriber.assertComplete();
-        verify(LC, times(STR.size())).bundles();
-        verify(LC, times(STR.size())).rxe_resources(eq(LOCALE));
+        verify(LC, times(STR.size())).resources(eq(LOCALE));
         verify(LC, times(STR.size())).getString(any(ResourceBundle.class), anyString());
-        verify(LC, times(STR.size())).rxa_getString(any(ResourceBundle.class), anyString());
         verify(LC, times(STR.size())).rxa_localize(anyString(), eq(LOCALE));
+        verify(LC, times(STR.size())).localize(anyString(), eq(LOCALE));
         verifyNoMoreInteractions(LC);
     }
 
@@ -194,7 +197,7 @@ public final class MockLocalizerTest implements LocalizeErrorType {
     public void test_localizeWithNoResult_shouldReturnOriginal(@Nullable Locale locale) {
         // Setup
         int times = bundleCount(locale) * STR.size();
-        doThrow(mre()).when(LC).getString(any(ResourceBundle.class), any());
+        doThrow(mre()).when(LC).getString(any(ResourceBundle.class), anyString());
 
         // When
         for (String str : STR) {
@@ -203,13 +206,9 @@ public final class MockLocalizerTest implements LocalizeErrorType {
         }
 
         // Then
-        verify(LC, times(STR.size())).bundles();
-        verify(LC, times(STR.size())).rxe_resources(eq(locale));
-
-        verify(LC, times(times)).getString(any(ResourceBundle.class), any());
-        verify(LC, times(times)).rxa_getString(any(ResourceBundle.class), anyString());
+        verify(LC, times(STR.size())).resources(eq(locale));
+        verify(LC, times(times)).getString(any(ResourceBundle.class), anyString());
         verify(LC, times(STR.size())).localize(anyString(), eq(locale));
-        verify(LC, times(STR.size())).rxa_localize(anyString(), eq(locale));
         verifyNoMoreInteractions(LC);
     }
 
@@ -217,7 +216,7 @@ public final class MockLocalizerTest implements LocalizeErrorType {
     public void test_localizeWithResult_shouldReturnImmediately(@Nullable Locale locale) {
         // Setup
         final String CORRECT = "Correct Result";
-        doReturn(CORRECT).when(LC).getString(any(ResourceBundle.class), any());
+        doReturn(CORRECT).when(LC).getString(any(ResourceBundle.class), anyString());
 
         // When
         for (String str : STR) {
@@ -226,12 +225,9 @@ public final class MockLocalizerTest implements LocalizeErrorType {
         }
 
         // Then
-        verify(LC, times(STR.size())).bundles();
-        verify(LC, times(STR.size())).rxe_resources(eq(locale));
-        verify(LC, times(STR.size())).getString(any(ResourceBundle.class), any());
-        verify(LC, times(STR.size())).rxa_getString(any(ResourceBundle.class), anyString());
+        verify(LC, times(STR.size())).resources(eq(locale));
+        verify(LC, times(STR.size())).getString(any(ResourceBundle.class), anyString());
         verify(LC, times(STR.size())).localize(anyString(), eq(locale));
-        verify(LC, times(STR.size())).rxa_localize(anyString(), eq(locale));
         verifyNoMoreInteractions(LC);
     }
     //endregion
@@ -241,12 +237,13 @@ public final class MockLocalizerTest implements LocalizeErrorType {
     public void test_rxLocalizeFormatWithNullTemplate_shouldEmitOriginal(@Nullable final Locale LOCALE) {
         // Setup
         int times = bundleCount(LOCALE) * FMT.size();
-        doReturn(Flowable.empty()).when(LC).rxa_getTemplate(any(ResourceBundle.class), any());
+        doReturn(null).when(LC).getTemplate(any(ResourceBundle.class), anyString());
         TestSubscriber subscriber = CustomTestSubscriber.create();
 
         // When
         Flowable.fromIterable(FMT)
             .flatMap(a -> LC.rxa_localize(a, LOCALE))
+            .doOnNext(a -> assertEquals(a, "pattern1"))
             .subscribe(subscriber);
 
         subscriber.awaitTerminalEvent();
@@ -255,15 +252,13 @@ public final class MockLocalizerTest implements LocalizeErrorType {
         subscriber.assertSubscribed();
         subscriber.assertNoErrors();
         subscriber.assertComplete();
-        verify(LC, times(FMT.size() * 2)).bundles();
-        verify(LC, times(FMT.size() * 2)).rxe_resources(eq(LOCALE));
+        verify(LC, times(FMT.size() * 2)).resources(eq(LOCALE));
         verify(LC, times(FMT.size())).rxa_localize(any(LCFormat.class), eq(LOCALE));
-        verify(LC, times(FMT.size())).rxa_localize(anyString(), eq(LOCALE));
-        verify(LC, times(FMT.size() * 2)).rxa_getString(any(ResourceBundle.class), anyString());
-        verify(LC, times(FMT.size() * 2)).getString(any(ResourceBundle.class), anyString());
-        verify(LC, times(times)).rxa_getString(any(ResourceBundle.class), any(LCFormat.class));
-        verify(LC, times(times)).rxa_getTemplate(any(ResourceBundle.class), anyString());
-        verify(LC, times(times)).rxa_formatArguments(any(Locale.class), any(LCFormat.class));
+        verify(LC, times(FMT.size())).localize(any(LCFormat.class), eq(LOCALE));
+        verify(LC, times(FMT.size())).localize(anyString(), eq(LOCALE));
+        verify(LC, times(times)).getString(any(ResourceBundle.class), anyString());
+        verify(LC, times(times)).formatString(any(ResourceBundle.class), any(LCFormat.class));
+        verify(LC, times(times)).getTemplate(any(ResourceBundle.class), anyString());
         verifyNoMoreInteractions(LC);
     }
 }
@@ -0,0 +1,286 @@
+package org.swiften.javautilities.localizer;
+
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.swiften.javautilities.rx.CustomTestSubscriber;
+import org.swiften.javautilities.rx.RxParam;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.testng.Assert.*;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class ReloadLocalizerTest {
+    @NotNull private static final String NAME = "Reload";
+
+    private File directory;
+    private ClassLoader loader;
+
+    @BeforeMethod
+    public void beforeMethod() throws Exception {
+        directory = Files.createTempDirectory("localizer").toFile();
+        loader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null);
+        write("Reload_en_US.properties", "greeting = Hello", 1000);
+    }
+
+    @AfterMethod
+    public void afterMethod() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+
+        directory.delete();
+    }
+
+    private void write(@NotNull String name,
+                       @NotNull String content,
+                       long modified) throws Exception {
+        File file = new File(directory, name);
+
+        try (OutputStream stream = new FileOutputStream(file)) {
+            stream.write(content.getBytes("ISO-8859-1"));
+        }
+
+        file.setLastModified(modified);
+    }
+
+    @NotNull
+    private Localizer localizer(boolean precompile) {
+        return Localizer.builder()
+            .addBundle(NAME, Locale.US, loader)
+            .withPrecompiledIndex(precompile)
+            .build();
+    }
+
+    @Test
+    public void test_reloadIfModified_shouldPickUpChanges() throws Exception {
+        for (boolean precompile : new boolean[] { false, true }) {
+            // Setup
+            write("Reload_en_US.properties", "greeting = Hello", 1000);
+            loader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null);
+            Localizer localizer = localizer(precompile);
+            assertEquals(localizer.localize("greeting", Locale.US), "Hello");
+            assertFalse(localizer.reloadIfModified());
+
+            // When
+            write("Reload_en_US.properties", "greeting = Hi there", 2000);
+
+            // Then
+            assertTrue(localizer.reloadIfModified());
+            assertFalse(localizer.reloadIfModified());
+            assertEquals(localizer.localize("greeting", Locale.US), "Hi there");
+        }
+    }
+
+    @Test
+    public void test_newFallbackFile_shouldBeDetected() throws Exception {
+        // Setup
+        Localizer localizer = localizer(true);
+        assertEquals(localizer.localize("farewell", Locale.US), "farewell");
+
+        // When
+        write("Reload.properties", "farewell = Goodbye", 1000);
+
+        // Then
+        assertTrue(localizer.reloadIfModified());
+        assertEquals(localizer.localize("farewell", Locale.US), "Goodbye");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_rxReloadIfModified_shouldEmitOnChange() throws Exception {
+        // Setup
+        Localizer localizer = localizer(false);
+        TestSubscriber subscriber = CustomTestSubscriber.create();
+
+        RxParam param = RxParam.builder()
+            .withDelay(10)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(Schedulers.io())
+            .build();
+
+        // When
+        localizer.rxa_reloadIfModified(param).take(1).subscribe(subscriber);
+        write("Reload_en_US.properties", "greeting = Hey", 3000);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+
+        // Then
+        subscriber.assertNoErrors();
+        subscriber.assertValue(true);
+        assertEquals(localizer.localize("greeting", Locale.US), "Hey");
+    }
+
+    @Test
+    public void test_reload_shouldNotClearSharedBundleCache() throws Exception {
+        // Setup
+        Localizer localizer = localizer(false);
+        ResourceBundle cached = ResourceBundle.getBundle(NAME, Locale.US, loader);
+
+        // When
+        write("Reload_en_US.properties", "greeting = Hi there", 2000);
+        localizer.reload();
+
+        // Then
+        assertEquals(localizer.localize("greeting", Locale.US), "Hi there");
+        assertSame(ResourceBundle.getBundle(NAME, Locale.US, loader), cached);
+    }
+
+    @Test
+    public void test_concurrentReload_shouldAlwaysServeACompleteSnapshot() throws Exception {
+        // Setup
+        final Localizer LOCALIZER = localizer(true);
+        final AtomicBoolean DONE = new AtomicBoolean();
+        final List<String> RESULTS = new CopyOnWriteArrayList<>();
+        List<Thread> readers = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                while (!DONE.get()) {
+                    RESULTS.add(LOCALIZER.localize("greeting", Locale.US));
+                    RESULTS.add(LOCALIZER.localizeTexts(
+                        Collections.singletonList("greeting"), Locale.US).get(0));
+                }
+            });
+
+            readers.add(reader);
+            reader.start();
+        }
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            write("Reload_en_US.properties", "greeting = " + (i % 2 == 0 ? "Hi" : "Hello"), 2000 + i * 1000);
+            LOCALIZER.reload();
+        }
+
+        DONE.set(true);
+
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        // Then
+        for (String result : RESULTS) {
+            assertTrue(result.equals("Hi") || result.equals("Hello"), result);
+        }
+    }
+
+    @Test
+    public void test_formatDuringReload_shouldNotCacheStaleResult() throws Exception {
+        for (boolean compile : new boolean[] { false, true }) {
+            // Setup
+            write("Reload_en_US.properties", "greeting_format = Hello {0}", 1000);
+
+            final Localizer LOCALIZER = spy(Localizer.builder()
+                .addBundle(NAME, Locale.US, loader)
+                .withCompiledTemplates(compile)
+                .withResultCacheSize(16)
+                .build());
+
+            final AtomicBoolean RELOADED = new AtomicBoolean();
+
+            LCFormat format = LCFormat.builder()
+                .withPattern("greeting_format")
+                .addArgument("name")
+                .build();
+
+            /* Reload after the previous bundle has been picked for
+             * formatting, but before its result is cached */
+            doAnswer(invocation -> {
+                if (RELOADED.compareAndSet(false, true)) {
+                    write("Reload_en_US.properties", "greeting_format = Hi {0}", 2000);
+                    LOCALIZER.reload();
+                }
+
+                return invocation.callRealMethod();
+            }).when(LOCALIZER).getTemplate(any(ResourceBundle.class), anyString());
+
+            // When
+            String stale = LOCALIZER.localize(format, Locale.US);
+
+            // Then
+            assertEquals(stale, "Hello name");
+            assertEquals(LOCALIZER.resultCache().size(), 0);
+            assertEquals(LOCALIZER.templateCache().size(), 0);
+            assertEquals(LOCALIZER.localize(format, Locale.US), "Hi name");
+            assertEquals(LOCALIZER.localize(format, Locale.US), "Hi name");
+            assertEquals(LOCALIZER.resultCache().size(), 1);
+            assertEquals(LOCALIZER.templateCache().size(), 1);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_rxReloadIfModifiedWithFailure_shouldKeepWatching() throws Exception {
+        // Setup
+        final AtomicBoolean FAIL = new AtomicBoolean(true);
+        final List<Throwable> ERRORS = new CopyOnWriteArrayList<>();
+        RxJavaPlugins.setErrorHandler(ERRORS::add);
+
+        loader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null) {
+            @Override
+            public URL getResource(String name) {
+                if (FAIL.get()) {
+                    throw new IllegalStateException("Unavailable");
+                }
+
+                return super.getResource(name);
+            }
+        };
+
+        FAIL.set(false);
+        Localizer localizer = localizer(false);
+        FAIL.set(true);
+        TestSubscriber subscriber = CustomTestSubscriber.create();
+
+        RxParam param = RxParam.builder()
+            .withDelay(10)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(Schedulers.io())
+            .build();
+
+        try {
+            // When
+            localizer.rxa_reloadIfModified(param).take(1).subscribe(subscriber);
+
+            while (ERRORS.size() < 2) {
+                Thread.sleep(5);
+            }
+
+            write("Reload_en_US.properties", "greeting = Back", 3000);
+            FAIL.set(false);
+            subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+
+            // Then
+            subscriber.assertNoErrors();
+            subscriber.assertValue(true);
+            assertEquals(ERRORS.get(0).getMessage(), "Unavailable");
+            assertEquals(localizer.localize("greeting", Locale.US), "Back");
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.swiften.javautilities.metrics;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class HistogramTest {
+    @Test
+    public void test_bucket_shouldUsePowersOfTwo() {
+        // Setup && When && Then
+        assertEquals(Histogram.bucket(-1), 0);
+        assertEquals(Histogram.bucket(0), 0);
+        assertEquals(Histogram.bucket(1), 1);
+        assertEquals(Histogram.bucket(3), 2);
+        assertEquals(Histogram.bucket(4), 3);
+        assertEquals(Histogram.bucket(Long.MAX_VALUE), Histogram.BUCKETS - 1);
+        assertEquals(Histogram.upperBound(Histogram.bucket(1000)), 1023);
+    }
+
+    @Test
+    public void test_percentile_shouldReturnBucketUpperBound() {
+        // Setup
+        Histogram histogram = new Histogram();
+
+        // When
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        // Then
+        assertEquals(histogram.count(), 100);
+        assertEquals(histogram.sum(), 5050);
+        assertEquals(histogram.mean(), 50.5);
+        assertEquals(histogram.percentile(0.5), 63);
+        assertEquals(histogram.percentile(0.99), 127);
+        assertEquals(histogram.percentile(0), 1);
+    }
+}
@@ -0,0 +1,43 @@
+package org.swiften.javautilities.metrics;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class StripedCounterTest {
+    @Test
+    public void test_concurrentIncrements_shouldSumCorrectly() throws Exception {
+        // Setup
+        final StripedCounter COUNTER = new StripedCounter(4);
+        final int INCREMENTS = 10000;
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < INCREMENTS; j++) {
+                    COUNTER.increment();
+                }
+            }));
+        }
+
+        // When
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(COUNTER.sum(), threads.size() * INCREMENTS);
+        COUNTER.reset();
+        assertEquals(COUNTER.sum(), 0);
+    }
+}
@@ -0,0 +1,145 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.swiften.javautilities.protocol.AdaptiveDelayProviderType;
+import org.swiften.javautilities.protocol.SchedulerProviderType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class AdaptivePollingTest {
+    @Test
+    public void test_doWhileAdaptive_shouldBackOffUntilChange() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        final List<String> STATES = Arrays.asList("A", "A", "A", "A", "B", "B");
+        final AtomicInteger INDEX = new AtomicInteger();
+        TestSubscriber<String> subscriber = TestSubscriber.create();
+
+        AdaptivePolling polling = AdaptivePolling.builder()
+            .withDelay(100)
+            .withMaxDelay(400)
+            .withMultiplier(2)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(scheduler)
+            .build();
+
+        Flowable<String> source = Flowable.fromCallable(() -> STATES.get(INDEX.getAndIncrement()));
+        Flowable<Boolean> whenFl = Flowable.fromCallable(() -> INDEX.get() < STATES.size());
+
+        // When
+        HReactives.doWhile(source, whenFl, polling).subscribe(subscriber);
+
+        // Then
+        long[] times = { 100, 200, 400, 400, 100 };
+
+        for (int i = 0; i < times.length; i++) {
+            subscriber.assertValueCount(i + 1);
+            scheduler.advanceTimeBy(times[i] - 1, TimeUnit.MILLISECONDS);
+            subscriber.assertValueCount(i + 1);
+            scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        }
+
+        subscriber.assertValueSequence(STATES);
+        subscriber.assertComplete();
+        Assert.assertEquals(polling.pollCount(), 6);
+        Assert.assertEquals(polling.changeCount(), 2);
+    }
+
+    @Test
+    public void test_doWhileAdaptiveWithSeveralItems_shouldCompareLastItems() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        final AtomicInteger POLLS = new AtomicInteger();
+        TestSubscriber<String> subscriber = TestSubscriber.create();
+
+        AdaptivePolling polling = AdaptivePolling.builder()
+            .withDelay(100)
+            .withMaxDelay(400)
+            .withMultiplier(2)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(scheduler)
+            .build();
+
+        Flowable<String> source = Flowable.just("A", "B").doOnComplete(POLLS::incrementAndGet);
+        Flowable<Boolean> whenFl = Flowable.fromCallable(() -> POLLS.get() < 4);
+
+        // When
+        HReactives.doWhile(source, whenFl, polling).subscribe(subscriber);
+        scheduler.advanceTimeBy(100 + 200 + 400, TimeUnit.MILLISECONDS);
+
+        // Then
+        subscriber.assertValueCount(8);
+        subscriber.assertComplete();
+        Assert.assertEquals(polling.pollCount(), 4);
+        Assert.assertEquals(polling.changeCount(), 1);
+    }
+
+    @Test
+    public void test_doWhileCustomAdaptive_shouldBackOffUntilChange() {
+        // Setup
+        final TestScheduler SCHEDULER = new TestScheduler();
+        final List<String> STATES = Arrays.asList("A", "A", "A", "B", "B");
+        final AtomicInteger INDEX = new AtomicInteger();
+        TestSubscriber<String> subscriber = TestSubscriber.create();
+
+        class Polling implements AdaptiveDelayProviderType, SchedulerProviderType {
+            @Override
+            public long delay() {
+                return 50;
+            }
+
+            @Override
+            public long maxDelay() {
+                return 300;
+            }
+
+            @Override
+            public double multiplier() {
+                return 3;
+            }
+
+            @NotNull
+            @Override
+            public TimeUnit timeUnit() {
+                return TimeUnit.MILLISECONDS;
+            }
+
+            @NotNull
+            @Override
+            public Scheduler scheduler() {
+                return SCHEDULER;
+            }
+        }
+
+        Flowable<String> source = Flowable.fromCallable(() -> STATES.get(INDEX.getAndIncrement()));
+        Flowable<Boolean> whenFl = Flowable.fromCallable(() -> INDEX.get() < STATES.size());
+
+        // When
+        HReactives.doWhile(source, whenFl, new Polling()).subscribe(subscriber);
+
+        // Then
+        long[] times = { 50, 150, 300, 50 };
+
+        for (int i = 0; i < times.length; i++) {
+            subscriber.assertValueCount(i + 1);
+            SCHEDULER.advanceTimeBy(times[i] - 1, TimeUnit.MILLISECONDS);
+            subscriber.assertValueCount(i + 1);
+            SCHEDULER.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        }
+
+        subscriber.assertValueSequence(STATES);
+        subscriber.assertComplete();
+    }
+}
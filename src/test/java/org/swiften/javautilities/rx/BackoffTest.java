@@ -0,0 +1,114 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class BackoffTest {
+    @Test
+    public void test_exponentialBackoff_shouldBeCapped() {
+        // Setup
+        Backoff backoff = Backoff.builder().withBase(100).withCap(500).build();
+
+        // When & Then
+        Assert.assertEquals(backoff.backoff(1, 0), 100);
+        Assert.assertEquals(backoff.backoff(2, 100), 200);
+        Assert.assertEquals(backoff.backoff(3, 200), 400);
+        Assert.assertEquals(backoff.backoff(4, 400), 500);
+        Assert.assertEquals(backoff.backoff(60, 500), 500);
+    }
+
+    @Test
+    public void test_jitteredBackoff_shouldStayInRange() {
+        // Setup
+        Backoff full = Backoff.builder().withBase(100).withCap(1000).withFullJitter().build();
+        Backoff decorrelated = Backoff.builder().withBase(100).withCap(1000).withDecorrelatedJitter().build();
+        long previous = 0;
+
+        // When & Then
+        for (int i = 1; i < 100; i++) {
+            long delay = full.backoff(i, 0);
+            Assert.assertTrue(delay >= 0 && delay <= Math.min(1000, 100L << Math.min(i - 1, 10)));
+
+            long next = decorrelated.backoff(i, previous);
+            Assert.assertTrue(next >= 100 && next <= Math.min(1000, Math.max(previous, 100) * 3));
+            previous = next;
+        }
+    }
+
+    @Test
+    public void test_delayRetryWithBackoff_shouldWaitBetweenRetries() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        final AtomicInteger SUBSCRIPTIONS = new AtomicInteger();
+        TestSubscriber<Object> subscriber = TestSubscriber.create();
+
+        Backoff backoff = Backoff.builder()
+            .withBase(100)
+            .withRetries(3)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(scheduler)
+            .build();
+
+        // When
+        Flowable
+            .defer(() -> {
+                SUBSCRIPTIONS.incrementAndGet();
+                return Flowable.error(new Exception("Failed"));
+            })
+            .compose(HReactives.delayRetry(backoff))
+            .subscribe(subscriber);
+
+        // Then
+        Assert.assertEquals(SUBSCRIPTIONS.get(), 1);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(SUBSCRIPTIONS.get(), 2);
+        scheduler.advanceTimeBy(199, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(SUBSCRIPTIONS.get(), 2);
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(SUBSCRIPTIONS.get(), 3);
+        subscriber.assertNoErrors();
+        scheduler.advanceTimeBy(400, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(SUBSCRIPTIONS.get(), 4);
+        subscriber.assertErrorMessage("Failed");
+    }
+
+    @Test
+    public void test_retryBudget_shouldBeSharedAcrossSubscriptions() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        RetryBudget budget = RetryBudget.create(0, 1);
+        TestSubscriber<Object> subscriber1 = TestSubscriber.create();
+        TestSubscriber<Object> subscriber2 = TestSubscriber.create();
+
+        Backoff backoff = Backoff.builder()
+            .withBase(10)
+            .withRetries(5)
+            .withScheduler(scheduler)
+            .build();
+
+        Flowable<Object> source = Flowable
+            .error(new Exception("Failed"))
+            .compose(HReactives.delayRetry(backoff, budget));
+
+        // When
+        source.subscribe(subscriber1);
+        source.subscribe(subscriber2);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        // Then
+        subscriber1.assertErrorMessage("Failed");
+        subscriber2.assertErrorMessage("Failed");
+        Assert.assertEquals(budget.callCount(), 2);
+        Assert.assertEquals(budget.retryCount(), 1);
+        Assert.assertEquals(budget.rejectedCount(), 2);
+    }
+}
@@ -0,0 +1,150 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class CircuitBreakerTest {
+    private static final Flowable<Integer> SUCCESS = Flowable.just(1);
+    private static final Flowable<Integer> FAILURE = Flowable.error(new Exception("Failed"));
+
+    private void call(CircuitBreaker breaker, Flowable<Integer> source) {
+        source.compose(breaker.<Integer>transformer()).subscribe(TestSubscriber.create());
+    }
+
+    @Test
+    public void test_failureRate_shouldOpenAndReject() {
+        // Setup
+        CircuitBreakerListenerType listener = mock(CircuitBreakerListenerType.class);
+        final AtomicInteger SUBSCRIPTIONS = new AtomicInteger();
+        TestSubscriber<Integer> subscriber = TestSubscriber.create();
+
+        CircuitBreaker breaker = CircuitBreaker.builder()
+            .withWindow(4, 4)
+            .withFailureRateThreshold(0.5)
+            .withListener(listener)
+            .build();
+
+        // When
+        call(breaker, SUCCESS);
+        call(breaker, FAILURE);
+        call(breaker, SUCCESS);
+        Assert.assertEquals(breaker.state(), CircuitBreaker.CLOSED);
+        call(breaker, FAILURE);
+
+        Flowable
+            .defer(() -> {
+                SUBSCRIPTIONS.incrementAndGet();
+                return SUCCESS;
+            })
+            .compose(breaker.<Integer>transformer())
+            .subscribe(subscriber);
+
+        // Then
+        Assert.assertEquals(breaker.state(), CircuitBreaker.OPEN);
+        Assert.assertEquals(breaker.callCount(), 0);
+        Assert.assertEquals(SUBSCRIPTIONS.get(), 0);
+        subscriber.assertError(CircuitBreaker.OpenException.class);
+        verify(listener, times(2)).onSuccess(anyLong(), eq(false));
+        verify(listener, times(2)).onFailure(any(), anyLong());
+        verify(listener).onStateChange(CircuitBreaker.CLOSED, CircuitBreaker.OPEN);
+        verify(listener).onRejected(CircuitBreaker.OPEN);
+    }
+
+    @Test
+    public void test_halfOpen_shouldCloseOnlyAfterTrialsSucceed() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+
+        CircuitBreaker breaker = CircuitBreaker.builder()
+            .withWindow(2, 2)
+            .withOpenDuration(1, TimeUnit.SECONDS)
+            .withTrialCalls(2)
+            .withScheduler(scheduler)
+            .build();
+
+        call(breaker, FAILURE);
+        call(breaker, FAILURE);
+
+        // When & Then
+        Assert.assertEquals(breaker.state(), CircuitBreaker.OPEN);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        call(breaker, FAILURE);
+        Assert.assertEquals(breaker.state(), CircuitBreaker.OPEN);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        call(breaker, SUCCESS);
+        Assert.assertEquals(breaker.state(), CircuitBreaker.HALF_OPEN);
+        call(breaker, SUCCESS);
+        Assert.assertEquals(breaker.state(), CircuitBreaker.CLOSED);
+    }
+
+    @Test
+    public void test_halfOpen_shouldIgnoreCallsMadeBeforeOpening() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> early = PublishProcessor.create();
+        PublishProcessor<Integer> trial = PublishProcessor.create();
+        TestSubscriber<Integer> cancelled = TestSubscriber.create();
+        TestSubscriber<Integer> rejected = TestSubscriber.create();
+
+        CircuitBreaker breaker = CircuitBreaker.builder()
+            .withWindow(2, 2)
+            .withOpenDuration(1, TimeUnit.SECONDS)
+            .withTrialCalls(2)
+            .withScheduler(scheduler)
+            .build();
+
+        call(breaker, early);
+        early.compose(breaker.<Integer>transformer()).subscribe(cancelled);
+        call(breaker, FAILURE);
+        call(breaker, FAILURE);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        call(breaker, SUCCESS);
+
+        // When
+        cancelled.cancel();
+        early.onComplete();
+        call(breaker, trial);
+        SUCCESS.compose(breaker.<Integer>transformer()).subscribe(rejected);
+
+        // Then
+        Assert.assertEquals(breaker.state(), CircuitBreaker.HALF_OPEN);
+        rejected.assertError(CircuitBreaker.OpenException.class);
+        trial.onComplete();
+        Assert.assertEquals(breaker.state(), CircuitBreaker.CLOSED);
+    }
+
+    @Test
+    public void test_slowCalls_shouldOpen() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+
+        CircuitBreaker breaker = CircuitBreaker.builder()
+            .withWindow(2, 2)
+            .withSlowCallThreshold(100, TimeUnit.MILLISECONDS, 1)
+            .withScheduler(scheduler)
+            .build();
+
+        Flowable<Integer> slow = SUCCESS.delay(100, TimeUnit.MILLISECONDS, scheduler);
+
+        // When
+        call(breaker, slow);
+        call(breaker, slow);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        // Then
+        Assert.assertEquals(breaker.state(), CircuitBreaker.OPEN);
+    }
+}
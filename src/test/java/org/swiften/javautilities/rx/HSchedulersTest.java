@@ -0,0 +1,85 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class HSchedulersTest {
+    private void assertBlockingThread(Thread thread) throws Exception {
+        Assert.assertNotEquals(thread, Thread.currentThread());
+
+        if (HSchedulers.isVirtualThreadSupported()) {
+            Method isVirtual = Thread.class.getMethod("isVirtual");
+            Assert.assertTrue((Boolean)isVirtual.invoke(thread));
+        }
+    }
+
+    @Test
+    public void test_virtualThread_shouldRunOnVirtualThreadsIfSupported() throws Exception {
+        // Setup
+        RxParam param = RxParam.blockingInstance();
+
+        // When
+        Thread thread = Flowable.fromCallable(Thread::currentThread)
+            .subscribeOn(param.scheduler())
+            .blockingFirst();
+
+        // Then
+        Assert.assertNotEquals(thread, Thread.currentThread());
+
+        if (HSchedulers.isVirtualThreadSupported()) {
+            Method isVirtual = Thread.class.getMethod("isVirtual");
+            Assert.assertTrue((Boolean)isVirtual.invoke(thread));
+        } else {
+            Assert.assertSame(param.scheduler(), Schedulers.io());
+        }
+    }
+
+    @Test
+    public void test_repeatWhileWithBlockingInstance_shouldRepeatOnScheduler() throws Exception {
+        // Setup
+        RxParam param = RxParam.blockingInstance();
+        final AtomicInteger COUNT = new AtomicInteger();
+
+        // When
+        List<Thread> threads = Flowable.fromCallable(Thread::currentThread)
+            .compose(HReactives.repeatWhile(() -> COUNT.incrementAndGet() < 3, param))
+            .toList()
+            .blockingGet();
+
+        // Then
+        Assert.assertEquals(threads.size(), 3);
+        Assert.assertEquals(threads.get(0), Thread.currentThread());
+        assertBlockingThread(threads.get(1));
+        assertBlockingThread(threads.get(2));
+    }
+
+    @Test
+    public void test_repeatWhileWithBlockingInstanceAndSubscribeOn_shouldNeverBlockCaller() throws Exception {
+        // Setup
+        RxParam param = RxParam.blockingInstance();
+        final AtomicInteger COUNT = new AtomicInteger();
+
+        // When
+        List<Thread> threads = Flowable.fromCallable(Thread::currentThread)
+            .compose(HReactives.repeatWhile(() -> COUNT.incrementAndGet() < 3, param))
+            .subscribeOn(param.scheduler())
+            .toList()
+            .blockingGet();
+
+        // Then
+        Assert.assertEquals(threads.size(), 3);
+
+        for (Thread thread : threads) {
+            assertBlockingThread(thread);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import org.swiften.javautilities.metrics.MetricsRegistry;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class InstrumentTest {
+    @Test
+    public void test_instrument_shouldRecordItemsAndRequests() {
+        // Setup
+        MetricsRegistry registry = new MetricsRegistry();
+        TestSubscriber<Integer> subscriber = TestSubscriber.create(2);
+
+        // When
+        Flowable.range(1, 5)
+            .compose(HReactives.<Integer>instrument("range", registry))
+            .subscribe(subscriber);
+
+        subscriber.requestMore(3);
+
+        // Then
+        subscriber.assertValueCount(5);
+        subscriber.assertComplete();
+        Assert.assertEquals(registry.counter("range.next").sum(), 5);
+        Assert.assertEquals(registry.histogram("range.next.interval").count(), 4);
+        Assert.assertEquals(registry.histogram("range.next.first").count(), 1);
+        Assert.assertEquals(registry.counter("range.requests").sum(), 2);
+        Assert.assertEquals(registry.counter("range.requested").sum(), 5);
+        Assert.assertEquals(registry.counter("range.requests.unbounded").sum(), 0);
+        Assert.assertEquals(registry.counter("range.completions").sum(), 1);
+        Assert.assertEquals(registry.histogram("range.lifetime").count(), 1);
+    }
+
+    @Test
+    public void test_instrument_shouldRecordErrorsAndRetries() {
+        // Setup
+        MetricsRegistry registry = new MetricsRegistry();
+        TestSubscriber<Object> subscriber = TestSubscriber.create();
+
+        // When
+        Flowable.error(new RuntimeException("Failed"))
+            .compose(HReactives.instrument("call", registry))
+            .compose(HReactives.delayRetry(2, 0))
+            .subscribe(subscriber);
+
+        subscriber.awaitTerminalEvent();
+
+        // Then
+        subscriber.assertErrorMessage("Failed");
+        Assert.assertEquals(registry.counter("call.subscriptions").sum(), 3);
+        Assert.assertEquals(registry.counter("call.retries").sum(), 2);
+        Assert.assertEquals(registry.counter("call.errors").sum(), 3);
+        Assert.assertEquals(registry.counters().size(), 9);
+        Assert.assertEquals(registry.histograms().size(), 3);
+    }
+
+    @Test
+    public void test_instrument_shouldNotCountUnrelatedSubscriptionsAsRetries() {
+        // Setup
+        MetricsRegistry registry = new MetricsRegistry();
+        Flowable<Integer> failing = Flowable.error(new RuntimeException("Failed"));
+
+        Flowable<Integer> instrumented = failing
+            .compose(HReactives.<Integer>instrument("call", registry));
+
+        // When
+        instrumented.subscribe(TestSubscriber.create());
+        instrumented.subscribe(TestSubscriber.create());
+
+        // Then
+        Assert.assertEquals(registry.counter("call.subscriptions").sum(), 2);
+        Assert.assertEquals(registry.counter("call.errors").sum(), 2);
+        Assert.assertEquals(registry.counter("call.retries").sum(), 0);
+    }
+}
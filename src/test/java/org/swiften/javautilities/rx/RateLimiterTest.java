@@ -0,0 +1,97 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class RateLimiterTest {
+    @NotNull
+    private RxParam param(@NotNull TestScheduler scheduler) {
+        return RxParam.builder()
+            .withDelay(100)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(scheduler)
+            .build();
+    }
+
+    @Test
+    public void test_tokenBucketDelayExcess_shouldSpreadPermits() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        RateLimiter limiter = RateLimiter.tokenBucket(param(scheduler), 2);
+        TestSubscriber<Integer> subscriber = TestSubscriber.create();
+
+        // When
+        Flowable.just(1, 2, 3, 4)
+            .compose(limiter.<Integer>delayExcess())
+            .subscribe(subscriber);
+
+        // Then
+        subscriber.assertValues(1, 2);
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        subscriber.assertValues(1, 2, 3);
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        subscriber.assertValues(1, 2, 3, 4);
+        subscriber.assertComplete();
+        Assert.assertEquals(limiter.admittedCount(), 4);
+        Assert.assertEquals(limiter.delayedCount(), 2);
+        Assert.assertEquals(limiter.droppedCount(), 0);
+    }
+
+    @Test
+    public void test_slidingWindowDropExcess_shouldDropOverLimit() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        RateLimiter limiter = RateLimiter.slidingWindow(param(scheduler), 3);
+        TestSubscriber<Integer> subscriber = TestSubscriber.create();
+
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        source.compose(limiter.<Integer>dropExcess()).subscribe(subscriber);
+
+        // When
+        for (int i = 1; i <= 5; i++) {
+            source.onNext(i);
+        }
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        source.onNext(6);
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        source.onNext(7);
+
+        // Then
+        subscriber.assertValues(1, 2, 3, 7);
+        Assert.assertEquals(limiter.admittedCount(), 4);
+        Assert.assertEquals(limiter.droppedCount(), 3);
+    }
+
+    @Test
+    public void test_slidingWindowDelayExcess_shouldWaitForPreviousWindow() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        RateLimiter limiter = RateLimiter.slidingWindow(param(scheduler), 2);
+        TestSubscriber<Integer> subscriber = TestSubscriber.create();
+
+        // When
+        Flowable.just(1, 2, 3)
+            .compose(limiter.<Integer>delayExcess())
+            .subscribe(subscriber);
+
+        // Then
+        subscriber.assertValues(1, 2);
+        scheduler.advanceTimeBy(149, TimeUnit.MILLISECONDS);
+        subscriber.assertValues(1, 2);
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        subscriber.assertValues(1, 2, 3);
+        subscriber.assertComplete();
+        Assert.assertEquals(limiter.delayedCount(), 1);
+    }
+}
@@ -3,24 +3,37 @@ package org.swiften.javautilities.rx;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Function;
+import io.reactivex.processors.PublishProcessor;
 import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subscribers.TestSubscriber;
 import org.jetbrains.annotations.NotNull;
 import org.reactivestreams.Publisher;
 import org.swiften.javautilities.functional.Tuple;
 import org.swiften.javautilities.localizer.Localizer;
+import org.swiften.javautilities.localizer.BatchLocalizerType;
 import org.swiften.javautilities.localizer.LocalizerType;
 import org.swiften.javautilities.util.HLogs;
 import org.swiften.javautilities.number.HNumbers;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Created by haipham on 3/25/17.
@@ -256,6 +269,216 @@ public final class RxTest {
         HLogs.println(HReactives.nextEvents(subscriber));
     }
 
+    @Test
+    public void test_repeatWhileSupplier_shouldDelayAndStop() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        final AtomicInteger COUNT = new AtomicInteger();
+
+        RxParam param = RxParam.builder()
+            .withDelay(100)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(scheduler)
+            .build();
+
+        TestSubscriber<Integer> subscriber = TestSubscriber.create();
+
+        // When
+        Flowable.fromCallable(COUNT::incrementAndGet)
+            .compose(HReactives.repeatWhile(() -> COUNT.get() < 3, param))
+            .subscribe(subscriber);
+
+        // Then
+        subscriber.assertValues(1);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        subscriber.assertValues(1, 2);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        subscriber.assertValues(1, 2, 3);
+        subscriber.assertComplete();
+    }
+
+    @Test
+    public void test_repeatWhileFlowable_shouldStopWithoutExtraIteration() {
+        // Setup
+        final AtomicInteger COUNT = new AtomicInteger();
+        RxParam param = RxParam.builder().withDelay(0).withScheduler(Schedulers.trampoline()).build();
+        Flowable<Boolean> whenFl = Flowable.fromCallable(() -> COUNT.get() < 3);
+        TestSubscriber<Integer> subscriber = TestSubscriber.create();
+
+        // When
+        Flowable.fromCallable(COUNT::incrementAndGet)
+            .compose(HReactives.repeatWhile(whenFl, param))
+            .subscribe(subscriber);
+
+        // Then
+        subscriber.assertValues(1, 2, 3);
+        subscriber.assertComplete();
+    }
+
+    @Test
+    public void test_repeatWhileFlowable_shouldStopQuietlyOnCheckError() {
+        // Setup
+        RxParam param = RxParam.builder().withDelay(0).withScheduler(Schedulers.trampoline()).build();
+        Flowable<Boolean> whenFl = Flowable.error(new RuntimeException("Check"));
+        TestSubscriber<Integer> subscriber = TestSubscriber.create();
+
+        // When
+        Flowable.just(1)
+            .compose(HReactives.repeatWhile(whenFl, param))
+            .subscribe(subscriber);
+
+        // Then
+        subscriber.assertValues(1);
+        subscriber.assertNoErrors();
+        subscriber.assertComplete();
+    }
+
+    @Test
+    public void test_doWhile_doUntil_shouldRepeatWhileCheckHolds() {
+        // Setup
+        final AtomicInteger WHILE_COUNT = new AtomicInteger();
+        final AtomicInteger UNTIL_COUNT = new AtomicInteger();
+        RxParam param = RxParam.builder().withDelay(0).withScheduler(Schedulers.trampoline()).build();
+        TestSubscriber<Integer> whileSubscriber = TestSubscriber.create();
+        TestSubscriber<Integer> untilSubscriber = TestSubscriber.create();
+        TestSubscriber<Integer> defaultSubscriber = TestSubscriber.create();
+
+        // When
+        HReactives.<Integer, RxParam>doWhile(
+            Flowable.fromCallable(WHILE_COUNT::incrementAndGet),
+            Flowable.fromCallable(() -> WHILE_COUNT.get() < 3),
+            param
+        ).subscribe(whileSubscriber);
+
+        HReactives.<Integer, RxParam>doUntil(
+            Flowable.fromCallable(UNTIL_COUNT::incrementAndGet),
+            Flowable.fromCallable(() -> UNTIL_COUNT.get() >= 2),
+            param
+        ).subscribe(untilSubscriber);
+
+        HReactives.<Integer, RxParam>doWhile(
+            Flowable.just(1),
+            Flowable.just(false),
+            -1,
+            param
+        ).subscribe(defaultSubscriber);
+
+        // Then
+        whileSubscriber.assertValues(1, 2, 3);
+        whileSubscriber.assertComplete();
+        untilSubscriber.assertValues(1, 2);
+        untilSubscriber.assertComplete();
+        defaultSubscriber.assertValues(-1);
+        defaultSubscriber.assertComplete();
+    }
+
+    @NotNull
+    public Scheduler disposalCountingScheduler(@NotNull final AtomicInteger DISPOSED) {
+        return new Scheduler() {
+            @NotNull
+            @Override
+            public Worker createWorker() {
+                final Worker WORKER = Schedulers.computation().createWorker();
+
+                return new Worker() {
+                    @NotNull
+                    @Override
+                    public Disposable schedule(@NotNull Runnable run, long delay, @NotNull TimeUnit unit) {
+                        return WORKER.schedule(run, delay, unit);
+                    }
+
+                    @Override
+                    public void dispose() {
+                        if (!WORKER.isDisposed()) {
+                            DISPOSED.incrementAndGet();
+                        }
+
+                        WORKER.dispose();
+                    }
+
+                    @Override
+                    public boolean isDisposed() {
+                        return WORKER.isDisposed();
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    public void test_repeatWhileSupplier_shouldDisposeWorkerOnTerminate() {
+        // Setup
+        final AtomicInteger DISPOSED = new AtomicInteger();
+        final AtomicInteger COUNT = new AtomicInteger();
+
+        RxParam param = RxParam.builder()
+            .withDelay(1)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(disposalCountingScheduler(DISPOSED))
+            .build();
+
+        TestSubscriber<Integer> completed = TestSubscriber.create();
+        TestSubscriber<Integer> conditionFailed = TestSubscriber.create();
+        TestSubscriber<Integer> sourceFailed = TestSubscriber.create();
+
+        // When
+        Flowable.fromCallable(COUNT::incrementAndGet)
+            .compose(HReactives.repeatWhile(() -> COUNT.get() % 3 != 0, param))
+            .subscribe(completed);
+
+        completed.awaitTerminalEvent();
+
+        Flowable.fromCallable(COUNT::incrementAndGet)
+            .compose(HReactives.repeatWhile(() -> {
+                if (COUNT.get() > 4) {
+                    throw new RuntimeException("Condition");
+                }
+
+                return true;
+            }, param))
+            .subscribe(conditionFailed);
+
+        conditionFailed.awaitTerminalEvent();
+
+        Flowable.fromCallable(() -> {
+            if (COUNT.incrementAndGet() > 6) {
+                throw new RuntimeException("Source");
+            }
+
+            return COUNT.get();
+        }).compose(HReactives.repeatWhile(() -> true, param)).subscribe(sourceFailed);
+
+        sourceFailed.awaitTerminalEvent();
+
+        // Then
+        completed.assertValues(1, 2, 3);
+        completed.assertComplete();
+        conditionFailed.assertValues(4, 5);
+        conditionFailed.assertErrorMessage("Condition");
+        sourceFailed.assertValues(6);
+        sourceFailed.assertErrorMessage("Source");
+        Assert.assertEquals(DISPOSED.get(), 3);
+    }
+
+    @Test
+    public void test_repeatUntilSupplier_shouldRespectBackpressure() {
+        // Setup
+        RxParam param = RxParam.defaultInstance();
+        final AtomicInteger REPEATS = new AtomicInteger();
+        TestSubscriber<Integer> subscriber = TestSubscriber.create(4);
+
+        // When
+        Flowable.range(1, 3)
+            .compose(HReactives.repeatUntil(() -> REPEATS.incrementAndGet() >= 100000, param))
+            .subscribe(subscriber);
+
+        // Then
+        subscriber.assertValues(1, 2, 3, 1);
+        subscriber.requestMore(Long.MAX_VALUE);
+        subscriber.assertValueCount(300000);
+        subscriber.assertComplete();
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void test_delayRetry() {
@@ -293,6 +516,94 @@ public final class RxTest {
         HLogs.printlnt(HReactives.nextEvents(subscriber));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_removeFromStringInOnePass_shouldRemoveLiterals() {
+        // Setup
+        BatchLocalizerType localizer = spy(Localizer.builder().build());
+        TestSubscriber subscriber = CustomTestSubscriber.create();
+
+        // When
+        Flowable.just("a.b (c) a.b.", "a+b", "")
+            .compose(HReactives.removeFromStringInOnePass(localizer, "a.b", "a.b.", "(c)", "+", ""))
+            .subscribe(subscriber);
+
+        subscriber.awaitTerminalEvent();
+
+        // Then
+        subscriber.assertNoErrors();
+        subscriber.assertValues("  ", "ab", "");
+        verify(localizer, times(1)).rxa_localizeTexts(anyCollection(), any());
+    }
+
+    @Test
+    public void test_mergeDelayEach_shouldPaceSubscriptions() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+
+        RxParam param = RxParam.builder()
+            .withDelay(100)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(scheduler)
+            .build();
+
+        TestSubscriber<Integer> subscriber = TestSubscriber.create();
+
+        // When
+        HReactives.mergeDelayEach(param, 2, Flowable.just(1), Flowable.just(2), Flowable.just(3))
+            .subscribe(subscriber);
+
+        // Then
+        subscriber.assertValues(1);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        subscriber.assertValues(1, 2);
+        scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        subscriber.assertValues(1, 2);
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        subscriber.assertValues(1, 2, 3);
+        subscriber.assertComplete();
+    }
+
+    @Test
+    public void test_mergeDelayEach_shouldBoundConcurrency() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+
+        RxParam param = RxParam.builder()
+            .withDelay(10)
+            .withTimeUnit(TimeUnit.MILLISECONDS)
+            .withScheduler(scheduler)
+            .build();
+
+        List<PublishProcessor<Integer>> processors = Arrays.asList(
+            PublishProcessor.create(),
+            PublishProcessor.create(),
+            PublishProcessor.create());
+
+        List<Flowable<Integer>> flowables = new ArrayList<>();
+
+        for (PublishProcessor<Integer> processor : processors) {
+            flowables.add(processor);
+        }
+
+        TestSubscriber<Integer> subscriber = TestSubscriber.create();
+
+        // When
+        HReactives.mergeDelayEach(param, 2, 3, flowables).subscribe(subscriber);
+
+        // Then
+        Assert.assertTrue(processors.get(0).hasSubscribers());
+        Assert.assertTrue(processors.get(1).hasSubscribers());
+        Assert.assertFalse(processors.get(2).hasSubscribers());
+        processors.get(0).onComplete();
+        Assert.assertTrue(processors.get(2).hasSubscribers());
+        processors.get(1).onComplete();
+        processors.get(2).onNext(3);
+        processors.get(2).onComplete();
+        subscriber.assertValues(3);
+        subscriber.assertComplete();
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void test_retryWhile() {
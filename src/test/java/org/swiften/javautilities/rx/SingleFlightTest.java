@@ -0,0 +1,199 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class SingleFlightTest {
+    @Test
+    public void test_concurrentSubscribers_shouldShareUpstream() {
+        // Setup
+        SingleFlight<String,Integer> flight = SingleFlight.create();
+        final PublishProcessor<Integer> UPSTREAM = PublishProcessor.create();
+        final AtomicInteger CALLS = new AtomicInteger();
+        TestSubscriber<Integer> subscriber1 = TestSubscriber.create();
+        TestSubscriber<Integer> subscriber2 = TestSubscriber.create();
+        TestSubscriber<Integer> subscriber3 = TestSubscriber.create();
+
+        Flowable<Integer> flowable = flight.get("key", () -> {
+            CALLS.incrementAndGet();
+            return UPSTREAM;
+        });
+
+        // When
+        flowable.subscribe(subscriber1);
+        UPSTREAM.onNext(1);
+        flowable.subscribe(subscriber2);
+        UPSTREAM.onNext(2);
+        UPSTREAM.onComplete();
+        flowable.subscribe(subscriber3);
+
+        // Then
+        Assert.assertEquals(CALLS.get(), 2);
+        subscriber1.assertValues(1, 2);
+        subscriber2.assertValues(1, 2);
+        subscriber2.assertComplete();
+        subscriber3.assertNoValues();
+        subscriber3.assertComplete();
+        Assert.assertEquals(flight.size(), 0);
+    }
+
+    @Test
+    public void test_allSubscribersCancel_shouldCancelUpstream() {
+        // Setup
+        SingleFlight<String,Integer> flight = SingleFlight.create();
+        PublishProcessor<Integer> upstream = PublishProcessor.create();
+        Flowable<Integer> flowable = flight.get("key", () -> upstream);
+
+        // When
+        TestSubscriber<Integer> subscriber1 = flowable.test();
+        TestSubscriber<Integer> subscriber2 = flowable.test();
+        subscriber1.cancel();
+
+        // Then
+        Assert.assertTrue(upstream.hasSubscribers());
+        subscriber2.cancel();
+        Assert.assertFalse(upstream.hasSubscribers());
+        Assert.assertEquals(flight.size(), 0);
+    }
+
+    @Test
+    public void test_ttl_shouldCacheCompletedResults() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        SingleFlight<String,Integer> flight = SingleFlight.create(1, TimeUnit.SECONDS, scheduler);
+        final AtomicInteger CALLS = new AtomicInteger();
+
+        Flowable<Integer> flowable = flight.get("key", () -> {
+            CALLS.incrementAndGet();
+            return Flowable.just(1, 2);
+        });
+
+        // When
+        flowable.test().assertValues(1, 2);
+        flowable.test().assertValues(1, 2);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        flowable.test().assertValues(1, 2);
+
+        // Then
+        Assert.assertEquals(CALLS.get(), 2);
+    }
+
+    @Test
+    public void test_errors_shouldNotBeCached() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        SingleFlight<String,Integer> flight = SingleFlight.create(1, TimeUnit.SECONDS, scheduler);
+        final AtomicInteger CALLS = new AtomicInteger();
+
+        Flowable<Integer> flowable = flight.get("key", () -> {
+            CALLS.incrementAndGet();
+            return Flowable.error(new Exception("Failed"));
+        });
+
+        // When
+        flowable.test().assertErrorMessage("Failed");
+        flowable.test().assertErrorMessage("Failed");
+
+        // Then
+        Assert.assertEquals(CALLS.get(), 2);
+        Assert.assertEquals(flight.size(), 0);
+    }
+
+    @Test
+    public void test_ttl_shouldEvictKeysThatAreNeverRequestedAgain() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        SingleFlight<Integer,Integer> flight = SingleFlight.create(1, TimeUnit.SECONDS, scheduler);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            final int KEY = i;
+            flight.get(KEY, () -> Flowable.just(KEY)).test().assertValues(KEY);
+        }
+
+        // Then
+        Assert.assertEquals(flight.size(), 100);
+        scheduler.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(flight.size(), 100);
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(flight.size(), 0);
+    }
+
+    @Test
+    public void test_invalidateThenRefill_shouldNotBeEvictedEarly() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        SingleFlight<String,Integer> flight = SingleFlight.create(1, TimeUnit.SECONDS, scheduler);
+        final AtomicInteger CALLS = new AtomicInteger();
+        Flowable<Integer> flowable = flight.get("key", () -> Flowable.just(CALLS.incrementAndGet()));
+
+        // When
+        flowable.test().assertValues(1);
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        flight.invalidate("key");
+        flowable.test().assertValues(2);
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+
+        // Then
+        Assert.assertEquals(flight.size(), 1);
+        flowable.test().assertValues(2);
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(flight.size(), 0);
+    }
+
+    @Test
+    public void test_subscribeAsFlightCompletes_shouldNotReconnect() {
+        // Setup
+        TestScheduler scheduler = new TestScheduler();
+        SingleFlight<String,Integer> flight = SingleFlight.create(1, TimeUnit.SECONDS, scheduler);
+        final PublishProcessor<Integer> UPSTREAM = PublishProcessor.create();
+        final AtomicInteger CALLS = new AtomicInteger();
+        final AtomicInteger SUBSCRIBES = new AtomicInteger(-1);
+
+        final Flowable<Integer> FLOWABLE = flight.get("key", () ->
+            CALLS.incrementAndGet() == 1 ? UPSTREAM : Flowable.just(1));
+
+        /* Complete the upstream right after the late subscriber has joined
+         * the flight, but before it actually subscribes to it */
+        RxJavaPlugins.setOnFlowableSubscribe((flowable, subscriber) -> {
+            if (flowable == FLOWABLE && SUBSCRIBES.get() == 0) {
+                SUBSCRIBES.set(1);
+            } else if (SUBSCRIBES.compareAndSet(1, 2)) {
+                UPSTREAM.onNext(1);
+                UPSTREAM.onComplete();
+            }
+
+            return subscriber;
+        });
+
+        try {
+            TestSubscriber<Integer> subscriber1 = FLOWABLE.test();
+
+            // When
+            SUBSCRIBES.set(0);
+            TestSubscriber<Integer> subscriber2 = FLOWABLE.test();
+
+            // Then
+            Assert.assertEquals(SUBSCRIBES.get(), 2);
+            Assert.assertEquals(CALLS.get(), 1);
+            subscriber1.assertValues(1);
+            subscriber1.assertComplete();
+            subscriber2.assertValues(1);
+            subscriber2.assertComplete();
+            FLOWABLE.test().assertValues(1);
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+}
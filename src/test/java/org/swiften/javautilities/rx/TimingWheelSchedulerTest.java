@@ -0,0 +1,100 @@
+package org.swiften.javautilities.rx;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class TimingWheelSchedulerTest {
+    @Test
+    public void test_delayedTasks_shouldRunAfterDelay() throws Exception {
+        // Setup
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(
+            Schedulers.single(), 5, TimeUnit.MILLISECONDS, 8);
+
+        Scheduler.Worker worker = scheduler.createWorker();
+        final long[] DELAYS = { 90, 10, 60 };
+        final long[] ELAPSED = new long[DELAYS.length];
+        final CountDownLatch LATCH = new CountDownLatch(DELAYS.length);
+        final long START = System.nanoTime();
+
+        // When
+        for (int i = 0; i < DELAYS.length; i++) {
+            final int INDEX = i;
+
+            worker.schedule(() -> {
+                ELAPSED[INDEX] = System.nanoTime() - START;
+                LATCH.countDown();
+            }, DELAYS[i], TimeUnit.MILLISECONDS);
+        }
+
+        // Then
+        Assert.assertTrue(LATCH.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < DELAYS.length; i++) {
+            Assert.assertTrue(ELAPSED[i] >= TimeUnit.MILLISECONDS.toNanos(DELAYS[i]));
+        }
+
+        worker.dispose();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void test_cancelledTasks_shouldNotRun() throws Exception {
+        // Setup
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(
+            Schedulers.single(), 5, TimeUnit.MILLISECONDS, 8);
+
+        Scheduler.Worker worker = scheduler.createWorker();
+        final AtomicBoolean RAN = new AtomicBoolean();
+        final CountDownLatch LATCH = new CountDownLatch(1);
+        List<Disposable> disposables = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            disposables.add(worker.schedule(() -> RAN.set(true), 50, TimeUnit.MILLISECONDS));
+        }
+
+        for (Disposable disposable : disposables) {
+            disposable.dispose();
+        }
+
+        worker.schedule(LATCH::countDown, 100, TimeUnit.MILLISECONDS);
+
+        // Then
+        Assert.assertTrue(LATCH.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(RAN.get());
+        Assert.assertTrue(disposables.get(0).isDisposed());
+        worker.dispose();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void test_rxParamWithTimingWheel_shouldDelayEmissions() {
+        // Setup
+        RxParam param = RxParam.builder()
+            .withDelay(20)
+            .withTimingWheel()
+            .build();
+
+        // When
+        List<Integer> values = Flowable.just(1, 2)
+            .delay(param.delay(), param.timeUnit(), param.scheduler())
+            .toList()
+            .blockingGet();
+
+        // Then
+        Assert.assertEquals(values.size(), 2);
+    }
+}
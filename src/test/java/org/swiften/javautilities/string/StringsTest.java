@@ -0,0 +1,62 @@
+package org.swiften.javautilities.string;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Created by haipham on 7/10/17.
+ */
+public final class StringsTest {
+    @Test
+    public void test_removeLiterally_shouldRemoveLiterally() {
+        // Setup
+        String original = "a.b (c) axb a.b";
+
+        // When & Then
+        Assert.assertEquals(HStrings.removeLiterally(original, "a.b"), " (c) axb ");
+        Assert.assertEquals(HStrings.removeLiterally(original, "(c)"), "a.b  axb a.b");
+        Assert.assertEquals(HStrings.removeLiterally(original, ""), original);
+        Assert.assertEquals(HStrings.removeLiterally(original, "z"), original);
+        Assert.assertEquals(HStrings.removeLiterally("aaaa", "aa"), "");
+    }
+
+    @Test
+    public void test_removeLiterallyMultiple_shouldPreferLongestNeedle() {
+        // Setup
+        String original = "[a] [ab] $x$ ab";
+
+        // When & Then
+        Assert.assertEquals(
+            HStrings.removeLiterally(original, Arrays.asList("[a", "[ab]", "$", "", "q")),
+            "]  x ab");
+
+        Assert.assertEquals(HStrings.removeLiterally(original, Collections.<String>emptyList()), original);
+    }
+
+    @Test
+    public void test_removeAll_shouldKeepRegexSemantics() {
+        // Setup
+        String original = "a.b (c) axb a.b";
+
+        // When & Then
+        Assert.assertEquals(HStrings.removeAll(original, "a.b"), " (c)  ");
+        Assert.assertEquals(HStrings.removeAll(original, "\\(c\\)"), "a.b  axb a.b");
+        Assert.assertEquals(HStrings.removeAll(original, ""), original);
+    }
+
+    @Test
+    public void test_removeAllMatches_shouldReuseCompiledPattern() {
+        // Setup
+        String regex = "[0-9]+";
+
+        // When
+        String result = HStrings.removeAllMatches("a1b22c333", regex);
+
+        // Then
+        Assert.assertEquals(result, "abc");
+        Assert.assertSame(HStrings.compiledPattern(regex), HStrings.compiledPattern(regex));
+    }
+}